@@ -6,7 +6,7 @@ package game.core;
  */
 public abstract class Enemy extends MovableObject
 {
-	protected final Stage stage = Stage.STAGE;
+	protected final Stage stage = Stage.getCurrentStage();
 	
 	/**
 	 * This function is called automatically once every frame by the engine when added to the game.<br>
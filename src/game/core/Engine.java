@@ -1,15 +1,27 @@
 package game.core;
 
+import game.core.FrameProfiler.Phase;
 import game.core.GameObject.Event;
 import game.core.MainCharacter.CharacterState;
+import game.development.CrashRecorder;
+import game.development.FlightEvents.Crash;
+import game.development.FlightEvents.FrameTick;
+import game.development.FlightEvents.ReplaySave;
+import game.development.FlightEvents.StageLoad;
+import game.development.HeapMonitor;
+import game.development.ResourceTracker;
 import game.essentials.CameraEffect;
 import game.essentials.Controller;
 import game.essentials.Controller.PressedButtons;
 import game.essentials.GFX;
 import game.essentials.HighScore;
+import game.essentials.PackedInput;
+import game.essentials.ScoreStore;
+import game.essentials.ScoreStore.Record;
 import game.essentials.Image2D;
-import game.essentials.SoundBank;
+import game.essentials.StateChecksum;
 import game.essentials.Utilities;
+import game.network.ScoreClient;
 
 import java.awt.Dimension;
 import java.io.File;
@@ -234,7 +246,32 @@ public final class Engine implements Screen
 	 */
 	public boolean saveReplays = true;
 	
-	private static int DELTA_VALUE = 0;
+	/**
+	 * Whether or not to save a crash bundle, which can be replayed to reproduce the crash, when the game crashes. See {@code CrashRecorder}.
+	 */
+	public boolean saveCrashes = true;
+	
+	/**
+	 * How often, in frames, to save a checksum of the game state in the replay while recording.
+	 */
+	public int checksumInterval = 30;
+	
+	/**
+	 * The amount of frames to play, muted and with the main characters standing still, after the stage have been loaded and before it is shown. This loads the classes and compiles the hot code of the stage before the player starts.<br>
+	 * The warm-up reuses the loaded assets, and the stage is rebuilt afterwards like on a restart. Must be set before {@code show} is called. 0 disables it.
+	 */
+	public int warmUpFrames;
+	
+	/**
+	 * The amount of replays from the leaderboard to race against as ghosts. The best replays of the stage and difficulty are used.<br>
+	 * Must be set before {@code show} is called, and is ignored if the stage does not support ghosts or when watching a replay.
+	 */
+	public int raceGhosts;
+	
+	/**
+	 * The alpha value to draw the leaderboard ghosts with.
+	 */
+	public float ghostAlpha = .35f;
 	
 	/**
 	 * The state of the game can be manipulated with the help of these enums.
@@ -277,15 +314,32 @@ public final class Engine implements Screen
 	 */
 	public double masterVolume = 1.0;
 	
+	/**
+	 * The longest time, in seconds, a frame may take and still be considered smooth. See {@code getTimeToSmoothFrame}.
+	 */
+	public float smoothFrameTime = 1.5f / 60;
+	
+	/**
+	 * The amount of smooth frames in a row that ends the startup.
+	 */
+	private static final int SMOOTH_FRAMES = 60;
+	
 	List<GameObject> focusObjs;
 	Stage stage;
+	final FrameProfiler profiler;
+	private HeapMonitor heapMonitor;
 	Dimension viewport;
 	private List<List<PressedButtons>> replays;
 	private GameState globalState;
-	private boolean showFps, justRestarted, playReplay, showingDialog, replayHelp, crashed, checkpoint, flipY;
+	private boolean showFps, showProfiler, justRestarted, playReplay, showingDialog, replayHelp, crashed, checkpoint, flipY, headless;
 	private float prevTX, prevTY;
 	private double windowScale;
-	private int fpsWriterCounter, fps;
+	private int fpsWriterCounter, fps, frame;
+	private long seed, showStart, loadTime, warmUpTime, lastRender, smoothStart, timeToSmooth = -1;
+	private int smoothFrames;
+	private LinkedList<StateChecksum> checksums;
+	private List<PackedInput> ghostInputs;
+	private String desync;
 	private SpriteBatch batch;
 	private OrthographicCamera camera, hudCamera;
 	private Color currTint;
@@ -293,30 +347,45 @@ public final class Engine implements Screen
 	private com.badlogic.gdx.scenes.scene2d.Stage gui;
 	private Skin skin;
 	private Texture errorIcon;
-	private static boolean instanceCreates;
+	private final Rectangle bbox = new Rectangle();
+	private int deltaValue, frameCounter;
+	
+	private static final Object SHARED_LOCK = new Object();
+	private static int liveEngines;
 	
 	/**
-	 * Only one instance can of the {@code Engine} can exist at a time. An instance is considered "freed" when the {@code dispose} function is called.
+	 * Creates an engine for the given stage. Several engines can exist at the same time, each with a stage of its own, as long as every engine is driven by one thread at a time.<br>
+	 * The stage is bound to the thread that calls {@code show}, {@code render}, {@code tick} or {@code dispose}, which is what {@code Stage.getCurrentStage} returns during the call.
 	 * @param stage The stage to play.
 	 * @param replay The replay to watch. If null is set, you will play the stage rather than watching a replay.
 	 */
 	public static Engine constructEngine(Stage stage, List<List<PressedButtons>> replays)
 	{
-		if(instanceCreates)
-			return null;
+		return new Engine(stage, replays, System.nanoTime(), null);
+	}
+	
+	/**
+	 * Creates an engine for the given stage, see the other construct function.<br>
+	 * Unlike the other construct function, the random seed and state checksums of the replay is used as well.
+	 * @param stage The stage to play.
+	 * @param replay The replay to watch. If null is set, you will play the stage rather than watching a replay.
+	 */
+	public static Engine constructEngine(Stage stage, HighScore replay)
+	{
+		if(replay == null)
+			return constructEngine(stage, (List<List<PressedButtons>>) null);
 		else
-		{
-			instanceCreates = true;
-			return new Engine(stage, replays);
-		}
+			return new Engine(stage, replay.replays, replay.seed, replay.checksums);
 	}
 	
 	/**
 	 * Private constructor. Use the static method instead.
 	 */
-	private Engine(Stage stage, List<List<PressedButtons>> replays)	
+	private Engine(Stage stage, List<List<PressedButtons>> replays, long seed, List<StateChecksum> checksums)	
 	{
-		Stage.STAGE = stage;
+		this.seed = seed;
+		this.checksums = checksums == null ? new LinkedList<>() : new LinkedList<>(checksums);
+		Stage.setCurrentStage(stage);
 		stage.game = this;
 		this.stage = stage;
 		elapsedTime = 0;
@@ -324,10 +393,11 @@ public final class Engine implements Screen
 		zoom = 1f;
 		windowScale = 1;
 		currTint = new Color(defaultTint);
-		errorIcon = new Texture(Gdx.files.internal("res/data/error.png"));
+		errorIcon = ResourceTracker.track(new Texture(Gdx.files.internal("res/data/error.png")));
 		justRestarted = true;
 		focusObjs = new ArrayList<>();
 		viewport = new Dimension();
+		profiler = new FrameProfiler();
 		
 		if(replays == null)
 			this.replays = new LinkedList<>();
@@ -342,6 +412,7 @@ public final class Engine implements Screen
 	@Override
 	public void render(float delta)
 	{
+		Stage.setCurrentStage(stage);
 		if(crashed)
 		{
 			Gdx.gl.glClearColor(0, 0, 0, 1);
@@ -361,6 +432,15 @@ public final class Engine implements Screen
 				if(escDown && playReplay)
 					replayHelp = !replayHelp;
 				
+				if(Gdx.input.isKeyJustPressed(Keys.F3))
+					showProfiler(!showProfiler);
+				if(Gdx.input.isKeyJustPressed(Keys.F4))
+					exportProfile();
+				if(Gdx.input.isKeyJustPressed(Keys.F5))
+					showHeapMonitor(heapMonitor == null);
+				if(timeToSmooth < 0)
+					measureStartup();
+				
 				if(globalState == GameState.PAUSED && !playReplay)
 				{
 					TinySound.setGlobalVolume(.1f);
@@ -372,8 +452,24 @@ public final class Engine implements Screen
 				{
 					TinySound.setGlobalVolume(masterVolume);
 					
+					FrameTick tick = new FrameTick();
+					tick.begin();
+					long start = System.nanoTime();
 					update();
+					long simulated = System.nanoTime();
 					paint();
+					
+					if(tick.shouldCommit())
+					{
+						tick.simulation = simulated - start;
+						tick.render = System.nanoTime() - simulated;
+						tick.frame = frame;
+						tick.entities = stage.stageObjects.size();
+						tick.commit();
+					}
+					
+					if(heapMonitor != null)
+						heapMonitor.frame();
 				}
 			}
 			catch(Exception e)
@@ -382,11 +478,55 @@ public final class Engine implements Screen
 				if(stage.music != null)
 					stage.music.stop();
 				e.printStackTrace();
+				
+				Crash crash = new Crash();
+				if(crash.shouldCommit())
+				{
+					StringWriter sw = new StringWriter();
+					e.printStackTrace(new PrintWriter(sw));
+					crash.stage = stage.getClass().getName();
+					crash.exception = e.toString();
+					crash.stackTrace = sw.toString();
+					crash.commit();
+				}
+				
+				saveCrash(e);
 				showCrashDialog(e);
 			}
 		}
 	}
 
+	/**
+	 * Returns the time from the start of the loading until the first frame of the first run of {@code SMOOTH_FRAMES} frames that took at most {@code smoothFrameTime} each, i e how long it took until the game ran smoothly.<br>
+	 * Class loading, JIT compilation and garbage collection right after the loading are all part of it.
+	 * @return The time in milliseconds, or -1 if the game have not run smoothly yet.
+	 */
+	public long getTimeToSmoothFrame()
+	{
+		return timeToSmooth;
+	}
+	
+	private void measureStartup()
+	{
+		long now = System.nanoTime();
+		if(lastRender != 0 && now - lastRender <= smoothFrameTime * 1e9)
+		{
+			if(smoothFrames++ == 0)
+				smoothStart = lastRender;
+		}
+		else
+			smoothFrames = 0;
+		
+		lastRender = now;
+		
+		if(smoothFrames >= SMOOTH_FRAMES)
+		{
+			timeToSmooth = (smoothStart - showStart) / 1000000;
+			if(Boolean.getBoolean("startup.timing"))
+				System.out.println(stage.getClass().getSimpleName() + " loaded in " + loadTime + " ms(warm-up " + warmUpTime + " ms), first smooth frame after " + timeToSmooth + " ms.");
+		}
+	}
+	
 	private void paint()
 	{
 		if(clearEachFrame)
@@ -395,6 +535,7 @@ public final class Engine implements Screen
 			Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 		}
 		
+		long time = profiler.start();
 		for(CameraEffect ce : stage.cameraEffects)
 		{
 			if(ce.isDone())
@@ -402,6 +543,7 @@ public final class Engine implements Screen
 			else
 				ce.update();
 		}
+		time = profiler.lap(Phase.CAMERA, time);
 
 		camera.position.set(tx, ty, 0);
 		camera.zoom = zoom;
@@ -417,6 +559,7 @@ public final class Engine implements Screen
 		}
 		
 		renderEntities();
+		time = profiler.start();
 		
 		camera.rotate(-angle);
 		hudCamera();
@@ -424,8 +567,14 @@ public final class Engine implements Screen
 		renderStatusBar();
 		renderHelpText();
 		renderFPS();
+		if(showProfiler)
+			profiler.render(batch, fpsFont);
+		if(heapMonitor != null)
+			heapMonitor.render(batch, fpsFont, 430, 30);
+		time = profiler.lap(Phase.HUD, time);
 			
 		batch.end();
+		profiler.lap(Phase.FLUSH, time);
 		
 		if(showingDialog)
 		{
@@ -436,13 +585,30 @@ public final class Engine implements Screen
 	
 	private void update()
 	{
+		profiler.beginFrame();
 		updateClock();
+		boolean ongoing = globalState == GameState.ONGOING;
 		stage.moveEnemies();
 		prevTX = tx;
 		prevTY = ty;
+		long time = profiler.start();
 		updateCamera();
+		time = profiler.lap(Phase.CAMERA, time);
 		stage.extra();
-		SoundBank.FRAME_COUNTER++;
+		profiler.lap(Phase.EXTRA, time);
+		frameCounter++;
+		
+		/*
+		 * Only frames that consume replay input are counted. A recording stays ended until R is pressed while the replay restarts from the checkpoint at once, so counting the ended frames would shift every later checksum.
+		 */
+		if(ongoing)
+		{
+			frame++;
+			if(playReplay)
+				verifyChecksum();
+			else if(frame % checksumInterval == 0)
+				checksums.add(checksum());
+		}
 		
 		if(replayHelp && Gdx.input.isKeyPressed(Keys.B))
 			runExitEvent();
@@ -452,6 +618,7 @@ public final class Engine implements Screen
 			{
 				restart();
 				stage.build();
+				spawnGhosts();
 			}
 			else if(Gdx.input.isKeyPressed(Keys.B))
 			{
@@ -468,65 +635,235 @@ public final class Engine implements Screen
 	@Override
 	public void show()
 	{
+		Stage.setCurrentStage(stage);
+		showStart = System.nanoTime();
 		timeFont = new BitmapFont(Gdx.files.internal("res/data/sansserif32.fnt"), true);
 		fpsFont  = new BitmapFont(Gdx.files.internal("res/data/cambria20.fnt"), true);
 		
-		LASER_BEAM = Image2D.loadImages(new File("res/data/laser"),false);
-		LASER_BEGIN = Image2D.loadImages(new File("res/data/laser/rear"),false);
-		LASER_IMPACT = Image2D.loadImages(new File("res/data/laser/end"),false);
-		LASER_CHARGE = Image2D.loadImages(new File("res/data/charge"),false);
-		
-		if(MainCharacter.DEFAULT_HEALTH_IMAGE == null)
-			MainCharacter.DEFAULT_HEALTH_IMAGE = new Image2D("res/general/hearth.png", false);
-		
-		TinySound.init();
-		TinySound.setGlobalVolume(masterVolume);
-
-		GFX.checkpoint = new Image2D("res/data/checkpoint.png");
-		GFX.checkpointReach = TinySound.loadSound(new File("res/data/checkpoint.wav"));
+		loadShared();
+		TinySound.setGlobalVolume(headless ? 0 : masterVolume);
 
-		batch = new SpriteBatch();
+		if(!headless)
+			batch = new SpriteBatch();
 		setViewport(800, 600);
 		
-		if(!playReplay)
+		if(!playReplay && !headless)
 		{
 			gui = new com.badlogic.gdx.scenes.scene2d.Stage(new ScalingViewport(Scaling.none, (int)(800 * windowScale), (int)(600 * windowScale)), batch);
 			skin = new Skin(Gdx.files.internal("res/data/uiskin.json"));
 		}
 
+		StageLoad load = new StageLoad();
+		load.begin();
 		stage.init();
+		commit(load, "init");
+		
+		stage.random.setSeed(seed);
+		load = new StageLoad();
+		load.begin();
 		stage.build();
+		commit(load, "build");
+		if(warmUpFrames > 0)
+			warmUp();
+		loadGhosts();
+		spawnGhosts();
+		
+		if(Boolean.getBoolean("heap.monitor"))
+			showHeapMonitor(true);
 
 		ShaderProgram.pedantic = false;
+		loadTime = (System.nanoTime() - showStart) / 1000000;
+	}
+	
+	/**
+	 * Plays {@code warmUpFrames} frames on the loaded stage with the input and checksums of the real play set aside, and then restarts the stage.
+	 */
+	private void warmUp()
+	{
+		long start = System.nanoTime();
+		List<List<PressedButtons>> realReplays = replays;
+		LinkedList<StateChecksum> realChecksums = checksums;
+		boolean realPlayReplay = playReplay, realHeadless = headless;
+		
+		replays = new LinkedList<>();
+		for(int i = 0; i < Math.max(1, stage.mains.size()); i++)
+			replays.add(new LinkedList<>());
+		checksums = new LinkedList<>();
+		playReplay = headless = true;
+		TinySound.setGlobalVolume(0);
+		
+		try
+		{
+			for(int i = 0; i < warmUpFrames && globalState == GameState.ONGOING; i++)
+				update();
+		}
+		finally
+		{
+			replays = realReplays;
+			checksums = realChecksums;
+			playReplay = realPlayReplay;
+			headless = realHeadless;
+			desync = null;
+			checkpoint = false;
+			frameCounter = 0;
+			TinySound.setGlobalVolume(headless ? 0 : masterVolume);
+			
+			restart();
+			stage.build();
+		}
+		warmUpTime = (System.nanoTime() - start) / 1000000;
+	}
+	
+	private void commit(StageLoad load, String phase)
+	{
+		if(load.shouldCommit())
+		{
+			load.stage = stage.getClass().getName();
+			load.phase = phase;
+			load.commit();
+		}
 	}
 	
 	@Override
 	public void dispose()
 	{
-		TinySound.shutdown();
+		Stage.setCurrentStage(stage);
+		showHeapMonitor(false);
 		stage.dispose();
 		timeFont.dispose();
 		fpsFont.dispose();
 		errorIcon.dispose();
-		Stage.disposeBatch(LASER_BEAM, LASER_BEGIN, LASER_IMPACT, LASER_CHARGE, MainCharacter.DEFAULT_HEALTH_IMAGE, GFX.checkpoint, GFX.checkpointReach);
-		if(!playReplay)
+		disposeShared();
+		if(!playReplay && !headless)
 		{
 			skin.dispose();
 			gui.dispose();
 		}
-		instanceCreates = false;
-		MainCharacter.DEFAULT_HEALTH_IMAGE = null;
-		GFX.checkpoint = null;
-		GFX.checkpointReach = null;
-		Stage.STAGE = null;
+		ResourceTracker.printResident(stage.getClass().getSimpleName());
+		Stage.setCurrentStage(null);
 		stage = null;
 	}
 	
+	/**
+	 * Loads the resources that are shared by all engines, unless another engine already did.
+	 */
+	private static void loadShared()
+	{
+		synchronized(SHARED_LOCK)
+		{
+			if(liveEngines++ > 0)
+				return;
+			
+			LASER_BEAM = Image2D.loadImages(new File("res/data/laser"),false);
+			LASER_BEGIN = Image2D.loadImages(new File("res/data/laser/rear"),false);
+			LASER_IMPACT = Image2D.loadImages(new File("res/data/laser/end"),false);
+			LASER_CHARGE = Image2D.loadImages(new File("res/data/charge"),false);
+			
+			if(MainCharacter.DEFAULT_HEALTH_IMAGE == null)
+				MainCharacter.DEFAULT_HEALTH_IMAGE = new Image2D("res/general/hearth.png", false);
+			
+			TinySound.init();
+			
+			GFX.checkpoint = new Image2D("res/data/checkpoint.png");
+			GFX.checkpointReach = ResourceTracker.loadSound(new File("res/data/checkpoint.wav"));
+		}
+	}
+	
+	/**
+	 * Disposes the resources that are shared by all engines when the last engine is disposed.
+	 */
+	private static void disposeShared()
+	{
+		synchronized(SHARED_LOCK)
+		{
+			if(--liveEngines > 0)
+				return;
+			
+			TinySound.shutdown();
+			Stage.disposeBatch(LASER_BEAM, LASER_BEGIN, LASER_IMPACT, LASER_CHARGE, MainCharacter.DEFAULT_HEALTH_IMAGE, GFX.checkpoint, GFX.checkpointReach);
+			GFX.dispose();
+			MainCharacter.DEFAULT_HEALTH_IMAGE = null;
+			GFX.checkpoint = null;
+			GFX.checkpointReach = null;
+		}
+	}
+	
 	OrthographicCamera getCamera()
 	{
 		return camera;
 	}
 	
+	/**
+	 * Runs the engine without a window: nothing is rendered, the sound is muted, no keyboard input is read and every frame advances the clock by {@code DELTA}.<br>
+	 * Must be set before {@code show} is called. Only meant for watching replays, where the game is driven by calling {@code tick} rather than {@code render}.
+	 * @param headless True to enable headless mode.
+	 */
+	public void setHeadless(boolean headless)
+	{
+		if(headless && !playReplay)
+			throw new IllegalStateException("Headless mode requires a replay.");
+		
+		this.headless = headless;
+	}
+	
+	/**
+	 * Advances the game by one frame without rendering. Only allowed in headless mode.<br>
+	 * Restarts from the latest checkpoint are performed just like when watching a replay.
+	 * @return False when the replay have played to its end, i e when the stage was completed or when the main characters died without having reached a checkpoint.
+	 */
+	public boolean tick()
+	{
+		if(!headless)
+			throw new IllegalStateException("tick() can only be called in headless mode.");
+		
+		Stage.setCurrentStage(stage);
+		update();
+		if(heapMonitor != null)
+			heapMonitor.frame();
+		
+		return !(globalState == GameState.COMPLETED || (globalState == GameState.ENDED && (!checkpoint || replayFramesEnded())));
+	}
+	
+	/**
+	 * Replaces the replay being watched with the given one and restarts the stage from the beginning.<br>
+	 * This allow several replays of the same stage to be watched after each other without loading the stage again. Stage difficulty and meta should be set before calling this function.
+	 * @param replay The replay to watch.
+	 */
+	public void restartReplay(HighScore replay)
+	{
+		Stage.setCurrentStage(stage);
+		replays = replay.replays;
+		seed = replay.seed;
+		checksums = replay.checksums == null ? new LinkedList<>() : new LinkedList<>(replay.checksums);
+		desync = null;
+		playReplay = true;
+		checkpoint = false;
+		restart();
+		stage.build();
+	}
+	
+	/**
+	 * Returns a description of the first frame where the replay being watched diverged from its recording, i e the first state checksum that did not match.
+	 * @return The description, or null if the replay have not diverged so far.
+	 */
+	public String getDesync()
+	{
+		return desync;
+	}
+	
+	/**
+	 * Returns the amount of frames left of the replay that is being watched.
+	 * @return The amount of unplayed frames of the longest input list.
+	 */
+	public int getRemainingReplayFrames()
+	{
+		int frames = 0;
+		for(List<PressedButtons> pbs : replays)
+			frames = Math.max(frames, pbs.size());
+		
+		return frames;
+	}
+	
 	/**
 	 * Returns the current state of the game.
 	 * @return The current state of the game.
@@ -618,7 +955,7 @@ public final class Engine implements Screen
 	 */
 	public boolean visible(GameObject obj)
 	{
-		Rectangle bbox = Fundementals.getBoundingBox(obj);
+		Fundementals.getBoundingBox(obj, bbox);
 		return camera.frustum.boundsInFrustum(bbox.x, bbox.y, 0, bbox.width / 2, bbox.height / 2 , 0);
 	}
 	
@@ -687,6 +1024,61 @@ public final class Engine implements Screen
 		return prevTY;
 	}
 	
+	/**
+	 * Returns the amount of frames played since the stage was started, not counting restarts from checkpoints nor the frames spent dead before a restart.
+	 * @return The frame.
+	 */
+	public int getFrame()
+	{
+		return frame;
+	}
+	
+	/**
+	 * Whether or not to show the frame profiler, which displays how long each part of the frame takes as well as the most expensive entity classes.<br>
+	 * The profiler only measures while shown. Can also be toggled with F3 while playing.
+	 * @param showProfiler True to show the profiler.
+	 */
+	public void showProfiler(boolean showProfiler)
+	{
+		this.showProfiler = showProfiler;
+		profiler.enabled = showProfiler;
+	}
+	
+	/**
+	 * Exports the frames recorded by the profiler to a CSV file in the {@code profiles} directory. Can also be done with F4 while playing.
+	 * @return The path to the file, or null if the profiler have not recorded anything.
+	 */
+	public String exportProfile()
+	{
+		if(!profiler.enabled)
+		{
+			System.err.println("The profiler must be shown before a profile can be exported.");
+			return null;
+		}
+		
+		String path = profiler.exportCSV(cleanString(stage.getClass().getSimpleName()));
+		System.out.println("Profile exported to " + path);
+		
+		return path;
+	}
+	
+	/**
+	 * Whether or not to monitor the memory usage, which shows the bytes allocated each frame, the garbage collections and the growth of the old generation, and logs them to {@code logs/heap.log}.<br>
+	 * The heap is dumped if the old generation keeps growing across restarts. See {@code HeapMonitor} for details.<br>
+	 * Can also be toggled with F5 while playing, or enabled from the start with {@code -Dheap.monitor=true}.
+	 * @param monitor True to start monitoring.
+	 */
+	public void showHeapMonitor(boolean monitor)
+	{
+		if(monitor && heapMonitor == null)
+			heapMonitor = new HeapMonitor(cleanString(stage.getClass().getSimpleName()));
+		else if(!monitor && heapMonitor != null)
+		{
+			heapMonitor.close();
+			heapMonitor = null;
+		}
+	}
+	
 	/**
 	 * Whether or not to show the fps.
 	 * @param showFps True to enable fps display.
@@ -750,12 +1142,22 @@ public final class Engine implements Screen
 	}
 
 	/**
-	 * The amount of milliseconds since the last frame.
+	 * The amount of milliseconds since the last frame of the stage played on the current thread.
 	 * @return The millis.
 	 */
 	public static int getDelta()
 	{
-		return DELTA_VALUE;
+		Stage stage = Stage.getCurrentStage();
+		return stage == null || stage.game == null ? 0 : stage.game.deltaValue;
+	}
+	
+	/**
+	 * The amount of frames this engine have updated since it was shown, unlike {@code getFrame} which start over when the stage is restarted.
+	 * @return The frame counter.
+	 */
+	public int getFrameCounter()
+	{
+		return frameCounter;
 	}
 	
 	PressedButtons getReplayFrame(int index)
@@ -794,6 +1196,60 @@ public final class Engine implements Screen
 		return false;
 	}
 	
+	private StateChecksum checksum()
+	{
+		StateChecksum cs = new StateChecksum();
+		cs.frame = frame;
+		cs.entities = stage.stageObjects.size();
+		cs.elapsedTime = elapsedTime;
+		cs.randomDraws = stage.random.draws;
+		cs.mains = new long[stage.mains.size()];
+		
+		for(int i = 0; i < cs.mains.length; i++)
+		{
+			MainCharacter main = stage.mains.get(i);
+			long hash = 17;
+			hash = 31 * hash + Float.floatToIntBits(main.loc.x);
+			hash = 31 * hash + Float.floatToIntBits(main.loc.y);
+			hash = 31 * hash + Float.floatToIntBits(main.loc.x - main.prevX);
+			hash = 31 * hash + Float.floatToIntBits(main.loc.y - main.prevY);
+			hash = 31 * hash + main.getState().ordinal();
+			hash = 31 * hash + main.getHP();
+			cs.mains[i] = hash;
+		}
+		
+		return cs;
+	}
+	
+	private void verifyChecksum()
+	{
+		if(desync != null || checksums.isEmpty() || checksums.getFirst().frame != frame)
+			return;
+		
+		StateChecksum expected = checksums.removeFirst();
+		StateChecksum actual = checksum();
+		String difference = null;
+		
+		for(int i = 0; i < Math.max(expected.mains.length, actual.mains.length) && difference == null; i++)
+		{
+			if(i >= actual.mains.length)
+				difference = "main character " + i + " is missing";
+			else if(i >= expected.mains.length || expected.mains[i] != actual.mains[i])
+				difference = "main character " + i + "(" + stage.mains.get(i).getClass().getSimpleName() + ") at " + stage.mains.get(i).loc + " differ";
+		}
+		
+		if(difference == null && expected.entities != actual.entities)
+			difference = "the amount of entities differ(recorded " + expected.entities + ", got " + actual.entities + ")";
+		if(difference == null && expected.randomDraws != actual.randomDraws)
+			difference = "the random number generator differ(recorded " + expected.randomDraws + " draws, got " + actual.randomDraws + ")";
+		
+		if(difference != null)
+		{
+			desync = "frame " + frame + ": " + difference;
+			System.err.println("The replay diverged from its recording at " + desync);
+		}
+	}
+	
 	private void updateCamera()
 	{
 		final int size = focusObjs.size();
@@ -862,11 +1318,15 @@ public final class Engine implements Screen
 	
 	private void restart()
 	{
+		if(heapMonitor != null)
+			heapMonitor.stageRestarted();
+		
 		justRestarted = true;
 		showingDialog = false;
 		globalState = GameState.ONGOING;
-		DELTA_VALUE = 0;
-		batch.setColor(defaultTint);
+		deltaValue = 0;
+		if(batch != null)
+			batch.setColor(defaultTint);
 		currTint = new Color(defaultTint);
 		focusObjs.clear();
 		stage.cameraEffects.clear();
@@ -875,17 +1335,27 @@ public final class Engine implements Screen
 			replays.clear();
 		
 		if(!checkpoint)
+		{
 			elapsedTime = 0;
+			frame = 0;
+			
+			if(!playReplay)
+			{
+				seed = System.nanoTime();
+				checksums.clear();
+			}
+			stage.random.setSeed(seed);
+		}
 	}
 	
 	private void updateClock()
 	{
-		DELTA_VALUE = (int) (Gdx.graphics.getDeltaTime() * 1000f);
+		deltaValue = (int) ((headless ? DELTA : Gdx.graphics.getDeltaTime()) * 1000f);
 		
 		if(globalState == GameState.ONGOING)
 		{
 			if(!justRestarted)
-				elapsedTime += DELTA_VALUE;
+				elapsedTime += deltaValue;
 			else
 				justRestarted = false;
 		}
@@ -893,8 +1363,18 @@ public final class Engine implements Screen
 	
 	private void renderEntities()
 	{
+		boolean ghostsDrawn = stage.ghosts.isEmpty();
+		long time = profiler.start();
+		
 		for(GameObject go : stage.stageObjects)
 		{
+			if(!ghostsDrawn && go instanceof MainCharacter && !((MainCharacter)go).isGhost())
+			{
+				renderGhosts();
+				ghostsDrawn = true;
+				time = profiler.lap(Phase.RENDER_ENTITIES, time);
+			}
+			
 			if (go.visible)
 			{
 				if(go.drawSpecialBehind)
@@ -907,10 +1387,62 @@ public final class Engine implements Screen
 					drawObject(go);
 					go.drawSpecial(batch);
 				}
+				time = profiler.lap(Phase.RENDER_ENTITIES, go, time);
 			}
 		}
+
+		if(!ghostsDrawn)
+		{
+			renderGhosts();
+			profiler.lap(Phase.RENDER_ENTITIES, time);
+		}
 	}
-	
+
+	/**
+	 * Draws the leaderboard ghosts right after each other, so they share the same texture and are sent to the graphics card in one go.
+	 */
+	private void renderGhosts()
+	{
+		for(MainCharacter ghost : stage.ghosts)
+			if(ghost.visible)
+				drawObject(ghost);
+	}
+
+	private void loadGhosts()
+	{
+		ghostInputs = new ArrayList<>();
+		if(raceGhosts <= 0 || playReplay)
+			return;
+
+		for(Record record : ScoreStore.get().top(stage.getClass(), stage.getDifficulty(), raceGhosts))
+		{
+			HighScore hs = record.load();
+			if(hs != null && hs.replays != null && !hs.replays.isEmpty())
+				ghostInputs.add(PackedInput.pack(hs.replays.get(0)));
+		}
+	}
+
+	private void spawnGhosts()
+	{
+		if(checkpoint || ghostInputs.isEmpty())
+			return;
+
+		stage.clearGhosts();
+		for(PackedInput input : ghostInputs)
+		{
+			MainCharacter ghost = stage.createGhost();
+			if(ghost == null)
+			{
+				ghostInputs.clear();
+				return;
+			}
+
+			ghost.ghostify(input);
+			ghost.alpha = ghostAlpha;
+			stage.addGhost(ghost);
+		}
+	}
+
 	private void renderStatusBar()
 	{
 		timeFont.setColor(globalState == GameState.PAUSED ? Color.WHITE : timeColor);
@@ -968,21 +1500,69 @@ public final class Engine implements Screen
 	{
 		if(!playReplay && saveReplays)
 		{
-			HighScore hs = new HighScore();
-			hs.replays = replays;
-			hs.meta = stage.getMeta();
-			hs.name = playername;
-			hs.difficulty = stage.getDifficulty();
-			hs.stageName = Utilities.prettify(stage.getClass().getSimpleName());
-			hs.time = OtherMath.round((double)elapsedTime/1000, 1);
-			hs.date = new SimpleDateFormat("yyyy-MM-dd").format(Calendar.getInstance().getTime());
-			hs.className = stage.getClass();
-			hs.result = globalState == GameState.ENDED ? "Death" : "Victorious";
+			HighScore hs = createReplay(playername, globalState == GameState.ENDED ? "Death" : "Victorious");
+			
+			String path = "replays/" + cleanString(stage.getClass().getSimpleName()) + " " + cleanString(playername) + " " + hs.result + " " + hs.time + " sec " + hs.date + ".hs";
+			ReplaySave event = new ReplaySave();
+			event.begin();
+			Utilities.exportObject(hs, path);
+			if(event.shouldCommit())
+			{
+				event.path = path;
+				event.bytes = new File(path).length();
+				event.commit();
+			}
+			ScoreStore.get().add(hs, path);
 			
-			Utilities.exportObject(hs, "replays/" + cleanString(stage.getClass().getSimpleName()) + " " + cleanString(playername) + " " + hs.result + " " + hs.time + " sec " + hs.date + ".hs");
+			if(ScoreClient.getClient() != null)
+				ScoreClient.getClient().submit(path);
 		}
 	}	
 	
+	private HighScore createReplay(String playername, String result)
+	{
+		HighScore hs = new HighScore();
+		hs.replays = replays;
+		hs.seed = seed;
+		hs.checksums = checksums;
+		hs.meta = stage.getMeta();
+		hs.name = playername;
+		hs.difficulty = stage.getDifficulty();
+		hs.stageName = Utilities.prettify(stage.getClass().getSimpleName());
+		hs.time = OtherMath.round((double)elapsedTime/1000, 1);
+		hs.date = new SimpleDateFormat("yyyy-MM-dd").format(Calendar.getInstance().getTime());
+		hs.className = stage.getClass();
+		hs.result = result;
+		
+		return hs;
+	}
+	
+	private void saveCrash(Exception e)
+	{
+		if(!saveCrashes)
+			return;
+		
+		try
+		{
+			String info = "Stage: " + stage.getClass().getName() + "\n" +
+						  "Difficulty: " + stage.getDifficulty() + "\n" +
+						  "Meta: " + stage.getMeta() + "\n" +
+						  "Seed: " + seed + "\n" +
+						  "Frame: " + frame + "\n" +
+						  "Checkpoint: " + checkpoint + "\n" +
+						  "Watching replay: " + playReplay;
+			
+			String path = CrashRecorder.save(cleanString(stage.getClass().getSimpleName()), playReplay ? null : createReplay("Crash", "Crash"), e, info);
+			if(path != null)
+				System.err.println("Crash bundle saved to " + path);
+		}
+		catch(Exception ex)
+		{
+			System.err.println("Could not save the crash bundle.");
+			ex.printStackTrace();
+		}
+	}
+	
 	private void winAction()
 	{
 		if(playReplay || showingDialog)
@@ -1016,6 +1596,7 @@ public final class Engine implements Screen
 					saveReplay(name);
 					restart();
 					stage.build();
+					spawnGhosts();
 				}
 				else if(object.equals("menu"))
 				{
@@ -0,0 +1,253 @@
+package game.core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * Measures how long each phase of a frame takes, as well as how much time is spent on each class of entity.<br>
+ * The last {@code HISTORY} frames are kept in ring buffers, which are shown as an overlay and can be exported to CSV.<br>
+ * When disabled, every probe is a single boolean check.
+ * @author Pojahn Moradi
+ *
+ */
+final class FrameProfiler
+{
+	enum Phase
+	{
+		DELAYED("Delayed objects"),
+		ADD_DISCARD("Add/discard"),
+		SORT("Z-sort"),
+		NAVIGATION("Path finding"),
+		ENEMIES("Enemy moves"),
+		TILE_CHECKS("Tile checks"),
+		EVENTS("Events"),
+		PLATFORMS("Platform riders"),
+		MAINS("Main input/physics"),
+		TRIGGERS("Trigger volumes"),
+		EXTRA("Stage extra"),
+		CAMERA("Camera/effects"),
+		RENDER_ENTITIES("Entity rendering"),
+		HUD("HUD"),
+		FLUSH("Batch flush");
+
+		final String name;
+
+		private Phase(String name)
+		{
+			this.name = name;
+		}
+	}
+
+	/**
+	 * The amount of frames to keep.
+	 */
+	static final int HISTORY = 600;
+
+	private static final int REFRESH = 30, TOP_CLASSES = 5;
+
+	boolean enabled;
+	private final long[][] phases;
+	private final Map<Class<?>, long[]> classes;
+	private final long[] sorted;
+	private final List<String> overlay;
+	private int cursor, recorded, frames;
+
+	FrameProfiler()
+	{
+		phases = new long[Phase.values().length][HISTORY];
+		classes = new HashMap<>();
+		sorted = new long[HISTORY];
+		overlay = new ArrayList<>();
+	}
+
+	/**
+	 * Starts a new frame. Called once per frame, before any probe.
+	 */
+	void beginFrame()
+	{
+		if(!enabled)
+			return;
+
+		cursor = (cursor + 1) % HISTORY;
+		recorded = Math.min(recorded + 1, HISTORY);
+
+		for(long[] samples : phases)
+			samples[cursor] = 0;
+		for(long[] samples : classes.values())
+			samples[cursor] = 0;
+
+		if(++frames % REFRESH == 0)
+			refreshOverlay();
+	}
+
+	/**
+	 * Returns the time to measure from.
+	 * @return The current time in nanoseconds, or 0 if disabled.
+	 */
+	long start()
+	{
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Adds the time passed since {@code since} to the given phase.
+	 * @return The current time, to be used as start of the next measurement.
+	 */
+	long lap(Phase phase, long since)
+	{
+		if(!enabled)
+			return 0;
+
+		long now = System.nanoTime();
+		phases[phase.ordinal()][cursor] += now - since;
+
+		return now;
+	}
+
+	/**
+	 * Adds the time passed since {@code since} to the given phase and to the class of the given entity.
+	 * @return The current time, to be used as start of the next measurement.
+	 */
+	long lap(Phase phase, GameObject go, long since)
+	{
+		if(!enabled)
+			return 0;
+
+		long now = System.nanoTime();
+		phases[phase.ordinal()][cursor] += now - since;
+
+		long[] samples = classes.get(go.getClass());
+		if(samples == null)
+			classes.put(go.getClass(), samples = new long[HISTORY]);
+		samples[cursor] += now - since;
+
+		return now;
+	}
+
+	/**
+	 * Draws the rolling statistics. The batch should use the HUD camera.
+	 */
+	void render(SpriteBatch batch, BitmapFont font)
+	{
+		font.setColor(Color.WHITE);
+
+		float y = 30;
+		for(String line : overlay)
+		{
+			font.draw(batch, line, 10, y);
+			y += 18;
+		}
+	}
+
+	/**
+	 * Writes the recorded frames to {@code profiles/}, one row per frame and one column per phase and entity class. The times are in microseconds.
+	 * @param stageName The name of the stage, used in the file name.
+	 * @return The path to the file.
+	 */
+	String exportCSV(String stageName)
+	{
+		new File("profiles").mkdirs();
+		String path = "profiles/" + stageName + " " + new SimpleDateFormat("yyyy-MM-dd HH.mm.ss").format(Calendar.getInstance().getTime()) + ".csv";
+		List<Class<?>> types = new ArrayList<>(classes.keySet());
+
+		try(PrintWriter out = new PrintWriter(new FileWriter(path)))
+		{
+			StringBuilder bu = new StringBuilder("frame");
+			for(Phase phase : Phase.values())
+				bu.append(',').append(phase.name);
+			for(Class<?> type : types)
+				bu.append(',').append(type.getName());
+			out.println(bu);
+
+			for(int i = 0; i < recorded; i++)
+			{
+				int index = (cursor - recorded + 1 + i + HISTORY) % HISTORY;
+
+				bu.setLength(0);
+				bu.append(i);
+				for(long[] samples : phases)
+					bu.append(',').append(samples[index] / 1000);
+				for(Class<?> type : types)
+					bu.append(',').append(classes.get(type)[index] / 1000);
+				out.println(bu);
+			}
+		}
+		catch(IOException e)
+		{
+			System.err.println("Could not export the profile to " + path);
+			e.printStackTrace();
+		}
+
+		return path;
+	}
+
+	private void refreshOverlay()
+	{
+		overlay.clear();
+		overlay.add(String.format("%-20s %7s %7s %7s", "Phase (ms)", "p50", "p99", "max"));
+
+		long[] total = new long[HISTORY];
+		for(Phase phase : Phase.values())
+		{
+			long[] samples = phases[phase.ordinal()];
+			for(int i = 0; i < HISTORY; i++)
+				total[i] += samples[i];
+
+			overlay.add(stats(phase.name, samples));
+		}
+		overlay.add(stats("Total", total));
+		overlay.add("");
+
+		List<Map.Entry<Class<?>, long[]>> entries = new ArrayList<>(classes.entrySet());
+		entries.sort((e1, e2) -> Long.compare(sum(e2.getValue()), sum(e1.getValue())));
+
+		overlay.add(String.format("%-20s %7s %7s", "Class (ms)", "avg", "max"));
+		for(int i = 0; i < Math.min(TOP_CLASSES, entries.size()); i++)
+		{
+			long[] samples = entries.get(i).getValue();
+			copySorted(samples);
+			overlay.add(String.format("%-20s %7.3f %7.3f", name(entries.get(i).getKey()), sum(samples) / (double)recorded / 1e6, sorted[HISTORY - 1] / 1e6));
+		}
+	}
+
+	private String stats(String name, long[] samples)
+	{
+		copySorted(samples);
+		int offset = HISTORY - recorded;
+
+		return String.format("%-20s %7.3f %7.3f %7.3f", name, sorted[offset + recorded / 2] / 1e6, sorted[offset + (int)(recorded * .99)] / 1e6, sorted[HISTORY - 1] / 1e6);
+	}
+
+	private void copySorted(long[] samples)
+	{
+		System.arraycopy(samples, 0, sorted, 0, HISTORY);
+		Arrays.sort(sorted);
+	}
+
+	private static String name(Class<?> type)
+	{
+		return type.getSimpleName().isEmpty() ? type.getName().substring(type.getName().lastIndexOf('.') + 1) : type.getSimpleName();
+	}
+
+	private static long sum(long[] samples)
+	{
+		long sum = 0;
+		for(long sample : samples)
+			sum += sample;
+
+		return sum;
+	}
+}
@@ -4,18 +4,25 @@ import game.core.Engine.Direction;
 import game.essentials.Image2D;
 
 import java.awt.geom.AffineTransform;
-import java.util.ArrayList;
 
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
 /**
- * This class holds a number of static methods for essential calculations such as collision detection etc.
+ * This class holds a number of static methods for essential calculations such as collision detection etc.<br>
+ * Functions that return a point or rectangle have an overload that takes a caller owned {@code Vector2} or {@code Rectangle} to write the result to, and some have a packed variant that returns the coordinates in a {@code long}. These produce no garbage and should be preferred in code that runs every frame.
  * @author Pojahn Moradi
  */
 public class Fundementals 
 {
+	/**
+	 * Returned by the packed search functions when nothing was found.
+	 */
+	public static final long NOT_FOUND = Long.MIN_VALUE;
+	
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+	
 	/**
 	 * Checks if the two rectangles are colliding.<br>
 	 * Do not support rotation(i e the angle variable must be 0).
@@ -58,43 +65,43 @@ public class Fundementals
 	 */
 	public static boolean rotatedRectanglesCollision(GameObject rec1, GameObject rec2)
 	{
-		RotRect rr1 = new RotRect();
-		rr1.C = new Vector2(rec1.loc.x + (rec1.width * rec1.scale) / 2, rec1.loc.y + (rec1.height * rec1.scale) / 2);
-		rr1.S = new Vector2((rec1.width * rec1.scale) / 2, (rec1.height * rec1.scale) / 2);
-		rr1.ang = (float) Math.toRadians(rec1.rotation);
+		Scratch scratch = SCRATCH.get();
+		
+		Vector2 C1 = scratch.c1.set(rec1.loc.x + (rec1.width * rec1.scale) / 2, rec1.loc.y + (rec1.height * rec1.scale) / 2);
+		Vector2 S1 = scratch.s1.set((rec1.width * rec1.scale) / 2, (rec1.height * rec1.scale) / 2);
+		float ang1 = (float) Math.toRadians(rec1.rotation);
 		
-		RotRect rr2 = new RotRect();
-		rr2.C = new Vector2(rec2.loc.x + (rec2.width * rec2.scale) / 2, rec2.loc.y + (rec2.height * rec2.scale) / 2);
-		rr2.S = new Vector2((rec2.width * rec2.scale) / 2, (rec2.height * rec2.scale) / 2);
-		rr2.ang = (float) Math.toRadians(rec2.rotation);
+		Vector2 C2 = scratch.c2.set(rec2.loc.x + (rec2.width * rec2.scale) / 2, rec2.loc.y + (rec2.height * rec2.scale) / 2);
+		Vector2 S2 = scratch.s2.set((rec2.width * rec2.scale) / 2, (rec2.height * rec2.scale) / 2);
+		float ang2 = (float) Math.toRadians(rec2.rotation);
 		
 		Vector2 A,B,C,BL,TR;
 		
-		float ang = rr1.ang - rr2.ang,
+		float ang = ang1 - ang2,
 			  cosa = (float) Math.cos(ang),
 			  sina = (float) Math.sin(ang),
 			  t,x,a,dx,ext1,ext2;
 		
-		C = new Vector2(rr2.C);
-		subVectors2D(C, rr1.C);
+		C = scratch.c.set(C2);
+		subVectors2D(C, C1);
 		
-		rotateVector2DClockwise(C, rr2.ang);
+		rotateVector2DClockwise(C, ang2);
 		
-		BL = new Vector2(C);
-		TR = new Vector2(C);
-		subVectors2D(BL, rr2.S);
-		addVectors2D(TR, rr2.S);
+		BL = scratch.bl.set(C);
+		TR = scratch.tr.set(C);
+		subVectors2D(BL, S2);
+		addVectors2D(TR, S2);
 
-		A = new Vector2();
-		B = new Vector2();
-		A.x = -rr1.S.y * sina;
+		A = scratch.a.set(0, 0);
+		B = scratch.b.set(0, 0);
+		A.x = -S1.y * sina;
 		B.x = A.x;
-		t = rr1.S.x * cosa;
+		t = S1.x * cosa;
 		A.x += t;
 		B.x -= t;
-		A.y =  rr1.S.y * cosa;
+		A.y =  S1.y * cosa;
 		B.y = A.y;
-		t = rr1.S.x * sina;
+		t = S1.x * sina;
 		A.y += t; 
 		B.y -= t;
 		
@@ -261,7 +268,8 @@ public class Fundementals
 	}
 	
 	/**
-	 * Checks for collision with the polygons stored by each object. The polygons are updated if their data don't match with their holder.
+	 * Checks for collision with the polygons stored by each object. The polygons are updated if their data don't match with their holder.<br>
+	 * Polygons whose bounding boxes are apart are rejected without testing their edges.
 	 * @param obj1 The first object.
 	 * @param obj2 The second object.
 	 * @return True if the polygons are colliding.
@@ -287,6 +295,10 @@ public class Fundementals
 			}
 		}
 		
+		Rectangle r1 = obj1.poly.getBoundingRectangle(), r2 = obj2.poly.getBoundingRectangle();
+		if(!rectangleVsRectangle(r1.x - 1, r1.y - 1, r1.width + 2, r1.height + 2, r2.x, r2.y, r2.width, r2.height))
+			return false;
+		
 		return Intersector.overlapConvexPolygons(obj1.poly, obj2.poly);
 	}
 	
@@ -451,30 +463,30 @@ public class Fundementals
 	 */
 	public static Vector2 findWallPoint(int x0, int y0, final int x1, final int y1)	//TODO: Remove this function, use tileSearch instead.
 	{
-		final int dx = Math.abs(x1-x0);
-		final int dy = Math.abs(y1-y0); 
-		final int sx = (x0 < x1) ? 1 : -1;
-		final int sy = (y0 < y1) ? 1 : -1;
-		int err = dx-dy;
-		final byte[][] b = Stage.STAGE.stageData;
+		return findWallPoint(x0, y0, x1, y1, new Vector2());
+	}
+	
+	/**
+	 * Same as findWallPoint(int, int, int, int), but writes the result to the given vector.
+	 * @param out The vector to store the point in.
+	 * @return {@code out}
+	 */
+	public static Vector2 findWallPoint(int x0, int y0, int x1, int y1, Vector2 out)
+	{
+		long point = findWallPointPacked(x0, y0, x1, y1);
+		return out.set(unpackX(point), unpackY(point));
+	}
+	
+	/**
+	 * Same as findWallPoint(int, int, int, int), but returns the point packed in a {@code long}.
+	 * @return The packed point. Use {@code unpackX} and {@code unpackY} to read it.
+	 */
+	public static long findWallPointPacked(int x0, int y0, final int x1, final int y1)
+	{
+		Stage stage = Stage.getCurrentStage();
+		long point = stage.getOccupancy().trace(x0, y0, x1, y1, Engine.SOLID, false, true, stage.size);
 		
-		while (true)
-		{
-			if (MovableObject.outOfBounds(x0, y0) || b[y0][x0] == Engine.SOLID)
-				return new Vector2(x0, y0);
-			
-			final int e2 = 2 * err;
-			if (e2 > -dy)
-			{
-				err -= dy;
-				x0 += sx;
-			}
-			if (e2 < dx)
-			{
-				err += dx;
-				y0 += sy;
-			}
-		}
+		return point == NOT_FOUND ? pack(x0, y0) : point;
 	}
 	
 	/**
@@ -485,74 +497,69 @@ public class Fundementals
 		return Fundementals.findWallPoint((int)x0,(int)y0,(int)x1,(int)y1);
 	}
 	
+	/**
+	 * Reefer to findWallPoint(int, int, int, int, Vector2)
+	 */
+	public static Vector2 findWallPoint(float x0, float y0, float x1, float y1, Vector2 out)
+	{
+		return Fundementals.findWallPoint((int)x0,(int)y0,(int)x1,(int)y1, out);
+	}
+	
 	/**
 	 * Returns the bounding box of the (rotated) rectangle.
 	 * @param go The {@code GameObject} to calculate the bounding box on.
 	 * @return The bounding box.
 	 */
 	public static Rectangle getBoundingBox(GameObject go)
+	{
+		return getBoundingBox(go, new Rectangle());
+	}
+	
+	/**
+	 * Calculates the bounding box of the (rotated) rectangle and stores it in the given rectangle.
+	 * @param go The {@code GameObject} to calculate the bounding box on.
+	 * @param out The rectangle to store the bounding box in.
+	 * @return {@code out}
+	 */
+	public static Rectangle getBoundingBox(GameObject go, Rectangle out)
+	{
+		return out.set(go.getBounds());
+	}
+	
+	/**
+	 * Calculates the bounding box of the (rotated) rectangle, without using the cached box of the object.
+	 */
+	static Rectangle computeBoundingBox(GameObject go, Rectangle out)
 	{
 		if(go.rotation == 0)
-			return new Rectangle(go.loc.x, go.loc.y, go.width(), go.height());
-		
-		ArrayList<Vector2> points = new ArrayList<>(4);
-		float[] arr = new float[8];
-		
-		for(int i = 0; i < 4; i++)
 		{
-			float 	x = 0,
-					y = 0;
-			
-			switch(i)
-			{
-				case 0:
-					x = go.loc.x;
-					y = go.loc.y;
-					break;
-				case 1:
-					x = go.loc.x + go.width();
-					y = go.loc.y;
-					break;
-				case 2:
-					x = go.loc.x;
-					y = go.loc.y + go.height();
-					break;
-				case 3:
-					x = go.loc.x + go.width();
-					y = go.loc.y + go.height();
-					break;
-			}
-
-			arr[0] = x;
-			arr[1] = y;
-			arr[2] = arr[3] = arr[4] = arr[5] = arr[6] = arr[7] = 0;
-			
-			AffineTransform at = new AffineTransform();
-			at.rotate(Math.toRadians(go.rotation), go.centerX(), go.centerY());
-			at.transform(arr, 0, arr, 0, 4);
-			
-			points.add(new Vector2(arr[0], arr[1]));
+			out.set(go.loc.x, go.loc.y, go.width(), go.height());
+			return out;
 		}
 		
-		float minX, maxX, minY, maxY, value1, value2;
-		
-		value1 = Math.min(points.get(0).x, points.get(1).x);
-		value2 = Math.min(points.get(2).x, points.get(3).x);
-		minX = Math.min(value1, value2);
+		Scratch scratch = SCRATCH.get();
+		AffineTransform at = scratch.at;
+		float[] arr = scratch.arr;
 		
-		value1 = Math.max(points.get(0).x, points.get(1).x);
-		value2 = Math.max(points.get(2).x, points.get(3).x);
-		maxX = Math.max(value1, value2);
+		at.setToIdentity();
+		at.rotate(Math.toRadians(go.rotation), go.centerX(), go.centerY());
 		
-		value1 = Math.min(points.get(0).y, points.get(1).y);
-		value2 = Math.min(points.get(2).y, points.get(3).y);
-		minY = Math.min(value1, value2);
+		float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
 		
-		value1 = Math.max(points.get(0).y, points.get(1).y);
-		value2 = Math.max(points.get(2).y, points.get(3).y);
-		maxY = Math.max(value1, value2);
+		for(int i = 0; i < 4; i++)
+		{
+			arr[0] = i % 2 == 0 ? go.loc.x : go.loc.x + go.width();
+			arr[1] = i < 2      ? go.loc.y : go.loc.y + go.height();
+			at.transform(arr, 0, arr, 0, 1);
+			
+			minX = Math.min(minX, arr[0]);
+			maxX = Math.max(maxX, arr[0]);
+			minY = Math.min(minY, arr[1]);
+			maxY = Math.max(maxY, arr[1]);
+		}
 		
-		return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+		out.set(minX, minY, maxX - minX, maxY - minY);
+		return out;
 	}
 	
 	/**
@@ -565,17 +572,31 @@ public class Fundementals
 	 * @return The point that contains the rotated coordinates.
 	 */
 	public static Vector2 getRotatedPoint(float x, float y, float cx, float cy, float rotation)
+	{
+		return getRotatedPoint(x, y, cx, cy, rotation, new Vector2());
+	}
+	
+	/**
+	 * Same as getRotatedPoint(float, float, float, float, float), but writes the result to the given vector.
+	 * @param out The vector to store the point in.
+	 * @return {@code out}
+	 */
+	public static Vector2 getRotatedPoint(float x, float y, float cx, float cy, float rotation, Vector2 out)
 	{
 		if(rotation == 0)
-			return new Vector2(x,y);
+			return out.set(x,y);
 		
-		final float[] arr = {x, y, 0, 0, 0, 0, 0, 0};
+		Scratch scratch = SCRATCH.get();
+		AffineTransform at = scratch.at;
+		float[] arr = scratch.arr;
 		
-		AffineTransform at = new AffineTransform();
+		arr[0] = x;
+		arr[1] = y;
+		at.setToIdentity();
 		at.rotate(Math.toRadians(rotation), cx, cy);
-		at.transform(arr, 0, arr, 0, 4);
+		at.transform(arr, 0, arr, 0, 1);
 		
-		return new Vector2(arr[0], arr[1]);
+		return out.set(arr[0], arr[1]);
 	}
 	
 	/**
@@ -590,32 +611,30 @@ public class Fundementals
 	 */
 	public static Vector2 searchTile(int x0, int y0, final int x1, final int y1, byte tile)
 	{
-		final int dx = Math.abs(x1-x0);
-		final int dy = Math.abs(y1-y0); 
-		final int sx = (x0 < x1) ? 1 : -1;
-		final int sy = (y0 < y1) ? 1 : -1;
-		int err = dx-dy;
-		final byte[][] b = Stage.STAGE.stageData;
+		return searchTile(x0, y0, x1, y1, tile, new Vector2());
+	}
+	
+	/**
+	 * Same as searchTile(int, int, int, int, byte), but writes the result to the given vector.
+	 * @param out The vector to store the point in.
+	 * @return {@code out}, or null if the tile was not found, in which case {@code out} is left untouched.
+	 */
+	public static Vector2 searchTile(int x0, int y0, int x1, int y1, byte tile, Vector2 out)
+	{
+		long point = searchTilePacked(x0, y0, x1, y1, tile);
+		return point == NOT_FOUND ? null : out.set(unpackX(point), unpackY(point));
+	}
+	
+	/**
+	 * Same as searchTile(int, int, int, int, byte), but returns the point packed in a {@code long}.
+	 * @return The packed point, or {@code NOT_FOUND} if the tile was not found.
+	 */
+	public static long searchTilePacked(int x0, int y0, final int x1, final int y1, byte tile)
+	{
+		Stage stage = Stage.getCurrentStage();
+		long point = stage.getOccupancy().trace(x0, y0, x1, y1, tile, false, true, stage.size);
 		
-		while (true)
-		{
-			if(MovableObject.outOfBounds(x0, y0))
-				return null;
-			else if(b[y0][x0] == tile)
-				return new Vector2(x0, y0);
-			
-			final int e2 = 2 * err;
-			if (e2 > -dy)
-			{
-				err -= dy;
-				x0 += sx;
-			}
-			if (e2 < dx)
-			{
-				err += dx;
-				y0 += sy;
-			}
-		}
+		return point == NOT_FOUND || MovableObject.outOfBounds(unpackX(point), unpackY(point)) ? NOT_FOUND : point;
 	}
 	
 	public static Vector2 searchTile(float x0, float y0, final float x1, final float y1, byte tile)
@@ -623,6 +642,11 @@ public class Fundementals
 		return searchTile((int)x0, (int)y0, (int)x1, (int)y1, tile);
 	}
 	
+	public static Vector2 searchTile(float x0, float y0, float x1, float y1, byte tile, Vector2 out)
+	{
+		return searchTile((int)x0, (int)y0, (int)x1, (int)y1, tile, out);
+	}
+	
 	/**
 	 * Check which of the given targets that are closest to the watcher.
 	 * @param watcher The watcher.
@@ -666,16 +690,7 @@ public class Fundementals
 	 */
 	public static GameObject findClosestSeeable(GameObject watcher, GameObject... targets)
 	{
-		ArrayList<GameObject> seeable = new ArrayList<>();
-		
-		for (int i = 0; i < targets.length; i++)
-			if(watcher.canSee(targets[i], GameObject.Accuracy.MID))
-				seeable.add(targets[i]);
-		
-		if(seeable.size() == 0)
-			return null;
-		else
-			return findClosest(watcher, seeable.toArray(new GameObject[seeable.size()]));
+		return Stage.getCurrentStage().getVisibility().closestVisible(watcher, targets);
 	}
 
 	/**
@@ -715,33 +730,8 @@ public class Fundementals
 	 */
 	public static boolean solidSpace (int x0, int y0, final int x1, final int y1)
 	{
-		final int dx = Math.abs(x1-x0);
-		final int dy = Math.abs(y1-y0); 
-		int sx = (x0 < x1) ? 1 : -1;
-		int sy = (y0 < y1) ? 1 : -1;
-		int err = dx-dy;
-		final byte[][] b = Stage.STAGE.stageData;
-		
-		while (true)
-		{
-			if (b[y0][x0] == Engine.SOLID)
-				return false;
-	
-			if (x0 == x1 && y0 == y1) 
-				return true;
-			
-			float e2 = 2*err;
-			if (e2 > -dy)
-			{
-				err -= dy;
-				x0 += sx;
-			}
-			if (e2 < dx)
-			{
-				err += dx;
-				y0 += sy;
-			}
-		}
+		Stage stage = Stage.getCurrentStage();
+		return stage.getOccupancy().trace(x0, y0, x1, y1, Engine.SOLID, true, false, stage.size) == NOT_FOUND;
 	}
 	
 	/**
@@ -795,26 +785,33 @@ public class Fundementals
 	 */
 	public static Vector2 findEdgePoint(float obsX, float obsY, float tarX, float tarY)
 	{
-		int width  = Stage.STAGE.size.width;
-		int height = Stage.STAGE.size.height;
-		
-		Vector2 obs = new Vector2(obsX, obsY);
-		Vector2 tar = new Vector2(tarX, tarY);
+		return findEdgePoint(obsX, obsY, tarX, tarY, new Vector2());
+	}
+	
+	/**
+	 * Same as findEdgePoint(float, float, float, float), but writes the result to the given vector.
+	 * @param out The vector to store the point in.
+	 * @return {@code out}
+	 */
+	public static Vector2 findEdgePoint(float obsX, float obsY, float tarX, float tarY, Vector2 out)
+	{
+		int width  = Stage.getCurrentStage().size.width;
+		int height = Stage.getCurrentStage().size.height;
 		
 		float vTime = 1.0e20f;
-		if 		(tar.x > obs.x) vTime = (width - obs.x) / (tar.x - obs.x);
-		else if (tar.x < obs.x) vTime = (0     - obs.x) / (tar.x - obs.x);
+		if 		(tarX > obsX) vTime = (width - obsX) / (tarX - obsX);
+		else if (tarX < obsX) vTime = (0     - obsX) / (tarX - obsX);
 		 
 		float hTime = 1.0e20f;
-		if      (tar.y > obs.y) hTime = (height - obs.y) / (tar.y - obs.y);
-		else if (tar.y < obs.y) hTime = (0      - obs.y) / (tar.y - obs.y);
+		if      (tarY > obsY) hTime = (height - obsY) / (tarY - obsY);
+		else if (tarY < obsY) hTime = (0      - obsY) / (tarY - obsY);
 		 
 		float time = Math.min(hTime, vTime);
 		
-		float newX = obs.x + time * (tar.x - obs.x);
-		float newY = obs.y + time * (tar.y - obs.y);
+		float newX = obsX + time * (tarX - obsX);
+		float newY = obsY + time * (tarY - obsY);
 		
-		return new Vector2(newX, newY);
+		return out.set(newX, newY);
 	}
 	
 	/**
@@ -822,11 +819,22 @@ public class Fundementals
 	 * See findEdgePoint(float obsX, float obsY, float tarX, float tarY) for reference.
 	 */
 	public static Vector2 findEdgePoint(GameObject observer, GameObject target)
+	{
+		return findEdgePoint(observer, target, new Vector2());
+	}
+	
+	/**
+	 * Same as findEdgePoint(GameObject, GameObject), but writes the result to the given vector.
+	 * @param out The vector to store the point in.
+	 * @return {@code out}
+	 */
+	public static Vector2 findEdgePoint(GameObject observer, GameObject target, Vector2 out)
 	{
 		return findEdgePoint(observer.loc.x + observer.width / 2,
 							 observer.loc.y + observer.height / 2,
 							 target.loc.x + target.width / 2,
-							 target.loc.y + target.height / 2);
+							 target.loc.y + target.height / 2,
+							 out);
 	}
 	
 	public static void rotateTowardsPoint(GameObject src, GameObject target, float speed)
@@ -880,6 +888,16 @@ public class Fundementals
 	 * @return The normalized point.
 	 */
 	public static Vector2 normalize(float x1, float y1, float x2, float y2)
+	{
+		return normalize(x1, y1, x2, y2, new Vector2());
+	}
+	
+	/**
+	 * Normalizes the two points and stores the result in the given vector.
+	 * @param out The vector to store the normalized point in.
+	 * @return {@code out}
+	 */
+	public static Vector2 normalize(float x1, float y1, float x2, float y2, Vector2 out)
 	{
 		float dx = x1 - x2;
 		float dy = y1 - y2;
@@ -887,7 +905,7 @@ public class Fundementals
 		dx /= length;
 		dy /= length;
 		
-		return new Vector2(Float.isNaN(dx) ? 0 : dx, Float.isNaN(dy) ? 0 : dy);
+		return out.set(Float.isNaN(dx) ? 0 : dx, Float.isNaN(dy) ? 0 : dy);
 	}
 
 	/**
@@ -900,6 +918,31 @@ public class Fundementals
 	{
 		return normalize(go1.loc.x, go1.loc.y, go2.loc.x, go2.loc.y);
 	}
+	
+	/**
+	 * Normalizes the points of the two {@code GameObjects} and stores the result in the given vector.
+	 * @return {@code out}
+	 */
+	public static Vector2 normalize(GameObject go1, GameObject go2, Vector2 out)
+	{
+		return normalize(go1.loc.x, go1.loc.y, go2.loc.x, go2.loc.y, out);
+	}
+	
+	/**
+	 * Returns the direction from the second point to the first, without creating any objects.<br>
+	 * The same as {@code getDirection(normalize(x1, y1, x2, y2))}.
+	 * @return The direction, or null if the points are equal.
+	 */
+	public static Direction getDirection(float x1, float y1, float x2, float y2)
+	{
+		float dx = x1 - x2;
+		float dy = y1 - y2;
+		double length = Math.sqrt( dx*dx + dy*dy );
+		dx /= length;
+		dy /= length;
+		
+		return getDirectionOf(Float.isNaN(dx) ? 0 : dx, Float.isNaN(dy) ? 0 : dy);
+	}
 
 	/**
 	 * Returns an enum from {@code game.core.Engine.Direction} that represent the angle of the point.
@@ -908,9 +951,17 @@ public class Fundementals
 	 */
 	public static Direction getDirection(Vector2 normalizedPoint)
 	{
-		double x = normalizedPoint.x;
-		double y = normalizedPoint.y;
-		
+		return getDirectionOf(normalizedPoint.x, normalizedPoint.y);
+	}
+	
+	/**
+	 * Same as getDirection(Vector2), but takes the components of the normalized point.
+	 * @param x The x component of a normalized point.
+	 * @param y The y component of a normalized point.
+	 * @return The direction of the point.
+	 */
+	public static Direction getDirectionOf(double x, double y)
+	{
 		final double fThreshold = Math.cos(Math.PI / 8);
 		 
 		if (x > fThreshold)
@@ -941,6 +992,16 @@ public class Fundementals
 	 * @return The point.
 	 */
 	public static Vector2 getEdgePoint(float x, float y, Direction dir)
+	{
+		return getEdgePoint(x, y, dir, new Vector2());
+	}
+	
+	/**
+	 * Same as getEdgePoint(float, float, Direction), but writes the result to the given vector.
+	 * @param out The vector to store the point in.
+	 * @return {@code out}
+	 */
+	public static Vector2 getEdgePoint(float x, float y, Direction dir, Vector2 out)
 	{
 		float targetX, targetY;
 		
@@ -949,42 +1010,42 @@ public class Fundementals
 			case NW:
 				targetX = x - 1;
 				targetY = y - 1;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case N:
 				targetX = x;
 				targetY = y - 1;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case NE:
 				targetX = x + 1;
 				targetY = y - 1;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case E:
 				targetX = x + 1;
 				targetY = y;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case SE:
 				targetX = x + 1;
 				targetY = y + 1;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case S:
 				targetX = x;
 				targetY = y + 1;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case SW:
 				targetX = x - 1;
 				targetY = y + 1;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 			
 			case W:
 				targetX = x - 1;
 				targetY = y;
-				return Fundementals.findEdgePoint(x, y, targetX, targetY);
+				return Fundementals.findEdgePoint(x, y, targetX, targetY, out);
 		
 			default:
 				return null;
@@ -1031,9 +1092,38 @@ public class Fundementals
 		v.y = -t * sina + v.y * cosa;
 	}
 	
-	private static class RotRect
+	/**
+	 * Packs the given coordinates into a {@code long}, the format returned by the packed functions.
+	 */
+	public static long pack(int x, int y)
+	{
+		return ((long)x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Returns the x coordinate of a packed point.
+	 */
+	public static int unpackX(long point)
+	{
+		return (int)(point >> 32);
+	}
+	
+	/**
+	 * Returns the y coordinate of a packed point.
+	 */
+	public static int unpackY(long point)
+	{
+		return (int)point;
+	}
+	
+	/**
+	 * Objects reused by the calculations, one set per thread.
+	 */
+	private static class Scratch
 	{
-		Vector2 C, S;
-		float ang;
+		final AffineTransform at = new AffineTransform();
+		final float[] arr = new float[2];
+		final Vector2 c1 = new Vector2(), s1 = new Vector2(), c2 = new Vector2(), s2 = new Vector2(),
+					  a = new Vector2(), b = new Vector2(), c = new Vector2(), bl = new Vector2(), tr = new Vector2();
 	}
 }
\ No newline at end of file
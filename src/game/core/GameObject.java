@@ -138,6 +138,17 @@ public class GameObject
 	 */
 	public float offsetY;
 	
+	/**
+	 * The collision layers this object belongs to, as bits. Defaults to the first layer.
+	 */
+	public int collisionLayer;
+	
+	/**
+	 * The collision layers this object can collide with, as bits. Defaults to all layers.<br>
+	 * Two objects only collide if each of them belongs to a layer that the mask of the other one includes. Pairs that can never interact are rejected before any hitbox test.
+	 */
+	public int collisionMask;
+	
 	/**
 	 * Used for debugging purposes.
 	 */
@@ -155,6 +166,8 @@ public class GameObject
 	Animation<Image2D> secondImage;
 	LinkedList<Event> removeQueue, events;
 	Polygon poly;
+	private final Rectangle bounds = new Rectangle();
+	private float boundsX = Float.NaN, boundsY, boundsRotation, boundsScale, boundsWidth, boundsHeight;
 	
 	/**
 	 * Constructs a {@code GameObject} with with, height and scale set to 1 and visibility set to true.
@@ -164,6 +177,8 @@ public class GameObject
 		alpha = 1;
 		visible = true;
 		hitbox = Hitbox.RECTANGLE;
+		collisionLayer = 1;
+		collisionMask = -1;
 		width = height = scale = 1;
 		image = new Animation<>(1,null, null);
 		events 	  = new LinkedList<>();
@@ -294,64 +309,128 @@ public class GameObject
 	 */
 	public boolean collidesWith(GameObject obj)
 	{
-		boolean straight1 = fast || rotation == 0;
-		boolean straight2 = obj.fast || obj.rotation == 0;
+		if(!canCollide(obj))
+			return false;
 		
-		if (hitbox == Hitbox.RECTANGLE && obj.hitbox == Hitbox.RECTANGLE)
-		{
-			if(straight1 && straight2)
-				return rectangleVsRecganle(this, obj);
-			else
-				return rotatedRectanglesCollision(this, obj);
-		}
-		else if (hitbox == Hitbox.RECTANGLE && obj.hitbox == Hitbox.CIRCLE)
-		{
-			if(straight1)
-				return circleVsRectangle(obj, this);
-			else
-				return rotatedRectangleVsCircle(this, obj);
-		}
-		else if (hitbox == Hitbox.CIRCLE && obj.hitbox == Hitbox.RECTANGLE)
-		{
-			if(straight2)
-				return circleVsRectangle(this, obj);
-			else
-				return rotatedRectangleVsCircle(obj, this);
-		}
-		else if (obj.hitbox == Hitbox.CIRCLE && hitbox == Hitbox.CIRCLE)
-		{
-			return circleVsCircle(this,obj);
-		}
-		else if (obj.hitbox == Hitbox.INVINCIBLE || hitbox == Hitbox.INVINCIBLE)
+		return NARROWPHASE[hitbox.ordinal()][obj.hitbox.ordinal()].collides(this, obj);
+	}
+	
+	/**
+	 * Checks the collision layers and masks of this object and the argument, without testing the hitboxes.
+	 * @param obj The object to check against.
+	 * @return True if each object belongs to a layer the other one's mask includes.
+	 */
+	public boolean canCollide(GameObject obj)
+	{
+		return (collisionLayer & obj.collisionMask) != 0 && (obj.collisionLayer & collisionMask) != 0;
+	}
+	
+	/**
+	 * Returns the bounding box of this object in world space, taking rotation into consideration.<br>
+	 * The box is cached and only computed again when the position, rotation, scale or size have changed since the last call. The returned rectangle is owned by this object and should not be modified.
+	 * @return The bounding box.
+	 */
+	public Rectangle getBounds()
+	{
+		if(boundsX != loc.x || boundsY != loc.y || boundsRotation != rotation || boundsScale != scale || boundsWidth != width || boundsHeight != height)
 		{
-			return false;
+			computeBoundingBox(this, bounds);
+			boundsX = loc.x;
+			boundsY = loc.y;
+			boundsRotation = rotation;
+			boundsScale = scale;
+			boundsWidth = width;
+			boundsHeight = height;
 		}
-		else if (obj.hitbox == Hitbox.EXACT || hitbox == Hitbox.EXACT)
+		
+		return bounds;
+	}
+	
+	/**
+	 * A narrowphase test between two hitbox types.
+	 */
+	private interface Narrowphase
+	{
+		boolean collides(GameObject obj1, GameObject obj2);
+	}
+	
+	/**
+	 * The narrowphase tests, indexed by the hitbox types of the two objects.
+	 */
+	private static final Narrowphase[][] NARROWPHASE;
+	
+	static
+	{
+		Hitbox[] types = Hitbox.values();
+		NARROWPHASE = new Narrowphase[types.length][types.length];
+		
+		for(Hitbox type1 : types)
+			for(Hitbox type2 : types)
+				NARROWPHASE[type1.ordinal()][type2.ordinal()] = narrowphase(type1, type2);
+	}
+	
+	private static Narrowphase narrowphase(Hitbox type1, Hitbox type2)
+	{
+		if (type1 == Hitbox.RECTANGLE && type2 == Hitbox.RECTANGLE)
+			return (obj1, obj2) -> obj1.straight() && obj2.straight() ? rectangleVsRecganle(obj1, obj2) : boundsOverlap(obj1, obj2, false) && rotatedRectanglesCollision(obj1, obj2);
+		else if (type1 == Hitbox.RECTANGLE && type2 == Hitbox.CIRCLE)
+			return (obj1, obj2) -> obj1.straight() ? circleVsRectangle(obj2, obj1) : boundsOverlap(obj1, obj2, true) && rotatedRectangleVsCircle(obj1, obj2);
+		else if (type1 == Hitbox.CIRCLE && type2 == Hitbox.RECTANGLE)
+			return (obj1, obj2) -> obj2.straight() ? circleVsRectangle(obj1, obj2) : boundsOverlap(obj2, obj1, true) && rotatedRectangleVsCircle(obj2, obj1);
+		else if (type1 == Hitbox.CIRCLE && type2 == Hitbox.CIRCLE)
+			return Fundementals::circleVsCircle;
+		else if (type1 == Hitbox.INVINCIBLE || type2 == Hitbox.INVINCIBLE)
+			return (obj1, obj2) -> false;
+		else if (type1 == Hitbox.EXACT || type2 == Hitbox.EXACT)
+			return GameObject::exactCollision;
+		else
+			return Fundementals::polygonCollision;
+	}
+	
+	private static boolean exactCollision(GameObject obj1, GameObject obj2)
+	{
+		if(obj1.straight() && obj2.straight())
 		{
-			if(straight1 && straight2)
-			{
-				if (!rectangleVsRecganle(this, obj))
-					return false;
-				
-				return pixelPerfect(this,obj);
-			}
-			else
-			{
-				Rectangle r1 = (rotation == 0) ? new Rectangle(loc.x, loc.y, width, height)					: getBoundingBox(this);
-				Rectangle r2 = (rotation == 0) ? new Rectangle(obj.loc.x, obj.loc.y, obj.width, obj.height) : getBoundingBox(obj);
-				
-				if(!rectangleVsRectangle(r1.x, r1.y, r1.width, r1.height, r2.x, r2.y, r2.width, r2.height))
-					return false;
-				
-				return pixelPerfectRotation(this, obj);
-			}
+			if (!rectangleVsRecganle(obj1, obj2))
+				return false;
+			
+			return pixelPerfect(obj1, obj2);
 		}
-		else if(hitbox == Hitbox.POLYGON || obj.hitbox == Hitbox.POLYGON)
+		else
 		{
-			return polygonCollision(this, obj);
+			/*
+			 * Both boxes are chosen by the rotation of the first object, as they always have been. Recorded replays depend on it.
+			 */
+			Rectangle r1 = obj1.rotation == 0 ? null : obj1.getBounds();
+			Rectangle r2 = obj1.rotation == 0 ? null : obj2.getBounds();
+			
+			if(!rectangleVsRectangle(r1 == null ? obj1.loc.x   : r1.x,     r1 == null ? obj1.loc.y    : r1.y,
+									 r1 == null ? obj1.width   : r1.width, r1 == null ? obj1.height   : r1.height,
+									 r2 == null ? obj2.loc.x   : r2.x,     r2 == null ? obj2.loc.y    : r2.y,
+									 r2 == null ? obj2.width   : r2.width, r2 == null ? obj2.height   : r2.height))
+				return false;
+			
+			return pixelPerfectRotation(obj1, obj2);
 		}
-
-		return false;
+	}
+	
+	/**
+	 * Checks if the bounding boxes of the two objects are within a pixel of each other. Used to skip the rotated tests for objects that are far apart.
+	 * @param straight2 Whether or not to use the unrotated box of the second object.
+	 */
+	private static boolean boundsOverlap(GameObject obj1, GameObject obj2, boolean straight2)
+	{
+		Rectangle r1 = obj1.getBounds();
+		if(straight2)
+			return rectangleVsRectangle(r1.x - 1, r1.y - 1, r1.width + 2, r1.height + 2, obj2.loc.x, obj2.loc.y, obj2.width(), obj2.height());
+		
+		Rectangle r2 = obj2.getBounds();
+		return rectangleVsRectangle(r1.x - 1, r1.y - 1, r1.width + 2, r1.height + 2, r2.x, r2.y, r2.width, r2.height);
+	}
+	
+	private boolean straight()
+	{
+		return fast || rotation == 0;
 	}
 	
 	/**
@@ -433,6 +512,8 @@ public class GameObject
 		dest.scale = scale;
 		dest.rotation = rotation;
 		dest.hitbox = hitbox;
+		dest.collisionLayer = collisionLayer;
+		dest.collisionMask = collisionMask;
 		dest.visible = visible;
 		dest.sounds = sounds.getClone();
 		dest.sounds.setEmitter(dest);
@@ -481,7 +562,7 @@ public class GameObject
 	public void zIndex(int index)
 	{
 		if(index != zIndex)
-			Stage.STAGE.sort = true;
+			Stage.getCurrentStage().sort = true;
 		
 		zIndex = index;
 	}
@@ -657,6 +738,16 @@ public class GameObject
 	 * @return The front position.
 	 */
 	public Vector2 getFrontPosition()
+	{
+		return getFrontPosition(new Vector2());
+	}
+	
+	/**
+	 * Stores the front position of this unit, rotated or not, in the given vector.
+	 * @param out The vector to store the position in.
+	 * @return {@code out}
+	 */
+	public Vector2 getFrontPosition(Vector2 out)
 	{
 		float locX = loc.x + width() / 2;
 		float locY = loc.y + height() / 2;
@@ -664,7 +755,7 @@ public class GameObject
 		locX += Math.cos(Math.toRadians(rotation)) * (width() / 2);
 		locY += Math.sin(Math.toRadians(rotation)) * (height() / 2);
 		
-		return new Vector2(locX,locY);
+		return out.set(locX,locY);
 	}
 	
 	/**
@@ -672,6 +763,16 @@ public class GameObject
 	 * @return The rare position.
 	 */
 	public Vector2 getRarePosition()
+	{
+		return getRarePosition(new Vector2());
+	}
+	
+	/**
+	 * Stores the rare position of this unit, rotated or not, in the given vector.
+	 * @param out The vector to store the position in.
+	 * @return {@code out}
+	 */
+	public Vector2 getRarePosition(Vector2 out)
 	{
 		float locX = loc.x + width() / 2;
 		float locY = loc.y + height() / 2;
@@ -679,7 +780,7 @@ public class GameObject
 		locX -= Math.cos(Math.toRadians(rotation)) * (width() / 2);
 		locY -= Math.sin(Math.toRadians(rotation)) * (height() / 2);
 		
-		return new Vector2(locX,locY);
+		return out.set(locX,locY);
 	}
 	
 	/**
@@ -731,45 +832,14 @@ public class GameObject
 	
 	/**
 	 * Tests whether or not this {@code GameObject} can see the specified {@code GameObject}.<br>
-	 * The hitbox type have no effect in the scanning methods, all hitbox types are treated equally.
+	 * The hitbox type have no effect in the scanning methods, all hitbox types are treated equally.<br>
+	 * The lines are remembered by the {@code Visibility} service of the stage, so asking the same question again before either object has moved is cheap.
 	 * @param target The object we want to look at.
 	 * @param accuracy The accuracy of the test.
 	 * @return True if it can see it, otherwise false.
 	 */
 	public boolean canSee(GameObject target, Accuracy accuracy)
-	{						
-		if(!target.visible)
-			return false;
-		
-		int midX1   = (int) (target.loc.x + target.width() / 2),
-			midY1   = (int) (target.loc.y + target.height() / 2),
-			midX2   = (int) (loc.x + width() / 2),
-			midY2   = (int) (loc.y + height() / 2), 
-			left1   = (int) (target.loc.x), 
-			left2   = (int) (loc.x), 
-			right1  = (int) (target.loc.x + target.width()), 
-			right2  = (int) (loc.x + width()),
-			top1    = (int) (target.loc.y),
-			top2    = (int) (loc.y),
-			bottom1 = (int) (target.loc.y + target.height()), 
-			bottom2 = (int) (loc.y + height());
-		
-		switch (accuracy)
-		{
-		case MID:
-			return Fundementals.solidSpace(midX1, midY1, midX2, midY2);			
-		case MID_CORNERS:
-			return Fundementals.solidSpace(midX1, midY1, left2, top2)    ||
-				   Fundementals.solidSpace(midX1, midY1, right2, top2)   ||
-				   Fundementals.solidSpace(midX1, midY1, left2, bottom2) ||
-				   Fundementals.solidSpace(midX1, midY1, right2, bottom2);
-		case REC_CORNERS:
-			return Fundementals.solidSpace(left1, top1, left2, top2) 	    ||
-				   Fundementals.solidSpace(right1, top1, right2, top2)     ||
-				   Fundementals.solidSpace(left1, bottom1, left2, bottom2) ||
-				   Fundementals.solidSpace(right1, bottom1, right2, bottom2);
-		default:
-			throw new RuntimeException("The specified accuracy is not implemented yet");
-		}
+	{
+		return Stage.getCurrentStage().getVisibility().canSee(this, target, accuracy);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package game.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carries the riders of moving platforms in one pass, after all the enemies of the frame have moved. Used when {@code Stage.batchPlatforms} is enabled.<br>
+ * Every carrier reports how far it moved during the frame. The carriers are then resolved so that a carrier following another one comes after it, and a carrier riding another one is moved along before its own riders are found.
+ * Each rider is moved once, by the sum of the movements of the carriers it rides, followed by the push out of the harsh ones.
+ * @author Pojahn Moradi
+ *
+ */
+public class KinematicSolver
+{
+	/**
+	 * An object that carries other objects along when it moves.
+	 */
+	public interface Carrier
+	{
+		/**
+		 * Reports the objects that currently ride this carrier through {@code KinematicSolver.carry}.
+		 * @param solver The solver to report to.
+		 */
+		void findRiders(KinematicSolver solver);
+		
+		/**
+		 * Returns the carrier this one follows, or null.
+		 */
+		Carrier getLeader();
+	}
+	
+	private final List<MovableObject> carriers, riders, pushers;
+	private final Map<MovableObject, Integer> carrierIndex, riderIndex;
+	private float[] carrierDX, carrierDY, riderDX, riderDY;
+	private int[] depth, order, pushed;
+	private boolean[] resolved;
+	private int current;
+	
+	KinematicSolver()
+	{
+		carriers = new ArrayList<>();
+		riders = new ArrayList<>();
+		pushers = new ArrayList<>();
+		carrierIndex = new IdentityHashMap<>();
+		riderIndex = new IdentityHashMap<>();
+		carrierDX = new float[16];
+		carrierDY = new float[16];
+		riderDX = new float[16];
+		riderDY = new float[16];
+		depth = new int[16];
+		order = new int[16];
+		pushed = new int[16];
+		resolved = new boolean[16];
+	}
+	
+	/**
+	 * Registers a carrier that moved the given distance this frame. Called by the carrier after it has moved.
+	 */
+	public <T extends MovableObject & Carrier> void moved(T carrier, float dx, float dy)
+	{
+		int index = carriers.size();
+		if(index == carrierDX.length)
+		{
+			carrierDX = Arrays.copyOf(carrierDX, index * 2);
+			carrierDY = Arrays.copyOf(carrierDY, index * 2);
+			depth = Arrays.copyOf(depth, index * 2);
+			order = Arrays.copyOf(order, index * 2);
+			resolved = Arrays.copyOf(resolved, index * 2);
+		}
+		
+		carriers.add(carrier);
+		carrierIndex.put(carrier, index);
+		carrierDX[index] = dx;
+		carrierDY[index] = dy;
+	}
+	
+	/**
+	 * Reports that the given object rides the carrier currently being resolved, which moves it along. Only valid within {@code Carrier.findRiders}.
+	 * @param carrier The carrier.
+	 * @param rider The object riding it.
+	 * @param harsh True to push the rider out of the carrier after it has been moved, see {@code MovableObject.collisionRespone}.
+	 */
+	public void carry(MovableObject carrier, MovableObject rider, boolean harsh)
+	{
+		float dx = carrierDX[current], dy = carrierDY[current];
+		
+		Integer other = carrierIndex.get(rider);
+		if(other != null && !resolved[other])
+		{
+			if(rider.canGoTo(rider.loc.x + dx, rider.loc.y + dy))
+			{
+				rider.moveTo(rider.loc.x + dx, rider.loc.y + dy);
+				rider.prevX += dx;
+				rider.prevY += dy;
+				carrierDX[other] += dx;
+				carrierDY[other] += dy;
+			}
+			return;
+		}
+		
+		Integer index = riderIndex.get(rider);
+		if(index == null)
+		{
+			index = riders.size();
+			if(index == riderDX.length)
+			{
+				riderDX = Arrays.copyOf(riderDX, index * 2);
+				riderDY = Arrays.copyOf(riderDY, index * 2);
+			}
+			
+			riders.add(rider);
+			riderIndex.put(rider, index);
+			riderDX[index] = riderDY[index] = 0;
+		}
+		
+		riderDX[index] += dx;
+		riderDY[index] += dy;
+		
+		if(harsh)
+		{
+			if(pushers.size() == pushed.length)
+				pushed = Arrays.copyOf(pushed, pushed.length * 2);
+			
+			pushed[pushers.size()] = index;
+			pushers.add(carrier);
+		}
+	}
+	
+	/**
+	 * Checks if any carrier have moved this frame.
+	 */
+	boolean pending()
+	{
+		return !carriers.isEmpty();
+	}
+	
+	/**
+	 * Resolves the carriers registered this frame and moves their riders.
+	 */
+	void solve()
+	{
+		int count = carriers.size();
+		
+		for(int i = 0; i < count; i++)
+		{
+			int d = 0;
+			Carrier leader = ((Carrier)carriers.get(i)).getLeader();
+			while(leader != null && d < count && carrierIndex.containsKey(leader))
+			{
+				d++;
+				leader = leader.getLeader();
+			}
+			depth[i] = d;
+			resolved[i] = false;
+		}
+		
+		int n = 0;
+		for(int d = 0; n < count; d++)
+			for(int i = 0; i < count; i++)
+				if(depth[i] == d)
+					order[n++] = i;
+		
+		for(int i = 0; i < count; i++)
+		{
+			current = order[i];
+			((Carrier)carriers.get(current)).findRiders(this);
+			resolved[current] = true;
+		}
+		
+		for(int i = 0; i < riders.size(); i++)
+		{
+			MovableObject rider = riders.get(i);
+			float nextX = rider.loc.x + riderDX[i];
+			float nextY = rider.loc.y + riderDY[i];
+			
+			if(rider.canGoTo(nextX, nextY))
+				rider.moveTo(nextX, nextY);
+		}
+		
+		for(int i = 0; i < pushers.size(); i++)
+			pushers.get(i).collisionRespone(riders.get(pushed[i]));
+		
+		clear();
+	}
+	
+	/**
+	 * Forgets the carriers and riders of the frame.
+	 */
+	void clear()
+	{
+		carriers.clear();
+		riders.clear();
+		pushers.clear();
+		carrierIndex.clear();
+		riderIndex.clear();
+	}
+}
@@ -5,8 +5,10 @@ import game.core.Engine.GameState;
 import game.essentials.Controller;
 import game.essentials.Controller.PressedButtons;
 import game.essentials.Image2D;
+import game.essentials.PackedInput;
 import game.objects.Particle;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -29,7 +31,8 @@ public abstract class MainCharacter extends MovableObject
 	private CharacterState state;
 	private int hp, invincibleCounter, frameSkipCounter, replayCounter;
 	private boolean hurt, deathActionUsed;
-	private PressedButtons[] ghostData;
+	private PackedInput ghostData;
+	private PressedButtons ghostFrame;
 	
 	/**
 	 * Constructs a MainCharacter with a default TileEvent and HitEvent.
@@ -45,12 +48,12 @@ public abstract class MainCharacter extends MovableObject
 		
 		addTileEvent(tileType ->
 		{
-			Stage stage = Stage.STAGE;
+			Stage stage = Stage.getCurrentStage();
 			
 			if(tileType == SOLID)
 				deathAction();
 			else if(tileType == LETHAL)
-				hit(Stage.STAGE.lethalDamage);
+				hit(Stage.getCurrentStage().lethalDamage);
 			else if(tileType == GOAL)
 				stage.game.setGlobalState(GameState.COMPLETED);
 		});
@@ -87,6 +90,16 @@ public abstract class MainCharacter extends MovableObject
 	 * @param strength
 	 */
 	public void hit(int strength)
+	{
+		if(damage(strength))
+			deathAction();
+	}
+	
+	/**
+	 * Alters the health like {@code hit} but without calling {@code deathAction}.
+	 * @return True if the health is equal or less than zero.
+	 */
+	boolean damage(int strength)
 	{
 		if(strength >= 0)
 			hp += strength;
@@ -96,8 +109,7 @@ public abstract class MainCharacter extends MovableObject
 			hurt = true;			
 		}
 		
-		if(0 >= hp)
-			deathAction();
+		return 0 >= hp;
 	}
 	
 	/**
@@ -151,10 +163,7 @@ public abstract class MainCharacter extends MovableObject
 	 */
 	public void ghostify(List<PressedButtons> ghostData)
 	{
-		if(ghostData == null)
-			this.ghostData = null;
-		else
-			this.ghostData = ghostData.toArray(new PressedButtons[ghostData.size()]);
+		ghostify(ghostData == null ? null : PackedInput.pack(ghostData));
 	}
 	
 	/**
@@ -162,8 +171,22 @@ public abstract class MainCharacter extends MovableObject
 	 * @param ghostData The ghost data.
 	 */
 	public void ghostify(PressedButtons[] ghostData)
+	{
+		ghostify(ghostData == null ? null : PackedInput.pack(Arrays.asList(ghostData)));
+	}
+	
+	/**
+	 * Transforms this main character to a ghost. Pass null to humanize again.<br>
+	 * The packed input can be shared by several ghosts. 
+	 * @param ghostData The ghost data.
+	 */
+	public void ghostify(PackedInput ghostData)
 	{
 		this.ghostData = ghostData;
+		replayCounter = 0;
+		
+		if(ghostData != null && ghostFrame == null)
+			ghostFrame = new PressedButtons();
 	}
 	
 	/**
@@ -180,7 +203,11 @@ public abstract class MainCharacter extends MovableObject
 		if(ghostData == null)
 			throw new IllegalStateException("This method can only be called if the MainCharacter is a ghost.");
 		
-		return replayCounter > ghostData.length - 1 ? STILL : ghostData[replayCounter++];
+		if(replayCounter > ghostData.size() - 1)
+			return STILL;
+		
+		ghostData.unpack(replayCounter++, ghostFrame);
+		return ghostFrame;
 	}
 	
 	/**
@@ -196,14 +223,23 @@ public abstract class MainCharacter extends MovableObject
 	{
 		if(!deathActionUsed)
 		{
-			deathActionUsed = true;
-			visible = false;
-			hitbox = Hitbox.INVINCIBLE;
-			state = CharacterState.DEAD;
-			halted = true;
+			vanish();
 			
 			if(deathImg != null)
-				Stage.STAGE.add(deathImg.getClone(loc.x + (width / 2) - (deathImg.width / 2), loc.y + (height / 2) - (deathImg.height / 2)));
+				Stage.getCurrentStage().add(deathImg.getClone(loc.x + (width / 2) - (deathImg.width / 2), loc.y + (height / 2) - (deathImg.height / 2)));
 		}
 	}
+	
+	/**
+	 * Kills the character by halting and hiding it, without adding the death image to the stage.<br>
+	 * Used by the ghosts added with {@code Stage.addGhost}, which must not change the stage.
+	 */
+	final void vanish()
+	{
+		deathActionUsed = true;
+		visible = false;
+		hitbox = Hitbox.INVINCIBLE;
+		state = CharacterState.DEAD;
+		halted = true;
+	}
 }
\ No newline at end of file
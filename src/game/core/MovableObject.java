@@ -43,6 +43,8 @@ public class MovableObject extends GameObject
 	float prevX, prevY;
 	boolean halted;
 	private float tempX, tempY;
+	private GameObject[] solidArray;
+	private final Set<Byte> probeCells = new HashSet<>();
 	
 	/**
 	 * Constructs a {@code MovableObject} with move speed set to 3.
@@ -247,11 +249,11 @@ public class MovableObject extends GameObject
 			return false;
 		
 		tempTo(targetX, targetY);
-		Set<Byte> cells =  new HashSet<>();
-		standingOn(cells, this);
+		probeCells.clear();
+		standingOn(probeCells, this);
 		tempBack();
 		
-		if(cells.contains(SOLID))
+		if(probeCells.contains(SOLID))
 			return false;
 		
 		return !isOverlapping(targetX, targetY);
@@ -311,7 +313,7 @@ public class MovableObject extends GameObject
 		if(outOfBounds(tar,y))
 			return false;
 		
-		byte[][] d  = Stage.STAGE.stageData;
+		byte[][] d  = Stage.getCurrentStage().stageData;
 		for (int i = 0; i < height; i++)
 			if(d[y + i][tar] == SOLID)
 				return false;
@@ -335,7 +337,7 @@ public class MovableObject extends GameObject
 		if(outOfBounds(tar, y))
 			return false;
 		
-		byte[][] d = Stage.STAGE.stageData;
+		byte[][] d = Stage.getCurrentStage().stageData;
 		for (int i = 0; i < height; i++)
 			if(d[y + i][tar] == SOLID)
 				return false;
@@ -359,7 +361,7 @@ public class MovableObject extends GameObject
 		if(outOfBounds(x,tar))
 			return false;
 		
-		byte[][] d  = Stage.STAGE.stageData;
+		byte[][] d  = Stage.getCurrentStage().stageData;
 		for (int i = 0; i < width; i++)
 			if(d[tar][x + i] == SOLID)
 				return false;
@@ -383,7 +385,7 @@ public class MovableObject extends GameObject
 		if(outOfBounds(x,tar))
 			return false;
 		
-		byte[][] d  = Stage.STAGE.stageData;
+		byte[][] d  = Stage.getCurrentStage().stageData;
 		for (int i = 0; i < width; i++)
 			if(d[tar][x + i] == SOLID)
 				return false;
@@ -606,7 +608,7 @@ public class MovableObject extends GameObject
 	 */
 	void inspectIntersections()
 	{
-		Stage stage = Stage.STAGE;
+		Stage stage = Stage.getCurrentStage();
 		
 		for (byte value : occupyingCells)
 		{
@@ -671,7 +673,7 @@ public class MovableObject extends GameObject
 	 */
 	public static void standingOn (Collection<Byte> cells, GameObject go)
 	{
-		byte[][] d = Stage.STAGE.stageData;
+		byte[][] d = Stage.getCurrentStage().stageData;
 		
 		int x  = (int) go.loc.x + 1,
 			y  = (int) go.loc.y + 1,
@@ -708,6 +710,7 @@ public class MovableObject extends GameObject
 	public void avoidOverlapping(GameObject go)
 	{
 		solidObjects.add(go);
+		solidArray = null;
 	}
 	
 	/**
@@ -717,6 +720,7 @@ public class MovableObject extends GameObject
 	{
 		for(GameObject go : gos)
 			solidObjects.add(go);
+		solidArray = null;
 	}
 	
 	/**
@@ -726,10 +730,12 @@ public class MovableObject extends GameObject
 	public void allowOverlapping(GameObject mo)
 	{
 		solidObjects.remove(mo);
+		solidArray = null;
 	}
 	
 	/**
-	 * Moves this object to the specified point and checks if it collides with any solid object.
+	 * Moves this object to the specified point and checks if it collides with any solid object.<br>
+	 * The solid objects are kept in an array that is rebuilt when objects are added or removed through {@code avoidOverlapping} and {@code allowOverlapping}, and two straight rectangles are tested directly without going through {@code collidesWith}.
 	 * @param targetX The X coordinate to check.
 	 * @param targetY The Y coordinate to check.
 	 * @return True if there is a collision, false if there isn't.
@@ -739,19 +745,38 @@ public class MovableObject extends GameObject
 		if(solidObjects.isEmpty())
 			return false;
 		
-		boolean bool = false;
+		if(solidArray == null)
+			solidArray = solidObjects.toArray(new GameObject[solidObjects.size()]);
+		
+		boolean bool = false,
+				rectangle = hitbox == Hitbox.RECTANGLE && (fast || rotation == 0);
+		float w = width(),
+			  h = height();
 		
 		float realX = loc.x,
 			  realY = loc.y;
 		loc.x = targetX;
 		loc.y = targetY;
 
-		for (GameObject go : solidObjects)
-			if (collidesWithMultiple(go) != null)
+		for (GameObject go : solidArray)
+		{
+			if(!canCollide(go))
+				continue;
+			
+			if(rectangle && go.hitbox == Hitbox.RECTANGLE && (go.fast || go.rotation == 0))
 			{
-				bool = true;
-				break;
+				if(targetY + h < go.loc.y ||
+				   targetY > go.loc.y + go.height() ||
+				   targetX + w < go.loc.x ||
+				   targetX > go.loc.x + go.width())
+					continue;
 			}
+			else if (!collidesWith(go))
+				continue;
+			
+			bool = true;
+			break;
+		}
 		loc.x = realX;
 		loc.y = realY;
 		
@@ -766,7 +791,7 @@ public class MovableObject extends GameObject
 	 */
 	public static boolean outOfBounds(float x, float y)
 	{
-		Stage st = Stage.STAGE;
+		Stage st = Stage.getCurrentStage();
 		
 		if(x >= st.size.width  ||
 		   y >= st.size.height || 
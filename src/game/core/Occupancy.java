@@ -0,0 +1,167 @@
+package game.core;
+
+import java.awt.Dimension;
+
+/**
+ * A two level pyramid over the stage data, telling which tile types that appear within every block of 8x8 and 64x64 tiles.<br>
+ * Used to walk lines across the stage without reading the tiles of blocks that do not contain the searched tile type. The line is the same as the one of the pixel by pixel walks the engine used to do, so the returned points are identical.<br><br>
+ *
+ * The pyramid is built once per stage data and is kept up to date through {@code Stage.tilesChanged}.
+ * @author Pojahn Moradi
+ *
+ */
+final class Occupancy
+{
+	private static final int BLOCK_SHIFT = 3, SUPER_SHIFT = 6;
+
+	private final byte[][] data;
+	private final int width, height, cols, rows, superCols, superRows;
+	private final long[] blocks, supers;
+
+	Occupancy(byte[][] data)
+	{
+		this.data = data;
+		width = data[0].length;
+		height = data.length;
+		cols = ((width - 1) >> BLOCK_SHIFT) + 1;
+		rows = ((height - 1) >> BLOCK_SHIFT) + 1;
+		superCols = ((width - 1) >> SUPER_SHIFT) + 1;
+		superRows = ((height - 1) >> SUPER_SHIFT) + 1;
+		blocks = new long[cols * rows];
+		supers = new long[superCols * superRows];
+
+		tilesChanged(0, 0, width, height);
+	}
+
+	boolean isBuiltFrom(byte[][] data)
+	{
+		return this.data == data;
+	}
+
+	/**
+	 * Scans the blocks covering the given area of the stage data again.
+	 */
+	void tilesChanged(int x, int y, int width, int height)
+	{
+		int minCol = Math.max(0, x) >> BLOCK_SHIFT, minRow = Math.max(0, y) >> BLOCK_SHIFT,
+			maxCol = Math.min(cols - 1, (x + width - 1) >> BLOCK_SHIFT), maxRow = Math.min(rows - 1, (y + height - 1) >> BLOCK_SHIFT);
+
+		for(int row = minRow; row <= maxRow; row++)
+		{
+			for(int col = minCol; col <= maxCol; col++)
+			{
+				int x0 = col << BLOCK_SHIFT, y0 = row << BLOCK_SHIFT,
+					x1 = Math.min(x0 + (1 << BLOCK_SHIFT), this.width), y1 = Math.min(y0 + (1 << BLOCK_SHIFT), this.height);
+				long mask = 0;
+
+				for(int ty = y0; ty < y1; ty++)
+				{
+					byte[] line = data[ty];
+					for(int tx = x0; tx < x1; tx++)
+						mask |= bit(line[tx]);
+				}
+				blocks[row * cols + col] = mask;
+			}
+		}
+
+		int shift = SUPER_SHIFT - BLOCK_SHIFT;
+		for(int row = minRow >> shift; row <= maxRow >> shift; row++)
+		{
+			for(int col = minCol >> shift; col <= maxCol >> shift; col++)
+			{
+				long mask = 0;
+				for(int r = row << shift; r < Math.min(rows, (row + 1) << shift); r++)
+					for(int c = col << shift; c < Math.min(cols, (col + 1) << shift); c++)
+						mask |= blocks[r * cols + c];
+
+				supers[row * superCols + col] = mask;
+			}
+		}
+	}
+
+	/**
+	 * Walks the line from the first point through the second, and returns the first point on it that holds the given tile.<br>
+	 * The line is the one of Bresenham's algorithm and is continued past the second point unless {@code stopAtEnd} is set.
+	 * @param tile The tile to stop at.
+	 * @param stopAtEnd Whether or not to stop at the second point.
+	 * @param bounded Whether or not to stop at the first point outside the given size. If not, points outside the stage data are read anyway, like the stage data would be.
+	 * @param size The size of the stage.
+	 * @return The packed point, or {@code Fundementals.NOT_FOUND} if the line ended without finding the tile.
+	 */
+	long trace(int x0, int y0, int x1, int y1, byte tile, boolean stopAtEnd, boolean bounded, Dimension size)
+	{
+		final int dx = Math.abs(x1 - x0), dy = Math.abs(y1 - y0);
+		final int sx = x0 < x1 ? 1 : -1, sy = y0 < y1 ? 1 : -1;
+		final boolean xMajor = dx >= dy;
+		final int major = xMajor ? dx : dy, minor = xMajor ? dy : dx;
+		final long major2 = 2L * major, minor2 = 2L * minor;
+		final int coverW = Math.min(width, size.width), coverH = Math.min(height, size.height);
+		final long bit = bit(tile);
+
+		//The minor coordinate of step n is floor((2 * minor * n + major - 1) / (2 * major)) away from the start, and f is the error term of the incremental walk.
+		long n = 0, m = 0, f = major2 - minor2;
+
+		while(true)
+		{
+			final int x = (int)(x0 + sx * (xMajor ? n : m)), y = (int)(y0 + sy * (xMajor ? m : n));
+
+			if(bounded && (x < 0 || y < 0 || x >= size.width || y >= size.height))
+				return Fundementals.pack(x, y);
+
+			int shift = -1;
+			if(x >= 0 && y >= 0 && x < coverW && y < coverH && major > 0)
+			{
+				if((supers[(y >> SUPER_SHIFT) * superCols + (x >> SUPER_SHIFT)] & bit) == 0)
+					shift = SUPER_SHIFT;
+				else if((blocks[(y >> BLOCK_SHIFT) * cols + (x >> BLOCK_SHIFT)] & bit) == 0)
+					shift = BLOCK_SHIFT;
+			}
+
+			if(shift == -1)
+			{
+				if(data[y][x] == tile)
+					return Fundementals.pack(x, y);
+				if(major == 0 || (stopAtEnd && n == major))
+					return Fundementals.NOT_FOUND;
+
+				if(f < major)
+				{
+					m++;
+					f += major2;
+				}
+				f -= minor2;
+				n++;
+			}
+			else
+			{
+				int rx0 = (x >> shift) << shift, ry0 = (y >> shift) << shift,
+					rx1 = Math.min(rx0 + (1 << shift), coverW) - 1, ry1 = Math.min(ry0 + (1 << shift), coverH) - 1;
+
+				int a = xMajor ? x : y, aMin = xMajor ? rx0 : ry0, aMax = xMajor ? rx1 : ry1, sa = xMajor ? sx : sy;
+				long next = n + (sa > 0 ? aMax - a : a - aMin) + 1;
+
+				if(minor > 0)
+				{
+					int bMin = xMajor ? ry0 : rx0, bMax = xMajor ? ry1 : rx1, sb = xMajor ? sy : sx, b0 = xMajor ? y0 : x0;
+					long target = sb > 0 ? bMax - b0 + 1 : b0 - bMin + 1;
+					next = Math.min(next, (major2 * target - major + 1 + minor2 - 1) / minor2);
+				}
+
+				if(stopAtEnd && next > major)
+					return Fundementals.NOT_FOUND;
+
+				n = next;
+				m = (minor2 * n + major - 1) / major2;
+				f = major2 - minor2 - minor2 * n + major2 * m;
+			}
+		}
+	}
+
+	/**
+	 * The bit of the given tile type. Tile types that do not have a bit of their own share the last one.
+	 */
+	private static long bit(byte tile)
+	{
+		return tile >= 0 && tile < 63 ? 1L << tile : 1L << 63;
+	}
+}
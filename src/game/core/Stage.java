@@ -2,21 +2,30 @@ package game.core;
 
 import game.core.Engine.Direction;
 import game.core.Engine.GameState;
+import game.core.FrameProfiler.Phase;
 import game.core.GameObject.Event;
 import game.core.MainCharacter.CharacterState;
+import game.development.FlightEvents.EntityDiscard;
+import game.development.FlightEvents.EntitySpawn;
+import game.development.ResourceTracker;
 import game.essentials.CameraEffect;
 import game.essentials.Controller.PressedButtons;
 import game.essentials.Image2D;
+import game.navigation.FlowField;
+import game.navigation.NavGrid;
+import game.navigation.PathFinder;
 import java.awt.Dimension;
 import java.io.File;
 import java.io.Serializable;
 import java.util.AbstractMap;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
@@ -26,6 +35,7 @@ import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Disposable;
 
 /**
@@ -54,10 +64,10 @@ public abstract class Stage
 	}
 	
 	/**
-	 * This is the stage that currently being played. <br>
-	 * This variable is set automatically when a stage has been launched.
+	 * The stage that is being played on each thread. <br>
+	 * Set by the engine whenever it runs, which allow every thread to play a stage of its own.
 	 */
-	static Stage STAGE;
+	private static final ThreadLocal<Stage> STAGE = new ThreadLocal<>();
 	
 	/**
 	 * The stage data, which stores all the tile information. The values stored in this matrix are constant found in {@code game.core.Engine}.
@@ -79,6 +89,17 @@ public abstract class Stage
 	 */
 	public Engine game;
 	
+	/**
+	 * The size of the cells of the navigation grid, in pixels. Must be set before the grid is used the first time.
+	 */
+	public int navCellSize = 16;
+	
+	/**
+	 * Whether or not the {@code SolidPlatforms} should carry their riders in one pass after all the enemies have moved, rather than each of them when it moves. See {@code KinematicSolver}.<br>
+	 * Riders are then moved once per frame whatever the amount of platforms they touch, and platforms following other platforms are resolved after them. Changes the outcome of existing replays.
+	 */
+	public boolean batchPlatforms;
+	
 	/**
 	 * {@code startX} and {@code startY} are the starting position of the main character.
 	 */
@@ -92,13 +113,21 @@ public abstract class Stage
 	private Difficulty difficulty;
 	private LinkedList<Object> discardList, appendList, trash;
 	private byte[][] stageClone;
+	private NavGrid navGrid;
+	private Occupancy occupancy;
+	private PathFinder pathFinder;
+	private final Map<GameObject, FlowField> flowFields;
+	private final Visibility visibility;
+	private final KinematicSolver kinematicSolver;
+	private final Triggers triggers;
 	private boolean pending;
 	boolean sort;
 	List<GameObject> stageObjects;
-	List<MainCharacter> mains;
+	List<MainCharacter> mains, ghosts;
 	List<Event> events;
 	List<AbstractMap.SimpleEntry<Object, Integer>> delayedObject;
 	List<CameraEffect> cameraEffects;
+	final StageRandom random;
 	
 	public Stage()
 	{
@@ -106,10 +135,16 @@ public abstract class Stage
 		appendList     = new LinkedList<>();
 		stageObjects   = new LinkedList<>();
 		mains          = new LinkedList<>();
+		ghosts         = new LinkedList<>();
 		trash		   = new LinkedList<>();
 		events 		   = new LinkedList<>();
 		delayedObject  = new LinkedList<>();
 		cameraEffects  = new LinkedList<>();
+		random		   = new StageRandom();
+		flowFields	   = new IdentityHashMap<>();
+		visibility	   = new Visibility(this);
+		kinematicSolver = new KinematicSolver();
+		triggers	   = new Triggers(this);
 		startX = startY = -1;
 		size = new Dimension();
 	}
@@ -122,7 +157,7 @@ public abstract class Stage
 	 */
 	public void setStageMusic (String path, double loopStart, float volume)
 	{
-		setStageMusic(TinySound.loadMusic(new File(path),true), loopStart, volume);
+		setStageMusic(ResourceTracker.loadMusic(new File(path),true), loopStart, volume);
 	}
 	
 	/**
@@ -175,6 +210,9 @@ public abstract class Stage
 	 */
 	final void moveEnemies() 
 	{
+		FrameProfiler profiler = game.profiler;
+		long time = profiler.start();
+		
 		int size = delayedObject.size();
 		for(int i = 0; i < size; i++)
 		{
@@ -189,6 +227,7 @@ public abstract class Stage
 				i--;
 			}
 		}
+		time = profiler.lap(Phase.DELAYED, time);
 			
 		if(pending)
 		{
@@ -199,7 +238,17 @@ public abstract class Stage
 					trash.add(obj);
 					
 					if(obj instanceof GameObject)
+					{
 						stageObjects.remove(obj);
+						
+						EntityDiscard event = new EntityDiscard();
+						if(event.shouldCommit())
+						{
+							event.type = obj.getClass();
+							event.zIndex = ((GameObject)obj).getZIndex();
+							event.commit();
+						}
+					}
 					else if(obj instanceof Event)
 						events.remove(obj);
 					else if(obj instanceof CameraEffect)
@@ -213,6 +262,14 @@ public abstract class Stage
 					{
 						stageObjects.add((GameObject)obj);
 						sort = true;
+						
+						EntitySpawn event = new EntitySpawn();
+						if(event.shouldCommit())
+						{
+							event.type = obj.getClass();
+							event.zIndex = ((GameObject)obj).getZIndex();
+							event.commit();
+						}
 					}
 					else if(obj instanceof Event)
 						events.add((Event)obj);
@@ -222,12 +279,20 @@ public abstract class Stage
 			
 			pending = false;
 		}
+		time = profiler.lap(Phase.ADD_DISCARD, time);
 		
 		if(sort)
 		{
 			Collections.sort(stageObjects, GameObject.Z_INDEX_SORT);
 			sort = false;
 		}
+		time = profiler.lap(Phase.SORT, time);
+		
+		if(pathFinder != null)
+		{
+			pathFinder.update();
+			time = profiler.lap(Phase.NAVIGATION, time);
+		}
 		
 		if(trash.size() > 200)
 			trash.clear();
@@ -246,12 +311,14 @@ public abstract class Stage
 				if(!enemy.halted)
 				{
 					enemy.moveEnemy();
+					time = profiler.lap(Phase.ENEMIES, enemy, time);
 					
 					if(enemy.triggerable)
 					{
 						enemy.occupyingCells.clear();
 						enemy.tileCheck();
 						enemy.inspectIntersections();
+						time = profiler.lap(Phase.TILE_CHECKS, enemy, time);
 					}
 					
 					enemy.removeQueuedEvents();
@@ -261,6 +328,7 @@ public abstract class Stage
 					
 					enemy.prevX = enemy.loc.x;
 					enemy.prevY = enemy.loc.y;
+					time = profiler.lap(Phase.EVENTS, enemy, time);
 				}
 				else
 					enemy.goBack();
@@ -271,9 +339,16 @@ public abstract class Stage
 			{
 				go.removeQueuedEvents();
 				go.runEvents();
+				time = profiler.lap(Phase.EVENTS, go, time);
 			}
 		}
 		
+		if(kinematicSolver.pending())
+		{
+			kinematicSolver.solve();
+			time = profiler.lap(Phase.PLATFORMS, time);
+		}
+		
 		int aliveMains = mains.size();
 		for(int i = 0; i < mains.size(); i++)
 		{
@@ -311,11 +386,14 @@ public abstract class Stage
 					if(!game.playingReplay())
 						game.registerReplayFrame(i, pbs);
 				}
+				time = profiler.lap(Phase.MAINS, main, time);
+				
 				if(main.triggerable)
 				{
 					main.occupyingCells.clear();
 					main.tileCheck();
 					main.inspectIntersections();
+					time = profiler.lap(Phase.TILE_CHECKS, main, time);
 				}
 				
 				main.removeQueuedEvents();
@@ -323,6 +401,7 @@ public abstract class Stage
 				
 				if(main.getState() == CharacterState.DEAD)
 					main.deathAction();
+				time = profiler.lap(Phase.EVENTS, main, time);
 			}
 			else
 				main.goBack();
@@ -336,6 +415,18 @@ public abstract class Stage
 		if(0 >= aliveMains)
 			game.setGlobalState(GameState.ENDED);
 		
+		if(!ghosts.isEmpty())
+		{
+			moveGhosts();
+			time = profiler.lap(Phase.MAINS, time);
+		}
+		
+		if(triggers.size() > 0)
+		{
+			triggers.update();
+			time = profiler.lap(Phase.TRIGGERS, time);
+		}
+		
 		if(!events.isEmpty())
 			for(Event event : events)
 			{
@@ -344,6 +435,68 @@ public abstract class Stage
 				else
 					event.eventHandling();
 			}
+		profiler.lap(Phase.EVENTS, time);
+	}
+	
+	/**
+	 * Updates the ghosts added with {@code addGhost}.<br>
+	 * Only what affects their own trajectory is handled: their input, solid and lethal tiles and the goal. No events are executed and the ghosts do not interact with anything.<br>
+	 * A ghost that dies is only halted and hidden. Its death image is not added, since that would change the entities of the stage.
+	 */
+	private void moveGhosts()
+	{
+		for(MainCharacter ghost : ghosts)
+		{
+			if(ghost.halted)
+				continue;
+			
+			updateFacing(ghost);
+			ghost.prevX = ghost.loc.x;
+			ghost.prevY = ghost.loc.y;
+			ghost.handleInput(ghost.getNext());
+			
+			ghost.tileCheck();
+			if(ghost.occupyingCells.contains(Engine.SOLID))
+				ghost.vanish();
+			else if(ghost.occupyingCells.contains(Engine.LETHAL) && ghost.damage(lethalDamage))
+				ghost.vanish();
+			else if(ghost.occupyingCells.contains(Engine.GOAL))
+			{
+				ghost.setState(CharacterState.FINISH);
+				ghost.halted = true;
+			}
+		}
+	}
+	
+	/**
+	 * Adds a ghost that races the player, such as a replay from the leaderboard.<br>
+	 * Unlike ghosts added with {@code add}, these are not part of the game: they can not trigger any events, are not seen by other entities and do not affect the outcome of the stage. They are kept until {@code clearGhosts} is called, even when the stage is rebuilt.
+	 * @param ghost The ghost, with its input set through {@code ghostify}.
+	 */
+	public void addGhost(MainCharacter ghost)
+	{
+		if(!ghost.isGhost())
+			throw new IllegalArgumentException("The character must be ghostified first.");
+		
+		ghosts.add(ghost);
+	}
+	
+	/**
+	 * Removes all the ghosts added with {@code addGhost}.
+	 */
+	public void clearGhosts()
+	{
+		ghosts.clear();
+	}
+	
+	/**
+	 * Called by the engine when racing against the leaderboard. Returns a new character, placed on the starting position and looking like the main character, to be used as a ghost.<br>
+	 * By default, null is returned, which mean that the stage does not support ghost racing.
+	 * @return The character.
+	 */
+	protected MainCharacter createGhost()
+	{
+		return null;
 	}
 	
 	public void add(Event event)
@@ -493,6 +646,13 @@ public abstract class Stage
 		appendList.clear();
 		discardList.clear();
 		delayedObject.clear();
+		
+		if(pathFinder != null)
+			pathFinder.clear();
+		clearFlowFields();
+		visibility.clear();
+		kinematicSolver.clear();
+		triggers.clear();
 	}
 	
 	/**
@@ -615,31 +775,52 @@ public abstract class Stage
 						img.dispose();
 				}
 				else if(obj instanceof TextureRegion)
+				{
 					((TextureRegion)obj).getTexture().dispose();
+					ResourceTracker.released(((TextureRegion)obj).getTexture());
+				}
 				else if(obj instanceof TextureRegion[])
 				{
 					TextureRegion[] arr = (TextureRegion[]) obj;
 					for(TextureRegion img : arr)
+					{
 						img.getTexture().dispose();
+						ResourceTracker.released(img.getTexture());
+					}
 				}
 				else if(obj instanceof Pixmap)
+				{
 					((Pixmap)obj).dispose();
+					ResourceTracker.released(obj);
+				}
 				else if(obj instanceof Texture)
+				{
 					((Texture)obj).dispose();
+					ResourceTracker.released(obj);
+				}
 				else if(obj instanceof Texture[])
 				{
 					Texture[] arr = (Texture[]) obj;
 					for(Texture img : arr)
+					{
 						img.dispose();
+						ResourceTracker.released(img);
+					}
 				}
 				else if(obj instanceof ParticleEffect)
 					((ParticleEffect)obj).dispose();
 				else if(obj instanceof Disposable)
 					((Disposable)obj).dispose();
 				else if(obj instanceof Sound)
+				{
 					((Sound)obj).unload();
+					ResourceTracker.released(obj);
+				}
 				else if(obj instanceof Music)
+				{
 					((Music)obj).unload();
+					ResourceTracker.released(obj);
+				}
 				else
 					System.out.println("Unsupported type: " + obj.getClass());
 			}
@@ -651,12 +832,160 @@ public abstract class Stage
 	}
 	
 	/**
-	 * Returns the stage that is currently being played.
-	 * @return The active stage.
+	 * Returns the random number generator of the stage.<br>
+	 * The engine reseeds it every time the stage is built from scratch and saves the seed in the replay, so the same numbers are drawn when the replay is watched.<br>
+	 * Use it for everything random that affects the game play. Randomness that is only visual is better off with its own generator.
+	 * @return The random number generator.
+	 */
+	public Random getRandom()
+	{
+		return random;
+	}
+	
+	/**
+	 * Returns the stage that is being played on the current thread.<br>
+	 * Kept for code that has no other way to reach its stage. Entities that have a reference to the stage, like {@code Enemy.stage}, should use that instead.
+	 * @return The active stage, or null if no stage is played on this thread.
 	 */
 	public static Stage getCurrentStage()
 	{
-		return STAGE;
+		return STAGE.get();
+	}
+	
+	static void setCurrentStage(Stage stage)
+	{
+		if(stage == null)
+			STAGE.remove();
+		else
+			STAGE.set(stage);
+	}
+	
+	/**
+	 * Returns the navigation grid of the stage, which is built from the stage data the first time it is requested.
+	 * @return The grid.
+	 */
+	public NavGrid getNavGrid()
+	{
+		if(navGrid == null || !navGrid.isBuiltFrom(stageData))
+		{
+			clearFlowFields();
+			navGrid = new NavGrid(stageData, navCellSize);
+			pathFinder = null;
+		}
+		
+		return navGrid;
+	}
+	
+	/**
+	 * Returns the path finder of the stage, which computes the path requests of the entities under a budget every frame.
+	 * @return The path finder.
+	 */
+	public PathFinder getPathFinder()
+	{
+		NavGrid grid = getNavGrid();
+		if(pathFinder == null)
+			pathFinder = new PathFinder(grid);
+		
+		return pathFinder;
+	}
+	
+	/**
+	 * Returns the flow field toward the given target, which is shared by every entity that chases it. The field is created the first time it is requested and dropped when the stage is built.
+	 * @param target The target, typically a main character.
+	 * @return The field.
+	 */
+	public FlowField getFlowField(GameObject target)
+	{
+		FlowField field = flowFields.get(target);
+		if(field == null)
+			flowFields.put(target, field = new FlowField(getNavGrid(), target));
+		
+		return field;
+	}
+	
+	/**
+	 * Returns the trigger volumes of the stage. The volumes are removed when the stage is built, so they should be added in {@code build}.
+	 * @return The trigger volumes.
+	 */
+	public Triggers getTriggers()
+	{
+		return triggers;
+	}
+	
+	/**
+	 * Returns the regions of connected tiles of the given {@code AREA_TRIGGER} type, as their bounding rectangles. The index of a region can be used as its ID. See {@code Triggers.getRegions}.
+	 * @param tile One of the {@code AREA_TRIGGER} tiles.
+	 * @return The regions.
+	 */
+	public List<Rectangle> getTriggerRegions(byte tile)
+	{
+		return triggers.getRegions(tile);
+	}
+	
+	/**
+	 * Returns the solver that carries the riders of the platforms when {@code batchPlatforms} is enabled.
+	 * @return The solver.
+	 */
+	public KinematicSolver getKinematicSolver()
+	{
+		return kinematicSolver;
+	}
+	
+	/**
+	 * Returns the line of sight service of the stage, which remembers the lines walked by {@code GameObject.canSee} so that entities watching the same targets share the work.
+	 * @return The service.
+	 */
+	public Visibility getVisibility()
+	{
+		return visibility;
+	}
+	
+	/**
+	 * Returns the occupancy pyramid of the stage data, which is built again if {@code stageData} have been replaced.
+	 */
+	Occupancy getOccupancy()
+	{
+		if(occupancy == null || !occupancy.isBuiltFrom(stageData))
+			occupancy = new Occupancy(stageData);
+		
+		return occupancy;
+	}
+	
+	private void clearFlowFields()
+	{
+		for(FlowField field : flowFields.values())
+			field.dispose();
+		flowFields.clear();
+	}
+	
+	/**
+	 * Notifies the stage that the tiles in the given area of {@code stageData} have been modified, which keeps the navigation grid, the line of sight service, the ray casting and the trigger regions up to date.<br>
+	 * Must be called by any code that modifies the stage data after the stage has been built.
+	 * @param x The X coordinate of the area.
+	 * @param y The Y coordinate of the area.
+	 * @param width The width of the area.
+	 * @param height The height of the area.
+	 */
+	public void tilesChanged(int x, int y, int width, int height)
+	{
+		if(width > 0 && height > 0)
+		{
+			visibility.clear();
+			triggers.tilesChanged();
+			if(occupancy != null)
+				occupancy.tilesChanged(x, y, width, height);
+			if(navGrid != null)
+				navGrid.tilesChanged(x, y, width, height);
+		}
+	}
+	
+	/**
+	 * Returns the amount of entities currently in the stage.
+	 * @return The amount of entities.
+	 */
+	public int getEntityCount()
+	{
+		return stageObjects.size();
 	}
 	
 	public static GameObject readTMX(final String path)
@@ -682,7 +1011,7 @@ public abstract class Stage
 				}
 				
 				AnimatedTiledMapTile.updateAnimationBaseTime();
-				r.setView(Stage.STAGE.game.getCamera());
+				r.setView(getCurrentStage().game.getCamera());
 				r.render();
 			}
 		};
@@ -692,7 +1021,7 @@ public abstract class Stage
 	{
 		if(!mo.manualFacings)
 		{
-			Direction dir = Fundementals.getDirection(Fundementals.normalize(mo.prevX, mo.prevY, mo.loc.x, mo.loc.y));
+			Direction dir = Fundementals.getDirection(mo.prevX, mo.prevY, mo.loc.x, mo.loc.y);
 			if(dir != null)
 			{
 				if(mo.doubleFaced)
@@ -706,6 +1035,30 @@ public abstract class Stage
 		}
 	}
 
+	/**
+	 * A {@code Random} that counts the numbers drawn since it was seeded, which together with the seed identifies its state.
+	 */
+	static class StageRandom extends Random
+	{
+		private static final long serialVersionUID = 6604395261617411257L;
+		
+		long draws;
+		
+		@Override
+		public synchronized void setSeed(long seed)
+		{
+			super.setSeed(seed);
+			draws = 0;
+		}
+		
+		@Override
+		protected int next(int bits)
+		{
+			draws++;
+			return super.next(bits);
+		}
+	}
+
 	private void cloneStageData()
 	{
 		stageClone = new byte[stageData.length][stageData[0].length];
@@ -0,0 +1,111 @@
+package game.core;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * A rectangular area that notifies its listener when the watched objects enter it, stay in it and leave it.<br>
+ * Volumes are added to the stage with {@code Stage.getTriggers().add} and are tested once per frame, after all the entities have moved. Objects that have not moved since the previous frame are not tested again.<br>
+ * Use {@code Stage.getTriggerRegions} to create volumes from the {@code AREA_TRIGGER} tiles of the stage.
+ * @author Pojahn Moradi
+ *
+ */
+public class TriggerVolume
+{
+	/**
+	 * Receives the changes of the objects watched by a volume. All the methods are optional.
+	 */
+	public interface Listener
+	{
+		/**
+		 * Called the frame the object starts to overlap the volume.
+		 */
+		default void onEnter(TriggerVolume volume, GameObject go) {}
+		
+		/**
+		 * Called every frame the object keeps overlapping the volume, starting the frame after it entered.
+		 */
+		default void onStay(TriggerVolume volume, GameObject go) {}
+		
+		/**
+		 * Called the frame the object stops overlapping the volume, or when the object is no longer watched.
+		 */
+		default void onExit(TriggerVolume volume, GameObject go) {}
+	}
+	
+	final float x, y, width, height;
+	final GameObject[] subjects;
+	Listener listener;
+	int order, stamp;
+	
+	/**
+	 * Creates a volume covering the given area.
+	 * @param x The X coordinate of the area.
+	 * @param y The Y coordinate of the area.
+	 * @param width The width of the area.
+	 * @param height The height of the area.
+	 * @param listener The listener to notify.
+	 * @param subjects The objects to watch.
+	 */
+	public TriggerVolume(float x, float y, float width, float height, Listener listener, GameObject... subjects)
+	{
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.listener = listener;
+		this.subjects = subjects;
+	}
+	
+	/**
+	 * Creates a volume covering the given area.
+	 */
+	public TriggerVolume(Rectangle area, Listener listener, GameObject... subjects)
+	{
+		this(area.x, area.y, area.width, area.height, listener, subjects);
+	}
+	
+	public void setListener(Listener listener)
+	{
+		this.listener = listener;
+	}
+	
+	/**
+	 * Checks if the given object is watched by this volume.
+	 */
+	public boolean watches(GameObject go)
+	{
+		for(GameObject subject : subjects)
+			if(subject == go)
+				return true;
+		
+		return false;
+	}
+	
+	/**
+	 * Checks if the given rectangle overlaps this volume. Touching edges count as overlapping, like in {@code Fundementals.rectangleVsRectangle}.
+	 */
+	public boolean overlaps(Rectangle r)
+	{
+		return Fundementals.rectangleVsRectangle(x, y, width, height, r.x, r.y, r.width, r.height);
+	}
+	
+	public float getX()
+	{
+		return x;
+	}
+	
+	public float getY()
+	{
+		return y;
+	}
+	
+	public float getWidth()
+	{
+		return width;
+	}
+	
+	public float getHeight()
+	{
+		return height;
+	}
+}
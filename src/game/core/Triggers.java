@@ -0,0 +1,375 @@
+package game.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * The trigger volumes of a stage, see {@code TriggerVolume}.<br>
+ * The volumes are kept in a grid of 64x64 pixel cells. Every frame, each watched object that have moved is only tested against the volumes in the cells it covers, and the listeners are notified when the overlaps change.
+ * Objects that have not moved are not tested at all.<br><br>
+ *
+ * Also extracts the regions of connected {@code AREA_TRIGGER} tiles from the stage data, so that stages can create volumes from them rather than scanning the tiles their characters stand on.
+ * @author Pojahn Moradi
+ *
+ */
+public class Triggers
+{
+	private static final int CELL_SHIFT = 6;
+	private static final Comparator<TriggerVolume> ORDER = (v1, v2) -> Integer.compare(v1.order, v2.order);
+	
+	private static class Tracker
+	{
+		final GameObject go;
+		final List<TriggerVolume> inside;
+		float x, y, width, height;
+		int version = -1;
+		
+		Tracker(GameObject go)
+		{
+			this.go = go;
+			inside = new ArrayList<>(2);
+		}
+	}
+	
+	private final Stage stage;
+	private final List<TriggerVolume> volumes, candidates, exits, enters, stays;
+	private final Map<Long, List<TriggerVolume>> grid;
+	private final List<Tracker> trackers;
+	private final Map<GameObject, Tracker> trackerOf;
+	private int nextOrder, version, stamp;
+	private byte[][] regionData;
+	private List<List<Rectangle>> regions;
+	
+	Triggers(Stage stage)
+	{
+		this.stage = stage;
+		volumes = new ArrayList<>();
+		candidates = new ArrayList<>();
+		exits = new ArrayList<>();
+		enters = new ArrayList<>();
+		stays = new ArrayList<>();
+		grid = new HashMap<>();
+		trackers = new ArrayList<>();
+		trackerOf = new IdentityHashMap<>();
+	}
+	
+	/**
+	 * Adds the given volume. Its listener is notified from the next frame.
+	 */
+	public void add(TriggerVolume volume)
+	{
+		volume.order = nextOrder++;
+		volumes.add(volume);
+		
+		for(int row = cell(volume.y); row <= cell(volume.y + volume.height); row++)
+			for(int col = cell(volume.x); col <= cell(volume.x + volume.width); col++)
+				grid.computeIfAbsent(key(col, row), k -> new ArrayList<>(2)).add(volume);
+		
+		for(GameObject go : volume.subjects)
+		{
+			if(!trackerOf.containsKey(go))
+			{
+				Tracker tracker = new Tracker(go);
+				trackerOf.put(go, tracker);
+				trackers.add(tracker);
+			}
+		}
+		version++;
+	}
+	
+	/**
+	 * Removes the given volume. The objects inside it are reported as leaving it.
+	 */
+	public void remove(TriggerVolume volume)
+	{
+		if(!volumes.remove(volume))
+			return;
+		
+		for(int row = cell(volume.y); row <= cell(volume.y + volume.height); row++)
+		{
+			for(int col = cell(volume.x); col <= cell(volume.x + volume.width); col++)
+			{
+				List<TriggerVolume> list = grid.get(key(col, row));
+				if(list != null)
+					list.remove(volume);
+			}
+		}
+		
+		for(GameObject go : volume.subjects)
+		{
+			Tracker tracker = trackerOf.get(go);
+			if(tracker != null && tracker.inside.remove(volume) && volume.listener != null)
+				volume.listener.onExit(volume, go);
+		}
+		version++;
+	}
+	
+	/**
+	 * Returns the amount of volumes.
+	 */
+	public int size()
+	{
+		return volumes.size();
+	}
+	
+	/**
+	 * Tests the watched objects that have moved and notifies the listeners. Called by the stage once per frame, after all the entities have moved.
+	 */
+	void update()
+	{
+		for(int i = 0; i < trackers.size(); i++)
+		{
+			Tracker tracker = trackers.get(i);
+			Rectangle bounds = tracker.go.getBounds();
+			
+			exits.clear();
+			enters.clear();
+			stays.clear();
+			
+			if(tracker.version == version && tracker.x == bounds.x && tracker.y == bounds.y && tracker.width == bounds.width && tracker.height == bounds.height)
+				stays.addAll(tracker.inside);
+			else
+			{
+				tracker.version = version;
+				tracker.x = bounds.x;
+				tracker.y = bounds.y;
+				tracker.width = bounds.width;
+				tracker.height = bounds.height;
+				
+				findCandidates(tracker.go, bounds);
+				
+				int mark = ++stamp;
+				for(TriggerVolume volume : candidates)
+					volume.stamp = mark;
+				
+				for(TriggerVolume volume : tracker.inside)
+				{
+					if(volume.stamp == mark)
+					{
+						volume.stamp = 0;
+						stays.add(volume);
+					}
+					else
+						exits.add(volume);
+				}
+				
+				for(TriggerVolume volume : candidates)
+					if(volume.stamp == mark)
+						enters.add(volume);
+				
+				tracker.inside.clear();
+				tracker.inside.addAll(candidates);
+				Collections.sort(stays, ORDER);
+			}
+			
+			for(TriggerVolume volume : exits)
+				if(volume.listener != null)
+					volume.listener.onExit(volume, tracker.go);
+			for(TriggerVolume volume : enters)
+				if(volume.listener != null)
+					volume.listener.onEnter(volume, tracker.go);
+			for(TriggerVolume volume : stays)
+				if(volume.listener != null)
+					volume.listener.onStay(volume, tracker.go);
+		}
+	}
+	
+	/**
+	 * Removes all the volumes. Called when the stage is built.
+	 */
+	void clear()
+	{
+		volumes.clear();
+		grid.clear();
+		trackers.clear();
+		trackerOf.clear();
+		version++;
+	}
+	
+	/**
+	 * Returns the regions of connected tiles of the given type, as their bounding rectangles. Tiles are connected horizontally and vertically.<br>
+	 * The regions are ordered by the first of their tiles found when scanning the stage data row by row, so the index of a region is a stable ID as long as the stage data is the same.
+	 * The regions are extracted the first time they are requested and again after the tiles have changed.
+	 * @param tile One of the {@code AREA_TRIGGER} tiles.
+	 * @return The regions. The list should not be modified.
+	 */
+	public List<Rectangle> getRegions(byte tile)
+	{
+		if(tile < Engine.AREA_TRIGGER_0 || tile > Engine.AREA_TRIGGER_9)
+			throw new IllegalArgumentException("Not an area trigger tile: " + tile);
+		
+		if(regions == null || regionData != stage.stageData)
+		{
+			regionData = stage.stageData;
+			regions = extractRegions(regionData);
+		}
+		
+		return regions.get(tile - Engine.AREA_TRIGGER_0);
+	}
+	
+	/**
+	 * Forgets the extracted regions. Called when tiles have changed.
+	 */
+	void tilesChanged()
+	{
+		regions = null;
+	}
+	
+	private void findCandidates(GameObject go, Rectangle bounds)
+	{
+		candidates.clear();
+		int mark = ++stamp;
+		
+		for(int row = cell(bounds.y); row <= cell(bounds.y + bounds.height); row++)
+		{
+			for(int col = cell(bounds.x); col <= cell(bounds.x + bounds.width); col++)
+			{
+				List<TriggerVolume> list = grid.get(key(col, row));
+				if(list == null)
+					continue;
+				
+				for(TriggerVolume volume : list)
+				{
+					if(volume.stamp != mark)
+					{
+						volume.stamp = mark;
+						if(volume.watches(go) && volume.overlaps(bounds))
+							candidates.add(volume);
+					}
+				}
+			}
+		}
+		
+		Collections.sort(candidates, ORDER);
+	}
+	
+	private static int cell(float coord)
+	{
+		return (int)Math.floor(coord) >> CELL_SHIFT;
+	}
+	
+	private static long key(int col, int row)
+	{
+		return ((long)col << 32) | (row & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Labels the connected areas of each {@code AREA_TRIGGER} tile type, working on horizontal runs of tiles rather than single tiles.
+	 */
+	private static List<List<Rectangle>> extractRegions(byte[][] data)
+	{
+		int capacity = 64, runs = 0, prevStart = 0, prevEnd = 0;
+		int[] x0s = new int[capacity], x1s = new int[capacity], ys = new int[capacity], parent = new int[capacity];
+		byte[] tiles = new byte[capacity];
+		
+		for(int y = 0; y < data.length; y++)
+		{
+			byte[] line = data[y];
+			int rowStart = runs, p = prevStart;
+			
+			for(int x = 0; x < line.length;)
+			{
+				byte tile = line[x];
+				if(tile < Engine.AREA_TRIGGER_0 || tile > Engine.AREA_TRIGGER_9)
+				{
+					x++;
+					continue;
+				}
+				
+				int start = x;
+				while(x < line.length && line[x] == tile)
+					x++;
+				
+				if(runs == capacity)
+				{
+					capacity *= 2;
+					x0s = Arrays.copyOf(x0s, capacity);
+					x1s = Arrays.copyOf(x1s, capacity);
+					ys = Arrays.copyOf(ys, capacity);
+					parent = Arrays.copyOf(parent, capacity);
+					tiles = Arrays.copyOf(tiles, capacity);
+				}
+				
+				x0s[runs] = start;
+				x1s[runs] = x;
+				ys[runs] = y;
+				tiles[runs] = tile;
+				parent[runs] = runs;
+				
+				while(p < prevEnd && x1s[p] <= start)
+					p++;
+				for(int q = p; q < prevEnd && x0s[q] < x; q++)
+					if(tiles[q] == tile)
+						union(parent, q, runs);
+				
+				runs++;
+			}
+			
+			prevStart = rowStart;
+			prevEnd = runs;
+		}
+		
+		int[] minX = new int[runs], minY = new int[runs], maxX = new int[runs], maxY = new int[runs];
+		for(int i = 0; i < runs; i++)
+		{
+			int root = find(parent, i);
+			if(root == i)
+			{
+				minX[i] = x0s[i];
+				maxX[i] = x1s[i];
+				minY[i] = maxY[i] = ys[i];
+			}
+			else
+			{
+				minX[root] = Math.min(minX[root], x0s[i]);
+				maxX[root] = Math.max(maxX[root], x1s[i]);
+				maxY[root] = Math.max(maxY[root], ys[i]);
+			}
+		}
+		
+		List<List<Rectangle>> regions = new ArrayList<>();
+		for(int i = Engine.AREA_TRIGGER_0; i <= Engine.AREA_TRIGGER_9; i++)
+			regions.add(new ArrayList<>());
+		
+		for(int i = 0; i < runs; i++)
+			if(parent[i] == i)
+				regions.get(tiles[i] - Engine.AREA_TRIGGER_0).add(new Rectangle(minX[i], minY[i], maxX[i] - minX[i], maxY[i] - minY[i] + 1));
+		
+		for(int i = 0; i < regions.size(); i++)
+			regions.set(i, Collections.unmodifiableList(regions.get(i)));
+		
+		return regions;
+	}
+	
+	private static int find(int[] parent, int i)
+	{
+		int root = i;
+		while(parent[root] != root)
+			root = parent[root];
+		
+		while(parent[i] != root)
+		{
+			int next = parent[i];
+			parent[i] = root;
+			i = next;
+		}
+		return root;
+	}
+	
+	private static void union(int[] parent, int a, int b)
+	{
+		int rootA = find(parent, a), rootB = find(parent, b);
+		if(rootA < rootB)
+			parent[rootB] = rootA;
+		else if(rootB < rootA)
+			parent[rootA] = rootB;
+	}
+}
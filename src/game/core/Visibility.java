@@ -0,0 +1,152 @@
+package game.core;
+
+import java.util.Arrays;
+
+/**
+ * Answers line of sight queries for the entities of a stage, remembering the result of every line that has been walked.<br>
+ * Turrets and watchers typically ask the same questions every frame against the same few main characters, and a line is only walked again when one of its end points has moved to another pixel or when the tiles have changed.
+ * Use {@code Stage.getVisibility} to get the service of a stage.<br><br>
+ *
+ * The results are exactly those of {@code Fundementals.solidSpace}, so using the service does not change the outcome of a replay.
+ * This relies on {@code Stage.tilesChanged} being called by code that modifies the stage data, which empties the memory.
+ * @author Pojahn Moradi
+ *
+ */
+public class Visibility
+{
+	private static final int SIZE = 4096, MASK = SIZE - 1, LIMIT = 1 << 16;
+	private static final byte CLEAR = 1, BLOCKED = 2;
+
+	private final Stage stage;
+	private final long[] keys;
+	private final byte[] results;
+	private byte[][] data;
+	private int hits, misses;
+
+	Visibility(Stage stage)
+	{
+		this.stage = stage;
+		keys = new long[SIZE];
+		results = new byte[SIZE];
+	}
+
+	/**
+	 * Checks if there is solid space between the two points, see {@code Fundementals.solidSpace}.
+	 * @return True if there is <i>no</i> solid space between the two points.
+	 */
+	public boolean clearLine(int x0, int y0, int x1, int y1)
+	{
+		if(data != stage.stageData)
+		{
+			clear();
+			data = stage.stageData;
+		}
+
+		if(x0 < 0 || y0 < 0 || x1 < 0 || y1 < 0 || x0 >= LIMIT || y0 >= LIMIT || x1 >= LIMIT || y1 >= LIMIT)
+			return Fundementals.solidSpace(x0, y0, x1, y1);
+
+		long key = (long)x0 << 48 | (long)y0 << 32 | (long)x1 << 16 | y1;
+		int slot = (int)((key * 0x9E3779B97F4A7C15L) >>> 52) & MASK;
+
+		if(results[slot] != 0 && keys[slot] == key)
+		{
+			hits++;
+			return results[slot] == CLEAR;
+		}
+
+		misses++;
+		boolean clear = Fundementals.solidSpace(x0, y0, x1, y1);
+		keys[slot] = key;
+		results[slot] = clear ? CLEAR : BLOCKED;
+
+		return clear;
+	}
+
+	/**
+	 * Tests whether or not the watcher can see the target. See {@code GameObject.canSee}.
+	 */
+	public boolean canSee(GameObject watcher, GameObject target, GameObject.Accuracy accuracy)
+	{
+		if(!target.visible)
+			return false;
+
+		int midX1   = (int) (target.loc.x + target.width() / 2),
+			midY1   = (int) (target.loc.y + target.height() / 2),
+			midX2   = (int) (watcher.loc.x + watcher.width() / 2),
+			midY2   = (int) (watcher.loc.y + watcher.height() / 2),
+			left1   = (int) (target.loc.x),
+			left2   = (int) (watcher.loc.x),
+			right1  = (int) (target.loc.x + target.width()),
+			right2  = (int) (watcher.loc.x + watcher.width()),
+			top1    = (int) (target.loc.y),
+			top2    = (int) (watcher.loc.y),
+			bottom1 = (int) (target.loc.y + target.height()),
+			bottom2 = (int) (watcher.loc.y + watcher.height());
+
+		switch (accuracy)
+		{
+		case MID:
+			return clearLine(midX1, midY1, midX2, midY2);
+		case MID_CORNERS:
+			return clearLine(midX1, midY1, left2, top2)    ||
+				   clearLine(midX1, midY1, right2, top2)   ||
+				   clearLine(midX1, midY1, left2, bottom2) ||
+				   clearLine(midX1, midY1, right2, bottom2);
+		case REC_CORNERS:
+			return clearLine(left1, top1, left2, top2)         ||
+				   clearLine(right1, top1, right2, top2)       ||
+				   clearLine(left1, bottom1, left2, bottom2)   ||
+				   clearLine(right1, bottom1, right2, bottom2);
+		default:
+			throw new RuntimeException("The specified accuracy is not implemented yet");
+		}
+	}
+
+	/**
+	 * Returns the closest of the targets that the watcher can see from its center, or null if none of them can be seen. See {@code Fundementals.findClosestSeeable}.
+	 */
+	public GameObject closestVisible(GameObject watcher, GameObject... targets)
+	{
+		GameObject closest = null;
+		double closestLength = 0;
+
+		for (int i = 0; i < targets.length; i++)
+		{
+			if(canSee(watcher, targets[i], GameObject.Accuracy.MID))
+			{
+				double distance = Fundementals.distance(watcher, targets[i]);
+
+				if (closestLength == 0 || distance < closestLength)
+				{
+					closestLength = distance;
+					closest = targets[i];
+				}
+			}
+		}
+		return closest;
+	}
+
+	/**
+	 * Forgets every remembered line.
+	 */
+	public void clear()
+	{
+		Arrays.fill(results, (byte)0);
+	}
+
+	/**
+	 * Returns the amount of lines that were answered from memory since the service was created.
+	 */
+	public int getHits()
+	{
+		return hits;
+	}
+
+	/**
+	 * Returns the amount of lines that had to be walked since the service was created.
+	 */
+	public int getMisses()
+	{
+		return misses;
+	}
+}
@@ -0,0 +1,172 @@
+package game.development;
+
+import game.core.Engine;
+import game.core.Stage;
+import game.essentials.HighScore;
+import game.essentials.Utilities;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+
+/**
+ * Saves crash bundles and replays them.<br>
+ * When the engine crashes, the input of the current session is already recorded, since it is needed for the replay. Together with the seed, difficulty and meta of the stage, that is enough to bring the stage to the exact same state again. So recording costs nothing while playing.<br>
+ * A bundle is a directory in {@code crashes/} with the following files:<br>
+ * {@code replay.hs} - The session as a replay, from the latest restart. Restarts from checkpoints are part of the replay. Missing if the crash happened while watching a replay.<br>
+ * {@code stacktrace.txt} - The exception.<br>
+ * {@code info.txt} - The stage, difficulty, meta, seed, frame and checkpoint state at the time of the crash.<br><br>
+ *
+ * Usage: {@code CrashRecorder <bundle>...}<br>
+ * Plays the replay of each bundle headless until it crashes or ends and reports whether or not the crash was reproduced, i e if the same exception was thrown from the same place.
+ * @author Pojahn Moradi
+ *
+ */
+public class CrashRecorder
+{
+	/**
+	 * The directory bundles are saved to.
+	 */
+	public static final String CRASH_DIR = "crashes";
+
+	/**
+	 * Saves a crash bundle.
+	 * @param stageName The name of the stage, used in the name of the bundle.
+	 * @param replay The session as a replay, or null if there is none.
+	 * @param e The exception that caused the crash.
+	 * @param info Information about the state of the engine, one entry per line.
+	 * @return The path to the bundle, or null if it could not be saved.
+	 */
+	public static String save(String stageName, HighScore replay, Exception e, String info)
+	{
+		String name = stageName + " " + new SimpleDateFormat("yyyy-MM-dd HH.mm.ss").format(Calendar.getInstance().getTime());
+		File dir = new File(CRASH_DIR, name);
+		dir.mkdirs();
+
+		try(PrintWriter trace = new PrintWriter(new FileWriter(new File(dir, "stacktrace.txt")));
+			PrintWriter out = new PrintWriter(new FileWriter(new File(dir, "info.txt"))))
+		{
+			e.printStackTrace(trace);
+			out.println(info);
+			out.println("Java: " + System.getProperty("java.version") + " " + System.getProperty("java.vendor"));
+			out.println("OS: " + System.getProperty("os.name") + " " + System.getProperty("os.version"));
+		}
+		catch(IOException ioe)
+		{
+			System.err.println("Could not save the crash bundle to " + dir);
+			ioe.printStackTrace();
+			return null;
+		}
+
+		if(replay != null)
+			Utilities.exportObject(replay, new File(dir, "replay.hs").getPath());
+
+		return dir.getPath();
+	}
+
+	public static void main(String[] args)
+	{
+		if(args.length == 0)
+		{
+			System.err.println("Usage: CrashRecorder <bundle>...");
+			System.exit(2);
+		}
+
+		final int[] reproduced = new int[1];
+		Headless.run(() ->
+		{
+			for(String bundle : args)
+				if(reproduce(new File(bundle)))
+					reproduced[0]++;
+		});
+
+		System.out.println(reproduced[0] + " of " + args.length + " crashes reproduced.");
+		System.exit(reproduced[0] == args.length ? 0 : 1);
+	}
+
+	private static boolean reproduce(File bundle)
+	{
+		File replayFile = new File(bundle, "replay.hs");
+		if(!replayFile.exists())
+		{
+			System.out.println(bundle + ": no replay in the bundle.");
+			return false;
+		}
+
+		String recorded = firstLines(new File(bundle, "stacktrace.txt"));
+		HighScore hs = (HighScore) Utilities.importObject(replayFile.getPath());
+		Stage stage;
+		try
+		{
+			stage = (Stage) hs.className.newInstance();
+		}
+		catch(InstantiationException | IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		stage.setDifficulty(hs.difficulty);
+		stage.setMeta(hs.meta);
+
+		Engine engine = Engine.constructEngine(stage, hs);
+		engine.setHeadless(true);
+
+		try
+		{
+			int frames = hs.replays.isEmpty() ? 0 : hs.replays.get(0).size();
+			int ticks = 0;
+			engine.show();
+			while(engine.tick() && ticks++ < frames + ReplayValidator.GRACE_FRAMES);
+
+			System.out.println(bundle + ": not reproduced, the replay ended at frame " + engine.getFrame() + " without crashing.");
+			return false;
+		}
+		catch(Exception e)
+		{
+			StringWriter sw = new StringWriter();
+			e.printStackTrace(new PrintWriter(sw));
+			boolean same = firstLines(sw.toString()).equals(recorded);
+
+			System.out.println(bundle + ": " + (same ? "reproduced" : "crashed differently") + " at frame " + engine.getFrame() + ".");
+			e.printStackTrace(System.out);
+			return same;
+		}
+		finally
+		{
+			try
+			{
+				engine.dispose();
+			}
+			catch(Exception e)
+			{
+				System.err.println("Could not dispose the engine after " + bundle);
+			}
+		}
+	}
+
+	/**
+	 * The exception and the place it was thrown from, which identifies a crash.
+	 */
+	private static String firstLines(String trace)
+	{
+		String[] lines = trace.split("\r?\n");
+		return lines.length > 1 ? lines[0].trim() + "\n" + lines[1].trim() : lines[0].trim();
+	}
+
+	private static String firstLines(File file)
+	{
+		try
+		{
+			return firstLines(new String(Files.readAllBytes(file.toPath())));
+		}
+		catch(IOException e)
+		{
+			System.err.println("Could not read " + file);
+			return "";
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package game.development;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Engine specific events for Java Flight Recorder, which makes it possible to line up garbage collections and allocation spikes with what happened in the game.<br>
+ * All events are disabled by default and must be enabled in the recording settings, for example {@code -XX:StartFlightRecording=settings=profile,game.FrameTick#enabled=true}. A disabled event is not committed and costs next to nothing.<br>
+ * Usage: construct the event, call {@code begin}, do the work, set the fields and call {@code commit}.
+ * @author Pojahn Moradi
+ *
+ */
+public final class FlightEvents
+{
+	private FlightEvents() {}
+
+	@Name("game.FrameTick")
+	@Label("Frame Tick")
+	@Category("Game")
+	@Description("One rendered frame.")
+	@Enabled(false)
+	public static class FrameTick extends Event
+	{
+		@Label("Frame")
+		public int frame;
+
+		@Label("Entities")
+		public int entities;
+
+		@Label("Simulation Time")
+		@Timespan
+		public long simulation;
+
+		@Label("Render Time")
+		@Timespan
+		public long render;
+	}
+
+	@Name("game.StageLoad")
+	@Label("Stage Load")
+	@Category("Game")
+	@Description("Loading of a stage, or of one asset of a stage.")
+	@Enabled(false)
+	public static class StageLoad extends Event
+	{
+		@Label("Stage")
+		public String stage;
+
+		@Label("Phase")
+		@Description("init or build.")
+		public String phase;
+
+		@Label("Asset")
+		@Description("The asset loaded, or null for the entire phase.")
+		public String asset;
+	}
+
+	@Name("game.EntitySpawn")
+	@Label("Entity Spawn")
+	@Category("Game")
+	@Enabled(false)
+	public static class EntitySpawn extends Event
+	{
+		@Label("Class")
+		public Class<?> type;
+
+		@Label("Z-Index")
+		public int zIndex;
+	}
+
+	@Name("game.EntityDiscard")
+	@Label("Entity Discard")
+	@Category("Game")
+	@Enabled(false)
+	public static class EntityDiscard extends Event
+	{
+		@Label("Class")
+		public Class<?> type;
+
+		@Label("Z-Index")
+		public int zIndex;
+	}
+
+	@Name("game.ReplaySave")
+	@Label("Replay Save")
+	@Category("Game")
+	@Enabled(false)
+	public static class ReplaySave extends Event
+	{
+		@Label("Path")
+		public String path;
+
+		@Label("Size")
+		@DataAmount
+		public long bytes;
+	}
+
+	@Name("game.ReplayLoad")
+	@Label("Replay Load")
+	@Category("Game")
+	@Enabled(false)
+	public static class ReplayLoad extends Event
+	{
+		@Label("Path")
+		public String path;
+
+		@Label("Size")
+		@DataAmount
+		public long bytes;
+	}
+
+	@Name("game.Crash")
+	@Label("Crash")
+	@Category("Game")
+	@Description("An exception that stopped the game.")
+	@Enabled(false)
+	public static class Crash extends Event
+	{
+		@Label("Stage")
+		public String stage;
+
+		@Label("Exception")
+		public String exception;
+
+		@Label("Stack Trace")
+		public String stackTrace;
+	}
+}
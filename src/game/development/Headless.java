@@ -0,0 +1,89 @@
+package game.development;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CountDownLatch;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * Boots libGDX without a window, which allow stages to be loaded and simulated from command line tools.<br>
+ * There is no OpenGL context, so every GL call is answered by a stub that does nothing. Textures and fonts can still be loaded since their pixel data is decoded by the native libraries, but nothing can be rendered.
+ * @author Pojahn Moradi
+ *
+ */
+public class Headless
+{
+	/**
+	 * Starts a headless application, executes the given task on its thread and shuts the application down again.<br>
+	 * The function blocks until the task is done.
+	 * @param task The task to execute.
+	 */
+	public static void run(final Runnable task)
+	{
+		final CountDownLatch done = new CountDownLatch(1);
+		final RuntimeException[] error = new RuntimeException[1];
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = -1;
+
+		new HeadlessApplication(new ApplicationAdapter()
+		{
+			@Override
+			public void create()
+			{
+				Gdx.gl = Gdx.gl20 = createGL();
+
+				try
+				{
+					task.run();
+				}
+				catch(RuntimeException e)
+				{
+					error[0] = e;
+				}
+				finally
+				{
+					done.countDown();
+					Gdx.app.exit();
+				}
+			}
+		}, config);
+
+		try
+		{
+			done.await();
+		}
+		catch(InterruptedException e)
+		{
+			throw new RuntimeException(e);
+		}
+
+		if(error[0] != null)
+			throw error[0];
+	}
+
+	private static GL20 createGL()
+	{
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, (proxy, method, args) ->
+		{
+			if(method.getName().equals("glCheckFramebufferStatus"))
+				return GL20.GL_FRAMEBUFFER_COMPLETE;
+
+			Class<?> type = method.getReturnType();
+			if(type == boolean.class)
+				return false;
+			else if(type == int.class)
+				return 0;
+			else if(type == float.class)
+				return 0f;
+			else if(type == String.class)
+				return "";
+
+			return null;
+		});
+	}
+}
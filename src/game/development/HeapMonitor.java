@@ -0,0 +1,305 @@
+package game.development;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Monitors the memory usage of a running stage: the bytes allocated by the game thread each frame, every garbage collection and the growth of the old generation.<br>
+ * The numbers are shown as an overlay and written to {@code logs/heap.log}, along with a summary of every stage session, i e the time between two restarts.<br><br>
+ *
+ * The old generation is measured after the latest collection at every restart. If it has grown more than {@code leakThreshold} bytes since the end of the first session, the heap is dumped to {@code dumps/} once, as the stage is probably leaking.
+ * The threshold is read from the system property {@code heap.leakThreshold}, in megabytes.
+ * @author Pojahn Moradi
+ *
+ */
+public class HeapMonitor
+{
+	/**
+	 * The amount of frames to keep.
+	 */
+	public static final int HISTORY = 600;
+
+	private static final int REFRESH = 30;
+
+	/**
+	 * The old generation growth across restarts, in bytes, that triggers a heap dump.
+	 */
+	public long leakThreshold = Long.getLong("heap.leakThreshold", 64) * 1024 * 1024;
+
+	private final String stageName;
+	private final ThreadMXBean threads;
+	private final List<MemoryPoolMXBean> oldPools;
+	private final List<NotificationEmitter> emitters;
+	private final NotificationListener listener;
+	private final ConcurrentLinkedQueue<GarbageCollectionNotificationInfo> collections;
+	private final long[] allocated, sorted;
+	private final List<String> overlay;
+	private final PrintWriter log;
+	private long lastAllocated, sessionAllocated, gcTime, sessionGcTime, maxPause, lastPause, sessionStart, baseline;
+	private int cursor, recorded, frames, sessionFrames, sessions, gcCount, sessionGcCount;
+	private boolean dumped;
+
+	/**
+	 * Starts monitoring. Must be created on the thread that runs the game.
+	 * @param stageName The name of the stage, used in the log and in the name of heap dumps.
+	 */
+	public HeapMonitor(String stageName)
+	{
+		this.stageName = stageName;
+
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		threads = bean instanceof ThreadMXBean && ((ThreadMXBean)bean).isThreadAllocatedMemorySupported() ? (ThreadMXBean)bean : null;
+		if(threads != null)
+		{
+			threads.setThreadAllocatedMemoryEnabled(true);
+			lastAllocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+
+		oldPools = new ArrayList<>();
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if(pool.getType() == MemoryType.HEAP && !pool.getName().contains("Eden") && !pool.getName().contains("Survivor"))
+				oldPools.add(pool);
+
+		collections = new ConcurrentLinkedQueue<>();
+		listener = (Notification notification, Object handback) ->
+		{
+			if(notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION))
+				collections.add(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()));
+		};
+		emitters = new ArrayList<>();
+		for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			if(gc instanceof NotificationEmitter)
+			{
+				NotificationEmitter emitter = (NotificationEmitter) gc;
+				emitter.addNotificationListener(listener, null, null);
+				emitters.add(emitter);
+			}
+		}
+
+		allocated = new long[HISTORY];
+		sorted = new long[HISTORY];
+		overlay = new ArrayList<>();
+		log = openLog();
+		sessionStart = oldGeneration();
+
+		write("Monitoring " + stageName + ", old generation " + mb(sessionStart) + " MB");
+	}
+
+	/**
+	 * Records one frame. Called once per frame on the game thread.
+	 */
+	public void frame()
+	{
+		if(threads != null)
+		{
+			long bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			cursor = (cursor + 1) % HISTORY;
+			recorded = Math.min(recorded + 1, HISTORY);
+			allocated[cursor] = bytes - lastAllocated;
+			sessionAllocated += bytes - lastAllocated;
+			lastAllocated = bytes;
+		}
+		sessionFrames++;
+
+		GarbageCollectionNotificationInfo info;
+		while((info = collections.poll()) != null)
+		{
+			long duration = info.getGcInfo().getDuration();
+			gcCount++;
+			sessionGcCount++;
+			gcTime += duration;
+			sessionGcTime += duration;
+			lastPause = duration;
+			maxPause = Math.max(maxPause, duration);
+
+			write(info.getGcName() + ": " + info.getGcAction() + " (" + info.getGcCause() + ") " + duration + " ms");
+		}
+
+		if(++frames % REFRESH == 0)
+			refreshOverlay();
+	}
+
+	/**
+	 * Ends the current stage session and starts a new one. Called when the stage is restarted.<br>
+	 * This is where the old generation is compared to the first session, and where the heap is dumped if it has grown too much.
+	 */
+	public void stageRestarted()
+	{
+		long oldGen = oldGeneration();
+		sessions++;
+
+		write(String.format("Session %d: %d frames, %d bytes/frame, %d GCs, %d ms GC time, old generation %d -> %d MB",
+							sessions, sessionFrames, sessionFrames == 0 ? 0 : sessionAllocated / sessionFrames, sessionGcCount, sessionGcTime, mb(sessionStart), mb(oldGen)));
+
+		if(sessions == 1)
+			baseline = oldGen;
+		else if(!dumped && oldGen - baseline > leakThreshold)
+		{
+			System.gc();
+			oldGen = oldGeneration();
+
+			if(oldGen - baseline > leakThreshold)
+			{
+				dumped = true;
+				String path = dumpHeap(stageName);
+				write("The old generation grew from " + mb(baseline) + " to " + mb(oldGen) + " MB across " + (sessions - 1) + " restarts. Heap dumped to " + path);
+				System.err.println("Possible memory leak in " + stageName + ", heap dumped to " + path);
+			}
+		}
+
+		sessionStart = oldGen;
+		sessionFrames = sessionGcCount = 0;
+		sessionAllocated = sessionGcTime = 0;
+	}
+
+	/**
+	 * Draws the statistics. The batch should use the HUD camera.
+	 */
+	public void render(SpriteBatch batch, BitmapFont font, float x, float y)
+	{
+		font.setColor(Color.WHITE);
+
+		for(String line : overlay)
+		{
+			font.draw(batch, line, x, y);
+			y += 18;
+		}
+	}
+
+	/**
+	 * Stops monitoring and closes the log.
+	 */
+	public void close()
+	{
+		stageRestarted();
+
+		for(NotificationEmitter emitter : emitters)
+		{
+			try
+			{
+				emitter.removeNotificationListener(listener);
+			}
+			catch(ListenerNotFoundException e)
+			{
+				e.printStackTrace();
+			}
+		}
+
+		if(log != null)
+			log.close();
+	}
+
+	/**
+	 * Dumps the live objects of the heap to {@code dumps/}, to be opened in a heap analyzer.
+	 * @param name The name of the dump, such as the name of the stage.
+	 * @return The path to the dump, or null if the heap could not be dumped.
+	 */
+	public static String dumpHeap(String name)
+	{
+		new File("dumps").mkdirs();
+		String path = "dumps/" + name + " " + new SimpleDateFormat("yyyy-MM-dd HH.mm.ss").format(Calendar.getInstance().getTime()) + ".hprof";
+
+		try
+		{
+			ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class).dumpHeap(path, true);
+		}
+		catch(IOException | IllegalArgumentException e)
+		{
+			System.err.println("Could not dump the heap to " + path);
+			e.printStackTrace();
+			return null;
+		}
+
+		return path;
+	}
+
+	private void refreshOverlay()
+	{
+		overlay.clear();
+
+		if(threads == null)
+			overlay.add("Allocation tracking not supported");
+		else
+		{
+			System.arraycopy(allocated, 0, sorted, 0, HISTORY);
+			Arrays.sort(sorted);
+			int offset = HISTORY - recorded;
+			overlay.add(String.format("Alloc/frame  p50 %6.1f KB  max %6.1f KB", sorted[offset + recorded / 2] / 1024.0, sorted[HISTORY - 1] / 1024.0));
+		}
+
+		MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+		overlay.add(String.format("Heap  %d / %d MB", mb(heap.getUsed()), mb(heap.getCommitted())));
+		overlay.add(String.format("Old gen  %d MB, session start %d MB", mb(oldGeneration()), mb(sessionStart)));
+		overlay.add(String.format("GC  %d runs, %d ms total", gcCount, gcTime));
+		overlay.add(String.format("GC pause  last %d ms, max %d ms", lastPause, maxPause));
+		overlay.add(String.format("Native resources  %d, %d MB", ResourceTracker.liveCount(), mb(ResourceTracker.liveBytes())));
+	}
+
+	/**
+	 * The used bytes of the old generation after the latest collection, or the current usage for pools that do not report it.
+	 */
+	private long oldGeneration()
+	{
+		long used = 0;
+		for(MemoryPoolMXBean pool : oldPools)
+		{
+			MemoryUsage usage = pool.getCollectionUsage();
+			used += (usage != null ? usage : pool.getUsage()).getUsed();
+		}
+
+		return used;
+	}
+
+	private void write(String line)
+	{
+		if(log != null)
+			log.println(new SimpleDateFormat("HH:mm:ss.SSS").format(Calendar.getInstance().getTime()) + " " + line);
+	}
+
+	private static PrintWriter openLog()
+	{
+		try
+		{
+			new File("logs").mkdirs();
+			return new PrintWriter(new FileWriter("logs/heap.log", true), true);
+		}
+		catch(IOException e)
+		{
+			System.err.println("Could not open logs/heap.log");
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private static long mb(long bytes)
+	{
+		return bytes / (1024 * 1024);
+	}
+}
@@ -0,0 +1,361 @@
+package game.development;
+
+import game.core.Engine;
+import game.core.Stage;
+import game.core.Stage.Difficulty;
+import game.essentials.HighScore;
+import game.essentials.ScoreStore;
+import game.essentials.ScoreStore.Record;
+import game.essentials.Utilities;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import ui.accessories.StageReader;
+
+/**
+ * Macro benchmark that plays a canonical replay of every stage headless and fails when a stage has become slower or allocates more than before.<br>
+ * Usage: {@code PerformanceSuite [-replays dir] [-baseline file] [-warmup frames] [-frames frames] [-time-threshold fraction] [-alloc-threshold fraction] [-update] [stage name]...}<br><br>
+ *
+ * The replay of a stage is read from {@code <replays dir>/<stage class name>.hs}(default {@code benchmarks/}). If there is no such file, the fastest completion found in the high score store is used instead, and stages without any replay are skipped.<br>
+ * Each stage runs in its own process, one after another, so that the stages do not share heap or JIT state. After {@code warmup} frames, {@code frames} frames are measured. The replay is restarted whenever it ends.<br><br>
+ *
+ * For every stage, the simulation time of each frame is collected into a histogram, together with the allocated bytes per frame and the peak heap usage. The results are written to {@code perf/latest.tsv}.<br>
+ * With {@code -update}, the results are saved as the new baseline. Otherwise, they are compared with the baseline and the suite exits with code 1 if the p99 frame time or the allocation rate of any stage grew by more than the threshold(default 20%).
+ * @author Pojahn Moradi
+ *
+ */
+public class PerformanceSuite
+{
+	/**
+	 * The upper bounds, in microseconds, of the buckets in the frame time histogram. The last bucket holds everything above.
+	 */
+	public static final int[] BUCKETS = {250, 500, 1000, 2000, 4000, 8000, 16000, 33000};
+
+	/**
+	 * Differences in p99 frame time below this amount of microseconds are never reported as regressions, as they are within the noise.
+	 */
+	public static final double TIME_SLACK = 50;
+
+	/**
+	 * Differences in allocated bytes per frame below this amount are never reported as regressions.
+	 */
+	public static final double ALLOC_SLACK = 1024;
+
+	private static final String RESULT_TAG = "RESULT\t";
+	private static final String HEADER = "stage\tframes\tp50_us\tp90_us\tp99_us\tmax_us\talloc_bytes_per_frame\tpeak_heap_bytes\thistogram";
+
+	public static void main(String[] args) throws Exception
+	{
+		File replays = new File("benchmarks"), baseline = new File("perf/baseline.tsv");
+		int warmup = 600, frames = 3600;
+		double timeThreshold = .2, allocThreshold = .2;
+		boolean update = false;
+		List<String> only = new LinkedList<>();
+
+		for(int i = 0; i < args.length; i++)
+		{
+			switch(args[i])
+			{
+				case "-replays":
+					replays = new File(args[++i]);
+					break;
+				case "-baseline":
+					baseline = new File(args[++i]);
+					break;
+				case "-warmup":
+					warmup = Integer.parseInt(args[++i]);
+					break;
+				case "-frames":
+					frames = Integer.parseInt(args[++i]);
+					break;
+				case "-time-threshold":
+					timeThreshold = Double.parseDouble(args[++i]);
+					break;
+				case "-alloc-threshold":
+					allocThreshold = Double.parseDouble(args[++i]);
+					break;
+				case "-update":
+					update = true;
+					break;
+				case "-worker":
+					runWorker(args[i + 1], Integer.parseInt(args[i + 2]), Integer.parseInt(args[i + 3]));
+					return;
+				default:
+					if(args[i].startsWith("-"))
+					{
+						System.err.println("Usage: PerformanceSuite [-replays dir] [-baseline file] [-warmup frames] [-frames frames] [-time-threshold fraction] [-alloc-threshold fraction] [-update] [stage name]...");
+						System.exit(2);
+					}
+					only.add(args[i]);
+			}
+		}
+
+		Map<String, String[]> results = new LinkedHashMap<>();
+		int failures = 0;
+
+		for(Class<? extends Stage> stage : StageReader.loadAll())
+		{
+			if(!only.isEmpty() && !only.contains(stage.getSimpleName()))
+				continue;
+
+			String replay = findReplay(stage, replays);
+			if(replay == null)
+			{
+				System.out.println(String.format("%-20s skipped, no replay found.", stage.getSimpleName()));
+				continue;
+			}
+
+			String[] result = runStage(replay, warmup, frames);
+			if(result == null)
+			{
+				System.out.println(String.format("%-20s FAILED, see the error output.", stage.getSimpleName()));
+				failures++;
+			}
+			else
+			{
+				results.put(stage.getSimpleName(), result);
+				System.out.println(String.format("%-20s p50 %6s us, p99 %6s us, max %6s us, %9s bytes/frame, peak heap %5d MB", stage.getSimpleName(), result[2], result[4], result[5], result[6], Long.parseLong(result[7]) / (1024 * 1024)));
+			}
+		}
+
+		new File("perf").mkdirs();
+		write(new File("perf/latest.tsv"), results);
+
+		if(update)
+		{
+			write(baseline, results);
+			System.out.println("Saved the baseline to " + baseline);
+		}
+		else if(baseline.exists())
+			failures += compare(read(baseline), results, timeThreshold, allocThreshold);
+		else
+			System.out.println("No baseline found at " + baseline + ". Run with -update to create one.");
+
+		System.exit(failures > 0 ? 1 : 0);
+	}
+
+	private static String findReplay(Class<? extends Stage> stage, File replays)
+	{
+		File file = new File(replays, stage.getSimpleName() + ".hs");
+		if(file.isFile())
+			return file.getPath();
+
+		for(Difficulty difficulty : new Difficulty[]{null, Difficulty.EASY, Difficulty.NORMAL, Difficulty.HARD})
+		{
+			List<Record> top = ScoreStore.get().top(stage, difficulty, 1);
+			if(!top.isEmpty())
+				return top.get(0).file;
+		}
+
+		return null;
+	}
+
+	private static String[] runStage(String replay, int warmup, int frames)
+	{
+		try
+		{
+			ProcessBuilder pb = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+												   "-Djava.library.path=" + System.getProperty("java.library.path"),
+												   "-cp",
+												   System.getProperty("java.class.path"),
+												   PerformanceSuite.class.getName(),
+												   "-worker",
+												   replay,
+												   String.valueOf(warmup),
+												   String.valueOf(frames));
+			pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+			Process process = pb.start();
+			process.getOutputStream().close();
+
+			String[] result = null;
+			BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream()));
+			String line;
+			while((line = in.readLine()) != null)
+				if(line.startsWith(RESULT_TAG))
+					result = line.substring(RESULT_TAG.length()).split("\t");
+			in.close();
+
+			return process.waitFor() == 0 ? result : null;
+		}
+		catch(IOException | InterruptedException e)
+		{
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private static int compare(Map<String, String[]> baseline, Map<String, String[]> results, double timeThreshold, double allocThreshold)
+	{
+		int regressions = 0;
+		for(Map.Entry<String, String[]> entry : results.entrySet())
+		{
+			String[] before = baseline.get(entry.getKey());
+			if(before == null)
+			{
+				System.out.println(String.format("%-20s has no baseline.", entry.getKey()));
+				continue;
+			}
+
+			String[] after = entry.getValue();
+			double p99Before = Double.parseDouble(before[4]), p99After = Double.parseDouble(after[4]);
+			double allocBefore = Double.parseDouble(before[6]), allocAfter = Double.parseDouble(after[6]);
+
+			if(p99After > p99Before * (1 + timeThreshold) && p99After - p99Before > TIME_SLACK)
+			{
+				System.out.println(String.format("REGRESSION %-20s p99 frame time %s us -> %s us(+%.0f%%)", entry.getKey(), before[4], after[4], (p99After / p99Before - 1) * 100));
+				regressions++;
+			}
+			if(allocAfter > allocBefore * (1 + allocThreshold) && allocAfter - allocBefore > ALLOC_SLACK)
+			{
+				System.out.println(String.format("REGRESSION %-20s allocation rate %s -> %s bytes/frame(+%.0f%%)", entry.getKey(), before[6], after[6], (allocAfter / Math.max(1, allocBefore) - 1) * 100));
+				regressions++;
+			}
+		}
+
+		System.out.println(regressions == 0 ? "No regressions." : regressions + " regression(s).");
+		return regressions;
+	}
+
+	private static void write(File file, Map<String, String[]> results) throws IOException
+	{
+		if(file.getParentFile() != null)
+			file.getParentFile().mkdirs();
+
+		try(PrintWriter out = new PrintWriter(new FileWriter(file)))
+		{
+			out.println(HEADER);
+			for(Map.Entry<String, String[]> entry : results.entrySet())
+			{
+				String[] result = entry.getValue().clone();
+				result[0] = entry.getKey();
+				out.println(String.join("\t", result));
+			}
+		}
+	}
+
+	private static Map<String, String[]> read(File file) throws IOException
+	{
+		Map<String, String[]> results = new HashMap<>();
+		try(BufferedReader in = new BufferedReader(new FileReader(file)))
+		{
+			String line = in.readLine();
+			while((line = in.readLine()) != null)
+			{
+				String[] result = line.split("\t");
+				if(result.length >= 8)
+					results.put(result[0], result);
+			}
+		}
+
+		return results;
+	}
+
+	private static void runWorker(final String path, final int warmup, final int frames)
+	{
+		Headless.run(() ->
+		{
+			HighScore hs = load(path);
+			Stage stage;
+			try
+			{
+				stage = (Stage) hs.className.newInstance();
+			}
+			catch(InstantiationException | IllegalAccessException e)
+			{
+				throw new RuntimeException(e);
+			}
+			stage.setDifficulty(hs.difficulty);
+			stage.setMeta(hs.meta);
+
+			Engine engine = Engine.constructEngine(stage, hs);
+			engine.setHeadless(true);
+			engine.show();
+
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			long thread = Thread.currentThread().getId();
+			long[] times = new long[frames];
+			long allocated = 0;
+
+			for(int i = -warmup; i < frames; i++)
+			{
+				if(i == 0)
+				{
+					System.gc();
+					for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+						if(pool.getType() == MemoryType.HEAP)
+							pool.resetPeakUsage();
+				}
+
+				long bytes = threads.getThreadAllocatedBytes(thread);
+				long start = System.nanoTime();
+				boolean running = engine.tick();
+				long time = System.nanoTime() - start;
+
+				if(i >= 0)
+				{
+					times[i] = time;
+					allocated += threads.getThreadAllocatedBytes(thread) - bytes;
+				}
+
+				if(!running)
+				{
+					stage.setMeta(hs.meta);
+					engine.restartReplay(load(path));
+				}
+			}
+
+			long peak = 0;
+			for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+				if(pool.getType() == MemoryType.HEAP)
+					peak += pool.getPeakUsage().getUsed();
+
+			engine.dispose();
+
+			int[] histogram = new int[BUCKETS.length + 1];
+			for(long time : times)
+			{
+				int bucket = 0;
+				while(bucket < BUCKETS.length && time / 1000 > BUCKETS[bucket])
+					bucket++;
+				histogram[bucket]++;
+			}
+
+			Arrays.sort(times);
+			StringBuilder bu = new StringBuilder();
+			for(int i = 0; i < histogram.length; i++)
+				bu.append(i == 0 ? "" : ",").append(histogram[i]);
+
+			System.out.println(RESULT_TAG + hs.className.getSimpleName() + "\t" + frames + "\t" + percentile(times, .5) + "\t" + percentile(times, .9) + "\t" + percentile(times, .99) + "\t" + times[frames - 1] / 1000 + "\t" + allocated / frames + "\t" + peak + "\t" + bu);
+			System.out.flush();
+		});
+	}
+
+	private static HighScore load(String path)
+	{
+		Object obj = Utilities.importObject(path);
+		if(!(obj instanceof HighScore) || ((HighScore)obj).className == null || ((HighScore)obj).replays == null)
+			throw new IllegalStateException(path + " is not a replay file.");
+
+		return (HighScore) obj;
+	}
+
+	private static long percentile(long[] sorted, double p)
+	{
+		return sorted[Math.min(sorted.length - 1, (int)(sorted.length * p))] / 1000;
+	}
+}
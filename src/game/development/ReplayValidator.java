@@ -0,0 +1,258 @@
+package game.development;
+
+import game.core.Engine;
+import game.core.Engine.GameState;
+import game.core.Stage;
+import game.core.Stage.Difficulty;
+import game.essentials.HighScore;
+import game.essentials.Utilities;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import pjjava.misc.OtherMath;
+
+/**
+ * Command line tool that verifies replays by simulating them headless and comparing the outcome with what the replay claims.<br>
+ * Usage: {@code ReplayValidator [-workers n] [-tolerance seconds] <file or directory>...}<br><br>
+ *
+ * libGDX is booted headless once and the replay files are spread over several worker threads, one per core unless {@code -workers} is given.<br>
+ * Each worker has an engine of its own and plays its replays back to back. Consecutive replays of the same stage and difficulty reuses the loaded stage.<br><br>
+ *
+ * A replay is a mismatch as soon as the game state differ from a state checksum saved in the replay. Otherwise, it is a mismatch if the simulated result differ from the recorded one, if the stage is finished before all input was consumed(or the other way around) or if the recorded time is lower than what the input allow.<br>
+ * The frame where the simulation diverged from the recording is reported for mismatches.
+ * @author Pojahn Moradi
+ *
+ */
+public class ReplayValidator
+{
+	/**
+	 * The amount of frames to keep simulating after the recorded input have run out.
+	 */
+	public static final int GRACE_FRAMES = 300;
+
+	private int matches, mismatches, errors;
+
+	public static void main(String[] args) throws Exception
+	{
+		int workers = Runtime.getRuntime().availableProcessors();
+		double tolerance = .1;
+		List<File> files = new LinkedList<>();
+
+		for(int i = 0; i < args.length; i++)
+		{
+			switch(args[i])
+			{
+				case "-workers":
+					workers = Integer.parseInt(args[++i]);
+					break;
+				case "-tolerance":
+					tolerance = Double.parseDouble(args[++i]);
+					break;
+				default:
+					if(args[i].startsWith("-"))
+					{
+						System.err.println("Unknown option: " + args[i]);
+						System.exit(2);
+					}
+					collect(new File(args[i]), files);
+			}
+		}
+
+		if(files.isEmpty())
+		{
+			System.err.println("Usage: ReplayValidator [-workers n] [-tolerance seconds] <file or directory>...");
+			System.exit(2);
+		}
+		else
+		{
+			ReplayValidator validator = new ReplayValidator();
+			long start = System.currentTimeMillis();
+			validator.validate(files, Math.max(1, workers), tolerance);
+
+			System.out.println("Validated " + files.size() + " replays in " + OtherMath.round((System.currentTimeMillis() - start) / 1000.0, 1) + " sec: " + validator.matches + " matched, " + validator.mismatches + " mismatched, " + validator.errors + " failed.");
+			System.exit(validator.mismatches + validator.errors > 0 ? 1 : 0);
+		}
+	}
+
+	private static void collect(File file, List<File> files)
+	{
+		if(file.isDirectory())
+		{
+			File[] children = file.listFiles();
+			if(children != null)
+				for(File child : children)
+					collect(child, files);
+		}
+		else if(file.getName().endsWith(".hs"))
+			files.add(file);
+	}
+
+	private void validate(List<File> files, int workers, double tolerance)
+	{
+		File[] sorted = files.toArray(new File[files.size()]);
+		Arrays.sort(sorted);
+		final int theWorkers = Math.min(workers, sorted.length);
+
+		Headless.run(() ->
+		{
+			Thread[] threads = new Thread[theWorkers];
+			for(int i = 0; i < theWorkers; i++)
+			{
+				final File[] chunk = Arrays.copyOfRange(sorted, i * sorted.length / theWorkers, (i + 1) * sorted.length / theWorkers);
+				threads[i] = new Thread(() -> runChunk(chunk, tolerance), "Validator " + i);
+				threads[i].start();
+			}
+
+			try
+			{
+				for(Thread thread : threads)
+					thread.join();
+			}
+			catch(InterruptedException e)
+			{
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
+	private void runChunk(File[] chunk, double tolerance)
+	{
+		Simulator sim = new Simulator();
+		int done = 0;
+		try
+		{
+			for(File file : chunk)
+			{
+				String[] result;
+				try
+				{
+					result = sim.validate(file.getPath(), tolerance);
+				}
+				catch(Exception e)
+				{
+					e.printStackTrace();
+					sim.unload();
+					result = new String[]{"ERROR", e.toString()};
+				}
+
+				report(result[0], file.getPath(), result[1]);
+				done++;
+			}
+		}
+		finally
+		{
+			sim.unload();
+			for(int i = done; i < chunk.length; i++)
+				report("ERROR", chunk[i].getPath(), "The worker died before the replay was validated.");
+		}
+	}
+
+	private synchronized void report(String status, String path, String message)
+	{
+		if(status.equals("MATCH"))
+			matches++;
+		else if(status.equals("MISMATCH"))
+			mismatches++;
+		else
+			errors++;
+
+		System.out.println(String.format("%-8s %s: %s", status, path, message));
+	}
+
+	private static class Simulator
+	{
+		Engine engine;
+		Stage stage;
+		Difficulty difficulty;
+
+		String[] validate(String path, double tolerance) throws Exception
+		{
+			Object obj = Utilities.importObject(path);
+			if(!(obj instanceof HighScore) || ((HighScore)obj).className == null || ((HighScore)obj).replays == null)
+				return new String[]{"ERROR", "Not a replay file."};
+
+			HighScore hs = (HighScore) obj;
+			load(hs);
+
+			int recorded = engine.getRemainingReplayFrames();
+			int frames = 0, exhausted = -1;
+			boolean running = true;
+
+			while(running && frames < recorded + GRACE_FRAMES)
+			{
+				running = engine.tick();
+				frames++;
+
+				if(exhausted == -1 && engine.getRemainingReplayFrames() == 0)
+					exhausted = frames;
+				if(engine.getDesync() != null)
+					return new String[]{"MISMATCH", hs.stageName + " " + hs.difficulty + ", recorded " + hs.result + " in " + hs.time + " sec. Diverged at " + engine.getDesync() + "."};
+			}
+
+			String result = engine.getGlobalState() == GameState.COMPLETED ? "Victorious" : "Death";
+			double time = OtherMath.round((double)engine.elapsedTime/1000, 1);
+			int leftover = engine.getRemainingReplayFrames();
+			String summary = hs.stageName + " " + hs.difficulty + ", recorded " + hs.result + " in " + hs.time + " sec(" + recorded + " frames), simulated ";
+
+			if(running)
+				return new String[]{"MISMATCH", summary + "no outcome after " + frames + " frames. Diverged at frame " + exhausted + "."};
+
+			summary += result + " in " + time + " sec(" + frames + " frames)";
+
+			if(!result.equals(hs.result))
+				return new String[]{"MISMATCH", summary + ". Diverged at frame " + (exhausted == -1 ? frames : Math.min(exhausted, frames)) + "."};
+			else if(leftover > 1)
+				return new String[]{"MISMATCH", summary + " with " + leftover + " unused input frames. Diverged at frame " + frames + "."};
+			else if(exhausted != -1 && frames - exhausted > 1)
+				return new String[]{"MISMATCH", summary + " but the input ran out. Diverged at frame " + exhausted + "."};
+			else if(hs.time < time - tolerance)
+				return new String[]{"MISMATCH", summary + ". The recorded time is lower than what the input allow."};
+
+			return new String[]{"MATCH", summary + "."};
+		}
+
+		void load(HighScore hs) throws Exception
+		{
+			if(stage != null && stage.getClass() == hs.className && difficulty == hs.difficulty)
+			{
+				stage.setMeta(hs.meta);
+				engine.restartReplay(hs);
+			}
+			else
+			{
+				unload();
+
+				stage = (Stage) hs.className.newInstance();
+				stage.setDifficulty(hs.difficulty);
+				stage.setMeta(hs.meta);
+				difficulty = hs.difficulty;
+
+				engine = Engine.constructEngine(stage, hs);
+				engine.setHeadless(true);
+				engine.show();
+			}
+		}
+
+		void unload()
+		{
+			if(engine != null)
+			{
+				try
+				{
+					engine.dispose();
+				}
+				catch(Exception e)
+				{
+					e.printStackTrace();
+				}
+			}
+
+			engine = null;
+			stage = null;
+			difficulty = null;
+		}
+	}
+}
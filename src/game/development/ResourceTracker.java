@@ -0,0 +1,243 @@
+package game.development;
+
+import game.core.Stage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import kuusisto.tinysound.Music;
+import kuusisto.tinysound.Sound;
+import kuusisto.tinysound.TinySound;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+
+/**
+ * Keeps track of every native resource that is alive, i e textures, pixmaps, sounds, music and the pixel data of {@code Image2D}, to find resources that are never disposed.<br>
+ * Every resource is registered with the place it was allocated at, its size and the stage that was running at the time. {@code Stage.disposeBatch} and {@code Image2D.dispose} unregister them, as should any other code that disposes a tracked resource.
+ * Textures that were disposed directly are detected and dropped when reporting.<br><br>
+ *
+ * {@code Engine.dispose} lists the resources of the stage that are still resident. Sizes of sounds and music are estimated from the file size.<br>
+ * Tracking is on by default and can be turned off with {@code -Dresources.track=false}.
+ * @author Pojahn Moradi
+ *
+ */
+public final class ResourceTracker
+{
+	private static class Entry
+	{
+		final String type, owner, site;
+		final long bytes;
+
+		Entry(String type, String owner, String site, long bytes)
+		{
+			this.type = type;
+			this.owner = owner;
+			this.site = site;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * Whether or not new resources are tracked.
+	 */
+	public static boolean enabled = !"false".equals(System.getProperty("resources.track"));
+
+	private static final String GLOBAL = "(no stage)";
+	private static final Map<Object, Entry> LIVE = new IdentityHashMap<>();
+	private static long liveBytes;
+
+	private ResourceTracker() {}
+
+	/**
+	 * Registers the given texture, pixmap, sound or music.
+	 * @param resource The resource.
+	 * @return {@code resource}
+	 */
+	public static <T> T track(T resource)
+	{
+		if(resource instanceof Texture)
+		{
+			Texture texture = (Texture) resource;
+			track(texture, "Texture " + texture.getWidth() + "x" + texture.getHeight(), texture.getWidth() * texture.getHeight() * 4L);
+		}
+		else if(resource instanceof Pixmap)
+		{
+			Pixmap pixmap = (Pixmap) resource;
+			track(pixmap, "Pixmap " + pixmap.getWidth() + "x" + pixmap.getHeight(), pixmap.getPixels().capacity());
+		}
+		else if(resource instanceof Sound)
+			track(resource, "Sound", 0);
+		else if(resource instanceof Music)
+			track(resource, "Music", 0);
+		else if(resource != null)
+			throw new IllegalArgumentException("Can not track " + resource.getClass().getName());
+
+		return resource;
+	}
+
+	/**
+	 * Registers a resource.
+	 * @param resource The resource, which is compared by identity.
+	 * @param type A short description of the resource, such as its class and dimension.
+	 * @param bytes The amount of memory used by the resource.
+	 */
+	public static synchronized void track(Object resource, String type, long bytes)
+	{
+		if(!enabled || resource == null)
+			return;
+
+		Stage stage = Stage.getCurrentStage();
+		Entry previous = LIVE.put(resource, new Entry(type, stage == null ? GLOBAL : stage.getClass().getSimpleName(), allocationSite(), bytes));
+		if(previous != null)
+			liveBytes -= previous.bytes;
+		liveBytes += bytes;
+	}
+
+	/**
+	 * Unregisters the given resource. Resources that are not tracked are ignored.
+	 * @param resource The disposed resource.
+	 */
+	public static synchronized void released(Object resource)
+	{
+		Entry entry = LIVE.remove(resource);
+		if(entry != null)
+			liveBytes -= entry.bytes;
+	}
+
+	/**
+	 * Loads a sound with {@code TinySound} and tracks it.
+	 */
+	public static Sound loadSound(File file)
+	{
+		Sound sound = TinySound.loadSound(file);
+		track(sound, "Sound " + file.getName(), file.length());
+		return sound;
+	}
+
+	/**
+	 * Loads music with {@code TinySound} and tracks it. Music that is streamed from the file is counted as zero bytes.
+	 */
+	public static Music loadMusic(File file, boolean streamFromFile)
+	{
+		Music music = TinySound.loadMusic(file, streamFromFile);
+		track(music, "Music " + file.getName(), streamFromFile ? 0 : file.length());
+		return music;
+	}
+
+	/**
+	 * Loads music with {@code TinySound} and tracks it.
+	 */
+	public static Music loadMusic(File file)
+	{
+		return loadMusic(file, false);
+	}
+
+	/**
+	 * Returns the amount of tracked resources that are alive.
+	 */
+	public static synchronized int liveCount()
+	{
+		return LIVE.size();
+	}
+
+	/**
+	 * Returns the total size of the tracked resources that are alive, in bytes.
+	 */
+	public static synchronized long liveBytes()
+	{
+		return liveBytes;
+	}
+
+	/**
+	 * Returns the live resources grouped by stage and type, one line per group with the count and size.
+	 * @return The report.
+	 */
+	public static synchronized List<String> report()
+	{
+		pruneDisposed();
+
+		Map<String, long[]> groups = new TreeMap<>();
+		for(Entry entry : LIVE.values())
+		{
+			String key = entry.owner + "\t" + entry.type.split(" ")[0];
+			long[] group = groups.get(key);
+			if(group == null)
+				groups.put(key, group = new long[2]);
+			group[0]++;
+			group[1] += entry.bytes;
+		}
+
+		List<String> lines = new ArrayList<>(groups.size());
+		for(Map.Entry<String, long[]> group : groups.entrySet())
+			lines.add(String.format("%s: %d, %d KB", group.getKey().replace('\t', ' '), group.getValue()[0], group.getValue()[1] / 1024));
+
+		return lines;
+	}
+
+	/**
+	 * Returns the live resources that were allocated while the given stage was running, one line per resource with its type, size and allocation site.
+	 * @param stageName The simple class name of the stage.
+	 * @return The resident resources.
+	 */
+	public static synchronized List<String> resident(String stageName)
+	{
+		pruneDisposed();
+
+		List<String> lines = new ArrayList<>();
+		for(Entry entry : LIVE.values())
+			if(entry.owner.equals(stageName))
+				lines.add(String.format("%s, %d KB, allocated at %s", entry.type, entry.bytes / 1024, entry.site));
+
+		return lines;
+	}
+
+	/**
+	 * Prints the resources of the given stage that are still resident to the error stream. Called by the engine when the stage is disposed.
+	 * @param stageName The simple class name of the stage.
+	 */
+	public static void printResident(String stageName)
+	{
+		if(!enabled)
+			return;
+
+		List<String> lines = resident(stageName);
+		if(lines.isEmpty())
+			return;
+
+		System.err.println(lines.size() + " resources of " + stageName + " were not disposed:");
+		for(String line : lines)
+			System.err.println("\t" + line);
+	}
+
+	private static void pruneDisposed()
+	{
+		Iterator<Map.Entry<Object, Entry>> iter = LIVE.entrySet().iterator();
+		while(iter.hasNext())
+		{
+			Map.Entry<Object, Entry> entry = iter.next();
+			if(entry.getKey() instanceof Texture && ((Texture)entry.getKey()).getTextureObjectHandle() == 0)
+			{
+				liveBytes -= entry.getValue().bytes;
+				iter.remove();
+			}
+		}
+	}
+
+	private static String allocationSite()
+	{
+		for(StackTraceElement element : new Throwable().getStackTrace())
+		{
+			String className = element.getClassName();
+			if(!className.equals(ResourceTracker.class.getName()) && !className.equals("game.essentials.Image2D"))
+				return element.toString();
+		}
+
+		return "unknown";
+	}
+}
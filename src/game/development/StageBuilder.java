@@ -1,6 +1,8 @@
 package game.development;
 
+import game.core.MainCharacter;
 import game.core.Stage;
+import game.development.FlightEvents.StageLoad;
 import game.essentials.BigImage;
 import game.essentials.Controller;
 import game.essentials.Animation;
@@ -16,7 +18,6 @@ import java.lang.reflect.Field;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Pixmap;
@@ -59,6 +60,9 @@ public abstract class StageBuilder extends Stage
 						String path = fixPath(al.path());
 						field.setAccessible(true);
 						
+						StageLoad load = new StageLoad();
+						load.begin();
+						
 						switch(type)
 						{
 							case IMAGE:
@@ -97,7 +101,7 @@ public abstract class StageBuilder extends Stage
 								if(!file.exists())
 									throw new RuntimeException(path + field.getName() + ".wav/ogg could not be found.");
 								
-								Sound sound = TinySound.loadSound(new File(file.toString()));
+								Sound sound = ResourceTracker.loadSound(new File(file.toString()));
 								field.set(this, sound);
 								break;
 							}
@@ -109,7 +113,7 @@ public abstract class StageBuilder extends Stage
 								if(!file.exists())
 									throw new RuntimeException(path + field.getName() + ".wav/ogg could not be found.");
 									
-								Music music = TinySound.loadMusic(new File(file.toString()),true);
+								Music music = ResourceTracker.loadMusic(new File(file.toString()),true);
 								field.set(this, music);
 								break;
 							case WAYPOINT:
@@ -121,6 +125,7 @@ public abstract class StageBuilder extends Stage
 								field.set(this, Utilities.importObject(path));
 								break;
 						}
+						commit(load, "init", type + " " + field.getName());
 					}
 				}
 			}
@@ -135,14 +140,19 @@ public abstract class StageBuilder extends Stage
 					String stagePath = fixPath(al.path());
 					String mainPath  = fixPath(al.mainPath());
 					
+					StageLoad load = new StageLoad();
+					load.begin();
+					
 					mainImage   = Image2D.loadImages(new File(mainPath + "main"),true);
 					extraHp     = Image2D.loadImages(new File(mainPath + "health"), true);
 					deathImg   	= Image2D.loadImages(new File(mainPath + "main/death"), false);
-					jump        = TinySound.loadSound(new File(mainPath + "jump.wav"));
+					jump        = ResourceTracker.loadSound(new File(mainPath + "jump.wav"));
 					
 					try{backgroundImg = new BigImage(stagePath + "background.png", RenderOption.PORTION);} catch(Exception e){System.err.println("Background image not found");}
 					try{foregroundImg = new BigImage(stagePath + "foreground.png", RenderOption.PORTION);} catch(Exception e){System.err.println("Foreground image not found");}
-					    map    = new Pixmap(new FileHandle(stagePath + "map.png"));
+					    map    = ResourceTracker.track(new Pixmap(new FileHandle(stagePath + "map.png")));
+					    
+					commit(load, "init", "AutoInstall " + stagePath);
 				}
 			}
 		}
@@ -192,6 +202,21 @@ public abstract class StageBuilder extends Stage
 		}
 	}
 	
+	@Override
+	protected MainCharacter createGhost()
+	{
+		if(!autoInstall)
+			return null;
+		
+		GravityMan ghost = new GravityMan();
+		ghost.setImage(new Animation<>(3, mainImage));
+		ghost.setMultiFaced(true);
+		ghost.hit(1);
+		ghost.moveTo(startX, startY);
+		
+		return ghost;
+	}
+	
 	@Override
 	public void dispose() 
 	{
@@ -239,6 +264,17 @@ public abstract class StageBuilder extends Stage
 		}
 	}
 	
+	private void commit(StageLoad load, String phase, String asset)
+	{
+		if(load.shouldCommit())
+		{
+			load.stage = getClass().getName();
+			load.phase = phase;
+			load.asset = asset;
+			load.commit();
+		}
+	}
+	
 	private static String fixPath(String path)
 	{
 		return path.endsWith("/") || path.endsWith("\\") ? path : path + "/";
@@ -0,0 +1,125 @@
+package game.development;
+
+import game.core.Engine;
+import game.essentials.Controller.PressedButtons;
+import game.essentials.HighScore;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import stages.stress.ProceduralStress;
+
+/**
+ * Runs {@code ProceduralStress} headless at several scales and prints the frame time and memory usage of each as CSV, to be plotted against entity count and map size.<br>
+ * Usage: {@code StressBenchmark [-warmup frames] [-frames frames] [-scales 0.5,1,2,...] [-maps 2000x1000,4000x2000,...]}<br>
+ * A scale multiplies every entity count of the stage. The base counts, density and seed are read from the same system properties as the stage. Every combination of map and scale is measured.
+ * @author Pojahn Moradi
+ *
+ */
+public class StressBenchmark
+{
+	public static void main(String[] args)
+	{
+		int warmup = 300, frames = 1800;
+		double[] scales = {1};
+		String[] maps = null;
+
+		for(int i = 0; i < args.length; i++)
+		{
+			switch(args[i])
+			{
+				case "-warmup":
+					warmup = Integer.parseInt(args[++i]);
+					break;
+				case "-frames":
+					frames = Integer.parseInt(args[++i]);
+					break;
+				case "-scales":
+					scales = Arrays.stream(args[++i].split(",")).mapToDouble(Double::parseDouble).toArray();
+					break;
+				case "-maps":
+					maps = args[++i].split(",");
+					break;
+				default:
+					System.err.println("Usage: StressBenchmark [-warmup frames] [-frames frames] [-scales 0.5,1,2,...] [-maps 2000x1000,4000x2000,...]");
+					System.exit(2);
+			}
+		}
+
+		final int theWarmup = warmup, theFrames = frames;
+		final double[] theScales = scales;
+		if(maps == null)
+		{
+			ProceduralStress defaults = new ProceduralStress();
+			maps = new String[]{defaults.width + "x" + defaults.height};
+		}
+		final String[] theMaps = maps;
+
+		Headless.run(() ->
+		{
+			System.out.println("width,height,density,generated_entities,entities,p50_ms,p99_ms,max_ms,peak_heap_mb");
+			for(String map : theMaps)
+				for(double scale : theScales)
+					System.out.println(run(map, scale, theWarmup, theFrames));
+		});
+	}
+
+	private static String run(String map, double scale, int warmup, int frames)
+	{
+		ProceduralStress stage = new ProceduralStress();
+		String[] size = map.split("x");
+		stage.width = Integer.parseInt(size[0]);
+		stage.height = Integer.parseInt(size[1]);
+		stage.drones = (int)(stage.drones * scale);
+		stage.weapons = (int)(stage.weapons * scale);
+		stage.emitters = (int)(stage.emitters * scale);
+		stage.platforms = (int)(stage.platforms * scale);
+		stage.missiles = (int)(stage.missiles * scale);
+		stage.characters = (int)(stage.characters * scale);
+
+		List<List<PressedButtons>> replays = new LinkedList<>();
+		for(int i = 0; i <= stage.characters; i++)
+			replays.add(new LinkedList<>());
+
+		HighScore hs = new HighScore();
+		hs.className = ProceduralStress.class;
+		hs.replays = replays;
+		hs.seed = stage.seed;
+
+		Engine engine = Engine.constructEngine(stage, hs);
+		engine.setHeadless(true);
+		engine.show();
+
+		long[] times = new long[frames];
+		for(int i = -warmup; i < frames; i++)
+		{
+			if(i == 0)
+			{
+				System.gc();
+				for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+					if(pool.getType() == MemoryType.HEAP)
+						pool.resetPeakUsage();
+			}
+
+			long start = System.nanoTime();
+			engine.tick();
+			if(i >= 0)
+				times[i] = System.nanoTime() - start;
+		}
+
+		long peak = 0;
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if(pool.getType() == MemoryType.HEAP)
+				peak += pool.getPeakUsage().getUsed();
+
+		int entities = stage.getEntityCount();
+		engine.dispose();
+
+		Arrays.sort(times);
+		return String.format("%d,%d,%.2f,%d,%d,%.3f,%.3f,%.3f,%d", stage.width, stage.height, stage.density, stage.generatedEntities(), entities, times[frames / 2] / 1e6, times[Math.min(frames - 1, (int)(frames * .99))] / 1e6, times[frames - 1] / 1e6, peak / (1024 * 1024));
+	}
+}
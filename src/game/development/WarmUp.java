@@ -0,0 +1,76 @@
+package game.development;
+
+import game.core.Engine;
+import game.core.Stage;
+import game.core.Stage.Difficulty;
+import game.essentials.Controller.PressedButtons;
+import game.essentials.HighScore;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Plays a stage headless for a number of frames, so that its classes are loaded and its hot code is compiled by the JIT. Used by the training run of the class data archive.<br>
+ * The warm-up uses an instance of its own of the stage, which is disposed when done. The stage the player is about to play is instead warmed up by the engine itself, see {@code Engine.warmUpFrames}.<br>
+ * The main characters stand still during the warm-up, so the code that reacts to input is only partially covered.
+ * @author Pojahn Moradi
+ *
+ */
+public class WarmUp
+{
+	/**
+	 * The amount of main characters that can be given input during a warm-up.
+	 */
+	private static final int MAX_MAINS = 16;
+
+	/**
+	 * Loads the given stage and plays it headless. The function returns when the frames have been played or when the main characters die.
+	 * @param type The stage to play.
+	 * @param difficulty The difficulty to play at.
+	 * @param meta The meta of the stage, or null.
+	 * @param frames The maximum amount of frames to play.
+	 * @return The time it took, in milliseconds.
+	 */
+	public static long run(Class<? extends Stage> type, Difficulty difficulty, Serializable meta, int frames)
+	{
+		long start = System.nanoTime();
+
+		Stage stage;
+		try
+		{
+			stage = type.newInstance();
+		}
+		catch(InstantiationException | IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
+		stage.setDifficulty(difficulty);
+		stage.setMeta(meta);
+
+		List<List<PressedButtons>> replays = new LinkedList<>();
+		for(int i = 0; i < MAX_MAINS; i++)
+			replays.add(new LinkedList<>());
+
+		HighScore hs = new HighScore();
+		hs.className = type;
+		hs.replays = replays;
+		hs.difficulty = difficulty;
+		hs.meta = meta;
+		hs.seed = System.nanoTime();
+
+		Engine engine = Engine.constructEngine(stage, hs);
+		engine.setHeadless(true);
+		try
+		{
+			engine.show();
+			for(int i = 0; i < frames && engine.tick(); i++);
+		}
+		finally
+		{
+			engine.dispose();
+		}
+
+		return (System.nanoTime() - start) / 1000000;
+	}
+}
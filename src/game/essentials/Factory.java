@@ -256,7 +256,8 @@ public class Factory
 		{
 			if(target.getPrevX() != target.loc.x || target.getPrevY() != target.loc.y)
 			{
-				byte[][] data  = Stage.getCurrentStage().stageData;
+				Stage stage = Stage.getCurrentStage();
+				byte[][] data  = stage.stageData;
 				Animation<Image2D> img = target.getImage();
 				boolean stopped = img.isStopped();
 				img.stop(true);
@@ -272,12 +273,16 @@ public class Factory
 					for(int y1 = prevY, y2 = currY; y1 < prevY + target.height - 1; y1++, y2++)
 					{
 						if(transformBack)
-							data[y1][x1] = Stage.getCurrentStage().getCloneData(x1, y1);
+							data[y1][x1] = stage.getCloneData(x1, y1);
 						
 						int color = image.getColor(x2 - currX, y2 - currY);
 						if(color != 0)
 							data[y2][x2] = tileType;
 					}
+				
+				if(transformBack)
+					stage.tilesChanged(prevX, prevY, (int)target.width - 1, (int)target.height - 1);
+				stage.tilesChanged(currX, currY, (int)target.width - 1, (int)target.height - 1);
 			}
 		};
 	}
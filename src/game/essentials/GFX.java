@@ -4,6 +4,7 @@ import static game.essentials.Utilities.*;
 import game.core.Fundementals;
 import game.core.GameObject;
 import game.core.Stage;
+import game.development.ResourceTracker;
 
 import java.util.Random;
 
@@ -21,7 +22,7 @@ import com.badlogic.gdx.math.MathUtils;
  */
 public class GFX 
 {
-	private static final Texture dot = new Texture("res/data/blob.png");
+	private static Texture dot;
 	
 	public static Image2D checkpoint;
 	public static Sound checkpointReach;
@@ -99,6 +100,19 @@ public class GFX
 			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 	}
 	
+	/**
+	 * Disposes the texture used to draw lightning, if loaded. It is loaded again when needed.
+	 */
+	public static void dispose()
+	{
+		if(dot != null)
+		{
+			dot.dispose();
+			ResourceTracker.released(dot);
+			dot = null;
+		}
+	}
+	
 	private static void drawLine(SpriteBatch batch, float _x1, float _y1, float _x2, float _y2, float thickness) 
 	{
 		float length = (float) Fundementals.distance(_x1, _y1, _x2, _y2);
@@ -109,6 +123,9 @@ public class GFX
 		float angle = MathUtils.radiansToDegrees * MathUtils.atan2(dy, dx);
 		angle = angle - 180;
 		
+		if(dot == null)
+			dot = ResourceTracker.track(new Texture("res/data/blob.png"));
+		
 		batch.draw(dot, _x1, _y1, 0f, thickness * 0.5f, length, thickness, 1f, 1f, angle, 0, 0, dot.getWidth(), dot.getHeight(), false, false);
 	}
 
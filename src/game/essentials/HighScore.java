@@ -95,6 +95,8 @@ public class HighScore implements java.io.Serializable, Comparable<HighScore>
 	public Serializable meta;
 	public Class<?> className;
 	public List<List<PressedButtons>> replays;
+	public List<StateChecksum> checksums;
+	public long seed;
 	
 	public HighScore()
 	{}
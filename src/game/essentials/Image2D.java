@@ -1,5 +1,7 @@
 package game.essentials;
 
+import game.development.ResourceTracker;
+
 import java.io.File;
 import java.util.ArrayList;
 import com.badlogic.gdx.files.FileHandle;
@@ -31,10 +33,13 @@ public class Image2D extends Sprite
 	 */
 	public Image2D(String path, boolean createPixelData)
 	{
-		super(new Texture(path));
+		super(ResourceTracker.track(new Texture(path)));
 		
 		if(createPixelData)
+		{
 			pixelData = getpixelData(path);
+			ResourceTracker.track(pixelData, "Pixel data " + pixelData.length + "x" + (pixelData.length == 0 ? 0 : pixelData[0].length), pixelData.length * (pixelData.length == 0 ? 0 : pixelData[0].length) * 4L);
+		}
 		
 		flip(false, true);
 	}
@@ -59,6 +64,8 @@ public class Image2D extends Sprite
 	public void dispose()
 	{
 		getTexture().dispose();
+		ResourceTracker.released(getTexture());
+		ResourceTracker.released(pixelData);
 		pixelData = null;
 	}
 	
@@ -133,6 +140,7 @@ public class Image2D extends Sprite
 				
 				cd[x][y] = value;
 			}
+		img.dispose();
 		return cd;
 	}
 	
@@ -0,0 +1,80 @@
+package game.essentials;
+
+import game.essentials.Controller.PressedButtons;
+
+import java.util.Collection;
+
+/**
+ * The input of a replay packed into one {@code short} per frame, with one bit per button.<br>
+ * Used by ghosts, which only need to read their input once and in order. A frame is unpacked into a {@code PressedButtons} instance supplied by the caller, so no objects are created while the ghost is playing.
+ * @author Pojahn Moradi
+ *
+ */
+public class PackedInput
+{
+	private static final int LEFT = 1, RIGHT = 1 << 1, DOWN = 1 << 2, UP = 1 << 3, SUICIDE = 1 << 4, SWITCH_CHAR = 1 << 5, SPECIAL_1 = 1 << 6, SPECIAL_2 = 1 << 7, SPECIAL_3 = 1 << 8;
+
+	private final short[] frames;
+
+	private PackedInput(short[] frames)
+	{
+		this.frames = frames;
+	}
+
+	/**
+	 * Packs the given input.
+	 * @param pbs The input of one main character, one element per frame.
+	 * @return The packed input.
+	 */
+	public static PackedInput pack(Collection<PressedButtons> pbs)
+	{
+		short[] frames = new short[pbs.size()];
+		int i = 0;
+
+		for(PressedButtons pb : pbs)
+		{
+			int bits = 0;
+			if(pb.left)			bits |= LEFT;
+			if(pb.right)		bits |= RIGHT;
+			if(pb.down)			bits |= DOWN;
+			if(pb.up)			bits |= UP;
+			if(pb.suicide)		bits |= SUICIDE;
+			if(pb.switchChar)	bits |= SWITCH_CHAR;
+			if(pb.special1)		bits |= SPECIAL_1;
+			if(pb.special2)		bits |= SPECIAL_2;
+			if(pb.special3)		bits |= SPECIAL_3;
+
+			frames[i++] = (short) bits;
+		}
+
+		return new PackedInput(frames);
+	}
+
+	/**
+	 * The amount of frames.
+	 * @return The amount of frames.
+	 */
+	public int size()
+	{
+		return frames.length;
+	}
+
+	/**
+	 * Unpacks the given frame into {@code pb}.
+	 * @param frame The frame to unpack.
+	 * @param pb The instance to write the buttons to.
+	 */
+	public void unpack(int frame, PressedButtons pb)
+	{
+		int bits = frames[frame];
+		pb.left 	  = (bits & LEFT) != 0;
+		pb.right 	  = (bits & RIGHT) != 0;
+		pb.down 	  = (bits & DOWN) != 0;
+		pb.up 		  = (bits & UP) != 0;
+		pb.suicide 	  = (bits & SUICIDE) != 0;
+		pb.switchChar = (bits & SWITCH_CHAR) != 0;
+		pb.special1   = (bits & SPECIAL_1) != 0;
+		pb.special2   = (bits & SPECIAL_2) != 0;
+		pb.special3   = (bits & SPECIAL_3) != 0;
+	}
+}
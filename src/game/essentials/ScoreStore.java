@@ -0,0 +1,513 @@
+package game.essentials;
+
+import game.core.Stage.Difficulty;
+import game.development.FlightEvents.ReplayLoad;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An append-only, file-backed index over the high scores in the replays directory.<br>
+ * Every saved high score appends a small record to {@code replays/scores.log}. The replay itself stays in its {@code .hs} file and is loaded on demand.<br>
+ * The records are kept in sorted indexes by stage, player, date and time, so top lists and pages can be fetched without reading or sorting every high score. Every index is also kept with the victories only, so pages without failed attempts never walk past them.<br>
+ * When the store is opened, a background thread adds {@code .hs} files that are missing from the log, drops records whose file is gone and rewrites the log without them.
+ * @author Pojahn Moradi
+ *
+ */
+public class ScoreStore
+{
+	/**
+	 * The available indexes. {@code STAGE} is ordered by the stage class and {@code STAGE_NAME} by the displayed name of the stage.
+	 */
+	public enum Index {STAGE, STAGE_NAME, PLAYER, DATE, TIME};
+
+	/**
+	 * The meta data of a high score.
+	 */
+	public static class Record
+	{
+		public final String className, stageName, name, date, result, file;
+		public final Difficulty difficulty;
+		public final double time;
+		final long seq;
+
+		Record(long seq, HighScore hs, String file)
+		{
+			this(seq, hs.className == null ? "" : hs.className.getName(), hs.stageName, hs.name, hs.date, hs.result, hs.difficulty, hs.time, file);
+		}
+
+		Record(long seq, String className, String stageName, String name, String date, String result, Difficulty difficulty, double time, String file)
+		{
+			this.seq = seq;
+			this.className = nonNull(className);
+			this.stageName = nonNull(stageName);
+			this.name = nonNull(name);
+			this.date = nonNull(date);
+			this.result = nonNull(result);
+			this.difficulty = difficulty;
+			this.time = time;
+			this.file = file;
+		}
+
+		/**
+		 * Whether or not the stage was completed.
+		 * @return True if the result is a victory.
+		 */
+		public boolean victorious()
+		{
+			return result.equals("Victorious");
+		}
+
+		/**
+		 * Reads the full high score, including the replay, from the disk.
+		 * @return The high score or null if the file could not be read.
+		 */
+		public HighScore load()
+		{
+			ReplayLoad event = new ReplayLoad();
+			event.begin();
+			Object obj = Utilities.importObject(file);
+			
+			if(event.shouldCommit())
+			{
+				event.path = file;
+				event.bytes = new File(file).length();
+				event.commit();
+			}
+			return obj instanceof HighScore ? (HighScore) obj : null;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name + "\t" + stageName + "\t" + time;
+		}
+	}
+
+	private static final Comparator<Record> STAGE_ORDER = (r1, r2) ->
+	{
+		int value = r1.className.compareTo(r2.className);
+		if(value == 0)
+			value = Boolean.compare(r2.victorious(), r1.victorious());
+		if(value == 0)
+			value = Integer.compare(ordinal(r1.difficulty), ordinal(r2.difficulty));
+		if(value == 0)
+			value = Double.compare(r1.time, r2.time);
+
+		return value == 0 ? Long.compare(r1.seq, r2.seq) : value;
+	};
+
+	private static final Comparator<Record> STAGE_NAME_ORDER = (r1, r2) ->
+	{
+		int value = r1.stageName.compareTo(r2.stageName);
+		if(value == 0)
+			value = Double.compare(r1.time, r2.time);
+
+		return value == 0 ? Long.compare(r1.seq, r2.seq) : value;
+	};
+
+	private static final Comparator<Record> PLAYER_ORDER = (r1, r2) ->
+	{
+		int value = r1.name.compareTo(r2.name);
+
+		return value == 0 ? STAGE_ORDER.compare(r1, r2) : value;
+	};
+
+	private static final Comparator<Record> DATE_ORDER = (r1, r2) ->
+	{
+		int value = r1.date.compareTo(r2.date);
+
+		return value == 0 ? Long.compare(r1.seq, r2.seq) : value;
+	};
+
+	private static final Comparator<Record> TIME_ORDER = (r1, r2) ->
+	{
+		int value = Double.compare(r1.time, r2.time);
+
+		return value == 0 ? Long.compare(r1.seq, r2.seq) : value;
+	};
+
+	private static final long MIN_SEQ = Long.MIN_VALUE, MAX_SEQ = Long.MAX_VALUE;
+	private static ScoreStore STORE;
+
+	private final File dir, logFile;
+	private final Map<Index, TreeSet<Record>> indexes, victories;
+	private final Map<String, Record> byFile;
+	private RandomAccessFile log;
+	private long nextSeq;
+	private int deadRecords;
+
+	/**
+	 * Returns the store of the replays directory, opening it the first time the function is called.
+	 * @return The store.
+	 */
+	public static synchronized ScoreStore get()
+	{
+		if(STORE == null)
+		{
+			try
+			{
+				STORE = new ScoreStore(new File("replays"));
+				STORE.compactInBackground();
+			}
+			catch(IOException e)
+			{
+				throw new RuntimeException("Could not open the high score store.", e);
+			}
+		}
+		return STORE;
+	}
+
+	/**
+	 * Opens the store of the given directory.
+	 * @param dir The directory containing the {@code .hs} files.
+	 * @throws IOException If the log could not be read.
+	 */
+	public ScoreStore(File dir) throws IOException
+	{
+		this.dir = dir;
+		logFile = new File(dir, "scores.log");
+		indexes = new HashMap<>();
+		victories = new HashMap<>();
+		for(Index index : Index.values())
+		{
+			indexes.put(index, new TreeSet<>(order(index)));
+			victories.put(index, new TreeSet<>(order(index)));
+		}
+		byFile = new HashMap<>();
+
+		dir.mkdirs();
+		log = new RandomAccessFile(logFile, "rw");
+		readLog();
+	}
+
+	/**
+	 * Adds the given high score to the store. The high score is assumed to already be saved at the given path.
+	 * @param hs The high score.
+	 * @param file The path to the {@code .hs} file.
+	 */
+	public synchronized void add(HighScore hs, String file)
+	{
+		Record record = new Record(nextSeq++, hs, file);
+		try
+		{
+			log.seek(log.length());
+			writeRecord(log, record);
+		}
+		catch(IOException e)
+		{
+			System.err.println("Could not append to the high score log.");
+			e.printStackTrace();
+		}
+		index(record);
+	}
+
+	/**
+	 * Returns a page of records in the order of the given index.<br>
+	 * Pages are addressed by the last record of the previous page, so fetching a page costs the same no matter how deep into the index it is.
+	 * @param index The index to walk.
+	 * @param ascending Whether to walk the index forward or backward.
+	 * @param failures Whether or not to include failed attempts.
+	 * @param after The last record of the previous page, or null for the first page.
+	 * @param size The maximum amount of records to return.
+	 * @return The page.
+	 */
+	public synchronized List<Record> page(Index index, boolean ascending, boolean failures, Record after, int size)
+	{
+		NavigableSet<Record> set = (failures ? indexes : victories).get(index);
+		if(!ascending)
+			set = set.descendingSet();
+		if(after != null)
+			set = set.tailSet(after, false);
+
+		return collect(set, size);
+	}
+
+	/**
+	 * Returns the fastest completions of the given stage and difficulty, sorted by time.
+	 * @param stage The stage class.
+	 * @param difficulty The difficulty or null for stages without difficulties.
+	 * @param n The maximum amount of records to return.
+	 * @return The top list.
+	 */
+	public List<Record> top(Class<?> stage, Difficulty difficulty, int n)
+	{
+		return top(stage.getName(), difficulty, n);
+	}
+
+	/**
+	 * Returns the fastest completions of the given stage and difficulty, sorted by time.
+	 * @param className The fully qualified name of the stage class.
+	 * @param difficulty The difficulty or null for stages without difficulties.
+	 * @param n The maximum amount of records to return.
+	 * @return The top list.
+	 */
+	public synchronized List<Record> top(String className, Difficulty difficulty, int n)
+	{
+		Record from = new Record(MIN_SEQ, className, "", "", "", "Victorious", difficulty, Double.NEGATIVE_INFINITY, null);
+		Record to   = new Record(MAX_SEQ, className, "", "", "", "Victorious", difficulty, Double.POSITIVE_INFINITY, null);
+
+		return collect(victories.get(Index.STAGE).subSet(from, true, to, true), n);
+	}
+
+	/**
+	 * Returns the fastest completion of the given stage and difficulty by the given player.
+	 * @param player The name of the player.
+	 * @param stage The stage class.
+	 * @param difficulty The difficulty or null for stages without difficulties.
+	 * @return The record or null if the player have not completed the stage.
+	 */
+	public synchronized Record personalBest(String player, Class<?> stage, Difficulty difficulty)
+	{
+		Record from = new Record(MIN_SEQ, stage.getName(), "", player, "", "Victorious", difficulty, Double.NEGATIVE_INFINITY, null);
+		Record best = indexes.get(Index.PLAYER).ceiling(from);
+
+		if(best != null && best.name.equals(player) && best.className.equals(stage.getName()) && best.victorious() && best.difficulty == difficulty)
+			return best;
+
+		return null;
+	}
+
+	/**
+	 * Returns the amount of high scores in the store.
+	 * @return The size.
+	 */
+	public synchronized int size()
+	{
+		return byFile.size();
+	}
+
+	/**
+	 * Starts a daemon thread that synchronizes the store with the {@code .hs} files on the disk and then rewrites the log without the obsolete records.
+	 */
+	public void compactInBackground()
+	{
+		Thread t = new Thread(() ->
+		{
+			try
+			{
+				compact();
+			}
+			catch(IOException e)
+			{
+				System.err.println("High score compaction failed.");
+				e.printStackTrace();
+			}
+		}, "Score Store Compaction");
+		t.setDaemon(true);
+		t.setPriority(Thread.MIN_PRIORITY);
+		t.start();
+	}
+
+	/**
+	 * Synchronizes the store with the {@code .hs} files on the disk and rewrites the log without obsolete records.
+	 * @throws IOException If the log could not be rewritten.
+	 */
+	public void compact() throws IOException
+	{
+		Set<String> onDisk = new HashSet<>();
+		File[] files = dir.listFiles();
+		if(files != null)
+			for(File file : files)
+				if(file.isFile() && file.getName().endsWith(".hs"))
+					onDisk.add(path(file));
+
+		List<String> unknown = new ArrayList<>();
+		synchronized(this)
+		{
+			for(String file : onDisk)
+				if(!byFile.containsKey(file))
+					unknown.add(file);
+
+			for(Record record : new ArrayList<>(byFile.values()))
+				if(!onDisk.contains(record.file))
+					unindex(record);
+		}
+
+		for(String file : unknown)
+		{
+			Object obj = Utilities.importObject(file);
+			if(obj instanceof HighScore)
+				add((HighScore) obj, file);
+			else
+				System.err.println("Illegal file in the replays directory: " + file);
+		}
+
+		synchronized(this)
+		{
+			if(deadRecords == 0)
+				return;
+
+			File tmp = new File(dir, "scores.log.tmp");
+			RandomAccessFile out = new RandomAccessFile(tmp, "rw");
+			try
+			{
+				out.setLength(0);
+				for(Record record : indexes.get(Index.DATE))
+					writeRecord(out, record);
+			}
+			finally
+			{
+				out.close();
+			}
+
+			log.close();
+			if(!logFile.delete() || !tmp.renameTo(logFile))
+				throw new IOException("Could not replace " + logFile);
+
+			log = new RandomAccessFile(logFile, "rw");
+			deadRecords = 0;
+		}
+	}
+
+	private static Comparator<Record> order(Index index)
+	{
+		switch(index)
+		{
+			case STAGE:
+				return STAGE_ORDER;
+			case STAGE_NAME:
+				return STAGE_NAME_ORDER;
+			case PLAYER:
+				return PLAYER_ORDER;
+			case DATE:
+				return DATE_ORDER;
+			default:
+				return TIME_ORDER;
+		}
+	}
+
+	private List<Record> collect(NavigableSet<Record> set, int size)
+	{
+		List<Record> page = new ArrayList<>(size);
+		Iterator<Record> iter = set.iterator();
+
+		while(iter.hasNext() && page.size() < size)
+			page.add(iter.next());
+
+		return page;
+	}
+
+	private void index(Record record)
+	{
+		Record old = byFile.put(record.file, record);
+		if(old != null)
+		{
+			remove(old);
+			deadRecords++;
+		}
+
+		for(TreeSet<Record> index : indexes.values())
+			index.add(record);
+		if(record.victorious())
+			for(TreeSet<Record> index : victories.values())
+				index.add(record);
+	}
+
+	private void unindex(Record record)
+	{
+		byFile.remove(record.file);
+		remove(record);
+		deadRecords++;
+	}
+
+	private void remove(Record record)
+	{
+		for(TreeSet<Record> index : indexes.values())
+			index.remove(record);
+		if(record.victorious())
+			for(TreeSet<Record> index : victories.values())
+				index.remove(record);
+	}
+
+	private void readLog() throws IOException
+	{
+		long pos = 0, length = log.length();
+		log.seek(0);
+
+		while(pos + 4 <= length)
+		{
+			int size = log.readInt();
+			if(size <= 0 || pos + 4 + size > length)
+				break;
+
+			byte[] data = new byte[size];
+			log.readFully(data);
+
+			Record record = readRecord(new DataInputStream(new ByteArrayInputStream(data)));
+			nextSeq = Math.max(nextSeq, record.seq + 1);
+			index(record);
+			pos += 4 + size;
+		}
+
+		if(pos < length)
+		{
+			System.err.println("Discarding a partially written record at the end of " + logFile);
+			log.setLength(pos);
+		}
+	}
+
+	private static void writeRecord(RandomAccessFile out, Record record) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+		DataOutputStream data = new DataOutputStream(bytes);
+		data.writeLong(record.seq);
+		data.writeUTF(record.className);
+		data.writeUTF(record.stageName);
+		data.writeUTF(record.name);
+		data.writeUTF(record.date);
+		data.writeUTF(record.result);
+		data.writeByte(ordinal(record.difficulty));
+		data.writeDouble(record.time);
+		data.writeUTF(record.file);
+		data.flush();
+
+		out.writeInt(bytes.size());
+		out.write(bytes.toByteArray());
+	}
+
+	private static Record readRecord(DataInputStream in) throws IOException
+	{
+		long seq = in.readLong();
+		String className = in.readUTF();
+		String stageName = in.readUTF();
+		String name = in.readUTF();
+		String date = in.readUTF();
+		String result = in.readUTF();
+		int difficulty = in.readByte();
+		double time = in.readDouble();
+		String file = in.readUTF();
+
+		return new Record(seq, className, stageName, name, date, result, difficulty < 0 ? null : Difficulty.values()[difficulty], time, file);
+	}
+
+	private static int ordinal(Difficulty difficulty)
+	{
+		return difficulty == null ? -1 : difficulty.ordinal();
+	}
+
+	private static String nonNull(String str)
+	{
+		return str == null ? "" : str;
+	}
+
+	private String path(File file)
+	{
+		return dir.getPath() + "/" + file.getName();
+	}
+}
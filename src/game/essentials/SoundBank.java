@@ -13,11 +13,15 @@ import kuusisto.tinysound.Sound;
 public class SoundBank
 {
 	/**
-	 * The amount of frames that have passed since the game started(reseted by the engine every death or win).<br><br>
-	 * 
-	 * Warning: Should not be modified!
+	 * Returns the frame counter of the engine playing on the current thread, or 0 if no stage is being played.
+	 * @return The frame counter.
+	 * @deprecated The frame counter is no longer global. Use {@code Engine.getFrameCounter} of the engine playing the stage instead.
 	 */
-	public static int FRAME_COUNTER = 0;
+	@Deprecated
+	public static int getFrameCounter()
+	{
+		return Math.max(0, frameCounter());
+	}
 	
 	private static class Unit
 	{
@@ -89,7 +93,8 @@ public class SoundBank
 	{
 		if (index < units.length && units[index] != null && units[index].sound != null)
 		{
-			if(units[index].delay > 0 && FRAME_COUNTER < units[index].time)
+			int frame = frameCounter();
+			if(units[index].delay > 0 && frame != -1 && frame < units[index].time)
 				return;
 			
 			if(falloff && emitter == null)
@@ -110,17 +115,30 @@ public class SoundBank
 			if(ignore)
 			{
 				units[index].sound.play(volume);
-				units[index].time = units[index].delay + FRAME_COUNTER;
+				units[index].time = units[index].delay + frame;
 			}
 			else if(units[index].allowed)
 			{
 				units[index].allowed = false;
 				units[index].sound.play(volume);
-				units[index].time = units[index].delay + FRAME_COUNTER;
+				units[index].time = units[index].delay + frame;
 			}
 		}
 	}
 	
+	/**
+	 * The frame counter of the engine playing on the current thread, which the delays are measured in.<br>
+	 * Returns -1 if no stage is being played on the thread, in which case the sounds play without delay.
+	 */
+	private static int frameCounter()
+	{
+		Stage stage = Stage.getCurrentStage();
+		if(stage == null || stage.game == null)
+			return -1;
+		
+		return stage.game.getFrameCounter();
+	}
+	
 	/**
 	 * Returns the delay from the sound at the given index, or -1 if no sound could be fount.
 	 * @param index The sounds index.
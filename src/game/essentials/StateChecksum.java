@@ -0,0 +1,37 @@
+package game.essentials;
+
+/**
+ * A fingerprint of the game state at a certain frame.<br>
+ * The engine saves one every {@code checksumInterval} frame in the replay and compare against them while the replay is watched, which reveals a playback that diverge from the recording as soon as it happens.
+ * @author Pojahn Moradi
+ *
+ */
+public class StateChecksum implements java.io.Serializable
+{
+	private static final long serialVersionUID = -3412837405226108963L;
+
+	/**
+	 * The frame, counted from the start of the play, the checksum was taken at.
+	 */
+	public int frame;
+	
+	/**
+	 * The amount of entities in the stage.
+	 */
+	public int entities;
+	
+	/**
+	 * The value of {@code elapsedTime}. Depends on the frame rate of the recording computer, so it is not used for comparison.
+	 */
+	public int elapsedTime;
+	
+	/**
+	 * The amount of numbers drawn from the random number generator of the stage.
+	 */
+	public long randomDraws;
+	
+	/**
+	 * One hash per main character, covering position, velocity, state and health.
+	 */
+	public long[] mains;
+}
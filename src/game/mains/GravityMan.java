@@ -17,18 +17,26 @@ import kuusisto.tinysound.Sound;
 
 /**
  * The {@code GravityMan} is the default main character used in my(Pojahn) stages. This character respects gravity, can wall jump and slide, run up and down from slopes and falls down from cliffs.<br>
- * The feel of this character is a mix of Super Meat Boy and N+. However, the public variables among with the public setters can be used to alter the properties of this character.
+ * The feel of this character is a mix of Super Meat Boy and N+. However, the public variables among with the public setters can be used to alter the properties of this character.<br><br>
+ * 
+ * The physics ask the same questions about the surroundings many times per frame, so the contacts with tiles and solid objects are sensed once per position during {@code handleInput} and then reused.
  * @author Pojahn Moradi
  *
  */
 @SuppressWarnings("deprecation")
 public class GravityMan extends MainCharacter
 {
+	private static final int DOWN = 1, UP = 2, LEFT = 4, RIGHT = 8, LEFT_WALL = 16, RIGHT_WALL = 32,
+							 TOUCH_DOWN = 64, TOUCH_UP = 128, TOUCH_LEFT = 256, TOUCH_RIGHT = 512;
+	
 	public float maxX, maxY, accX, vx, vy, boostX, upSpeed, mass, gravity, damping, wallGravity, wallDamping, maxWallSlideSpeed, breakSpeed;
 	boolean jumpAllowed, wallSliding, jumpStarted, oldInput, allowWallJump, allowWallSlide, blockInput, moving, leftInput, rightInput, upInput, checkAllowed, canLeft, canDown, canRight;
 	int counter, flySpeed;
 	float prevVX;
 	private byte[][] d;
+	private boolean sensing;
+	private float sensedX, sensedY;
+	private int sensed, contacts;
 	
 	public GravityMan()
 	{
@@ -59,6 +67,20 @@ public class GravityMan extends MainCharacter
 
 	@Override
 	public void handleInput(PressedButtons pb) 
+	{
+		sensing = true;
+		sensed = 0;
+		try
+		{
+			move(pb);
+		}
+		finally
+		{
+			sensing = false;
+		}
+	}
+	
+	private void move(PressedButtons pb)
 	{
 		if(flySpeed != 0)
 		{
@@ -442,7 +464,112 @@ public class GravityMan extends MainCharacter
 		return !isOverlapping(targetX, loc.y);
 	}
 	
+	@Override
+	public boolean canGoDown()
+	{
+		return sense(DOWN);
+	}
+	
+	@Override
+	public boolean canGoUp()
+	{
+		return sense(UP);
+	}
+	
+	@Override
+	public boolean canGoLeft()
+	{
+		return sense(LEFT);
+	}
+	
+	@Override
+	public boolean canGoRight()
+	{
+		return sense(RIGHT);
+	}
+	
+	@Override
+	protected boolean isOverlapping(float targetX, float targetY)
+	{
+		if(sensing && targetY == loc.y && targetX == loc.x - 1)
+			return sense(TOUCH_LEFT);
+		else if(sensing && targetY == loc.y && targetX == loc.x + 1)
+			return sense(TOUCH_RIGHT);
+		else if(sensing && targetX == loc.x && targetY == loc.y + 1)
+			return sense(TOUCH_DOWN);
+		else if(sensing && targetX == loc.x && targetY == loc.y - 1)
+			return sense(TOUCH_UP);
+		
+		return super.isOverlapping(targetX, targetY);
+	}
+	
 	protected boolean leftWall()
+	{
+		return sense(LEFT_WALL);
+	}
+	
+	protected boolean rightWall()
+	{
+		return sense(RIGHT_WALL);
+	}
+	
+	/**
+	 * Returns the given contact at the current position. During {@code handleInput}, the contact is only probed the first time it is asked for at a position.
+	 */
+	private boolean sense(int sensor)
+	{
+		if(!sensing)
+			return probe(sensor);
+		
+		if(loc.x != sensedX || loc.y != sensedY)
+		{
+			sensed = 0;
+			sensedX = loc.x;
+			sensedY = loc.y;
+		}
+		
+		if((sensed & sensor) == 0)
+		{
+			sensed |= sensor;
+			if(probe(sensor))
+				contacts |= sensor;
+			else
+				contacts &= ~sensor;
+		}
+		
+		return (contacts & sensor) != 0;
+	}
+	
+	private boolean probe(int sensor)
+	{
+		switch(sensor)
+		{
+		case DOWN:
+			return super.canGoDown();
+		case UP:
+			return super.canGoUp();
+		case LEFT:
+			return super.canGoLeft();
+		case RIGHT:
+			return super.canGoRight();
+		case LEFT_WALL:
+			return scanLeftWall();
+		case RIGHT_WALL:
+			return scanRightWall();
+		case TOUCH_DOWN:
+			return super.isOverlapping(loc.x, loc.y + 1);
+		case TOUCH_UP:
+			return super.isOverlapping(loc.x, loc.y - 1);
+		case TOUCH_LEFT:
+			return super.isOverlapping(loc.x - 1, loc.y);
+		case TOUCH_RIGHT:
+			return super.isOverlapping(loc.x + 1, loc.y);
+		default:
+			throw new IllegalArgumentException("Unknown sensor: " + sensor);
+		}
+	}
+	
+	private boolean scanLeftWall()
 	{
 		int y = (int)loc.y, 
 			x = (int)loc.x;
@@ -457,7 +584,7 @@ public class GravityMan extends MainCharacter
 		return false;
 	}
 	
-	protected boolean rightWall()
+	private boolean scanRightWall()
 	{
 		int y = (int)loc.y, 
 			x = (int)(loc.x + width);
@@ -117,7 +117,7 @@ public class Bouncer extends PathDrone
 		{
 			MovableObject mo = victims[i];
 			if (!collidesWith(mo))
-				victimDirrections[i] = Fundementals.getDirection(Fundementals.normalize(middleX, middleY, mo.getPrevX() + mo.width / 2, mo.getPrevY() + mo.height / 2));
+				victimDirrections[i] = Fundementals.getDirection(middleX, middleY, mo.getPrevX() + mo.width / 2, mo.getPrevY() + mo.height / 2);
 			else
 			{
 				pushCounter[i] = times;
@@ -0,0 +1,94 @@
+package game.movable;
+
+import game.core.Fundementals;
+import game.core.GameObject;
+import game.navigation.NavGrid;
+import game.navigation.PathFinder.Request;
+
+/**
+ * A {@code PathDrone} that chases the closest of the given targets around walls, using the path finder of the stage.<br>
+ * The path to the target is requested every {@code repathInterval} frame and turned into waypoints once computed, which the drone then follows like any other {@code PathDrone}. It stops at the end of the path until a new one arrives.<br>
+ * The size of the cells of the navigation grid should be at least the size of the drone, see {@code Stage.navCellSize}.
+ * @author Pojahn Moradi
+ *
+ */
+public class ChasingDrone extends PathDrone
+{
+	/**
+	 * How often, in frames, to request a new path to the target.
+	 */
+	public int repathInterval = 20;
+
+	private GameObject[] targets;
+	private Request request;
+	private int repathCounter;
+
+	/**
+	 * Constructs a {@code ChasingDrone} at the given point.
+	 * @param x The X position.
+	 * @param y The Y position.
+	 * @param targets The objects to chase.
+	 */
+	public ChasingDrone(float x, float y, GameObject... targets)
+	{
+		super(x, y);
+		this.targets = targets;
+	}
+
+	@Override
+	public ChasingDrone getClone(float x, float y)
+	{
+		ChasingDrone c = new ChasingDrone(x, y, targets);
+		copyData(c);
+
+		if(cloneEvent != null)
+			cloneEvent.cloned(c);
+
+		return c;
+	}
+
+	protected void copyData(ChasingDrone dest)
+	{
+		super.copyData(dest);
+		dest.repathInterval = repathInterval;
+	}
+
+	@Override
+	public void moveEnemy()
+	{
+		GameObject target = Fundementals.findClosest(this, targets);
+
+		if(target != null)
+		{
+			if(request != null && request.isDone())
+			{
+				follow(request.getPath(), target);
+				request = null;
+			}
+
+			if(request == null && repathCounter++ % repathInterval == 0)
+				request = stage.getPathFinder().request(centerX(), centerY(), target.centerX(), target.centerY());
+		}
+
+		super.moveEnemy();
+	}
+
+	/**
+	 * Replaces the waypoints with the given path. The drone stays at the last waypoint, or moves straight at the target if it is in the same cell.
+	 */
+	private void follow(int[] path, GameObject target)
+	{
+		clearData();
+		if(path == null)
+			return;
+
+		NavGrid grid = stage.getNavGrid();
+		int first = grid.cellAt(centerX(), centerY()) == path[0] ? 1 : 0;
+
+		if(first == path.length)
+			appendPath(target.loc.x, target.loc.y, Integer.MAX_VALUE, false, null);
+
+		for(int i = first; i < path.length; i++)
+			appendPath(grid.centerX(path[i]) - width / 2, grid.centerY(path[i]) - height / 2, i == path.length - 1 ? Integer.MAX_VALUE : 0, false, null);
+	}
+}
@@ -20,10 +20,16 @@ import kuusisto.tinysound.Sound;
 public class EvilDog extends Enemy
 {
 	public float thrust, drag, delta, vx, vy;
+	
+	/**
+	 * When true, the dog follows the flow field of its target around walls rather than heading straight at it, see {@code Stage.getFlowField}. It still passes through walls, for example when cutting corners.
+	 */
+	public boolean navigate;
 	private float maxDistance;
 	private boolean hunting;
 	private GameObject[] targets;
 	private Particle impact;
+	private final Vector2 norP = new Vector2();
 	private Animation<Image2D> idleImg, huntImg;
 	
 	/**
@@ -112,7 +118,8 @@ public class EvilDog extends Enemy
 			image = huntImg;
 			hunting = true;
 			
-			Vector2 norP = Fundementals.normalize(closest, this);
+			if(!navigate || !stage.getFlowField(closest).direction(centerX(), centerY(), norP))
+				Fundementals.normalize(closest, this, norP);
 			
 			float accelx = thrust * norP.x - drag * vx;
 			float accely = thrust * norP.y - drag * vy;
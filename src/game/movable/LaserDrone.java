@@ -26,6 +26,7 @@ public class LaserDrone extends PathDrone
 	private Particle exp;
 	private Color laserTint;
 	private final GameObject[] targets;
+	private final Vector2 point = new Vector2();
 	private LaserBeam firingBeam, chargeBeam;
 	
 	/**
@@ -190,9 +191,9 @@ public class LaserDrone extends PathDrone
 					x2 = (int) (target.loc.x + target.width  / 2),
 					y2 = (int) (target.loc.y + target.height / 2);
 				
-				Vector2 wallp = Fundementals.searchTile(x1,y1, x2,y2, stopTile);
+				Vector2 wallp = Fundementals.searchTile(x1,y1, x2,y2, stopTile, point);
 				if(wallp == null)
-					wallp = Fundementals.findEdgePoint(x1, y1, x2, y2);
+					wallp = Fundementals.findEdgePoint(x1, y1, x2, y2, point);
 				
 				targetX = wallp.x;
 				targetY = wallp.y;
@@ -35,6 +35,7 @@ public class Missile extends Projectile
 	private int trailerDelay, delayCounter, reloadCounter;
 	private boolean faceTarget, adjustTrailer, rotationAllowed;
 	private Particle trailer;
+	private final Vector2 rare = new Vector2();
 	GameObject currTarget;
 	
 	/**
@@ -116,13 +117,14 @@ public class Missile extends Projectile
 			vx = vx + delta * accelx;
 			vy = vy + delta * accely;
 			
+			float fromX = loc.x, fromY = loc.y;
 			loc.x = loc.x + delta * vx;
 			loc.y = loc.y + delta * vy;
 			
 			visible = true;
 			sounds.trySound(0, false);
 			
-			checkCollisions();
+			checkCollisions(fromX, fromY);
 		}
 		
 		if(faceTarget && rotationAllowed)
@@ -134,7 +136,7 @@ public class Missile extends Projectile
 		{
 			if(adjustTrailer)
 			{
-				Vector2 rare = getRarePosition();
+				getRarePosition(rare);
 				stage.add(trailer.getClone(rare.x - trailer.halfWidth(), rare.y - trailer.halfHeight()));
 			}
 			else
@@ -9,6 +9,7 @@ import game.objects.Particle;
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
 
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
 import kuusisto.tinysound.Sound;
@@ -18,7 +19,8 @@ import kuusisto.tinysound.Sound;
  * Once it can see a target, it will fire itself at the targets edgepoint, and spawn the specified {@code Particle} at impact.
  * Impact can occur either when colliding with any of the targets or hitting a wall.<br><br>
  * 
- * Targets hit by the {@code Projectile} will have its {@code HitEvent} fired.
+ * Targets hit by the {@code Projectile} will have its {@code HitEvent} fired.<br>
+ * With {@code setSwept}, the whole movement of a frame is tested for impact, so fast projectiles do not pass through thin walls or targets.
  * @author PojahnM
  */
 public class Projectile extends Enemy
@@ -29,7 +31,10 @@ public class Projectile extends Enemy
 	private Particle impact;
 	private ArrayList<GameObject> otherTargets;
 	private int reload, reloadCounter;
-	private boolean useOnce;
+	private boolean useOnce, swept;
+	private final Vector2 point = new Vector2();
+	private final Rectangle box = new Rectangle(), ownBox = new Rectangle();
+	private float enter, exit;
 	
 	/**
 	 * Creates a projectile.
@@ -72,6 +77,7 @@ public class Projectile extends Enemy
 		dest.targetX = targetX;
 		dest.targetY = targetY;
 		dest.useOnce = useOnce;
+		dest.swept = swept;
 		dest.reload = reload;
 	}
 	
@@ -97,7 +103,7 @@ public class Projectile extends Enemy
 			GameObject target = Fundementals.findClosestSeeable(this, targets);
 			if(target != null)
 			{
-				Vector2 edge = Fundementals.findEdgePoint(this, target);
+				Vector2 edge = Fundementals.findEdgePoint(this, target, point);
 				targetX = edge.x;
 				targetY = edge.y;
 			}
@@ -107,8 +113,9 @@ public class Projectile extends Enemy
 			visible = true;
 			sounds.trySound(0, false);
 			
+			float fromX = loc.x, fromY = loc.y;
 			moveToward(targetX, targetY, moveSpeed);
-			checkCollisions();
+			checkCollisions(fromX, fromY);
 		}		
 	}
 	
@@ -132,7 +139,7 @@ public class Projectile extends Enemy
 			subject.runHitEvent(this);
 		if(impact != null)
 		{
-			Vector2 front = getFrontPosition();
+			Vector2 front = getFrontPosition(point);
 			stage.add(impact.getClone(front.x - impact.halfWidth(), front.y - impact.halfHeight()));
 		}
 
@@ -191,6 +198,151 @@ public class Projectile extends Enemy
 		}
 	}
 	
+	/**
+	 * Checks the movement from the given point to the current position for collisions with tile, the targets and the "other targets".<br>
+	 * In case of collision, the projectile is placed where the earliest one occurred before {@code hit} is called, so the impact appears at the wall or target that was hit.<br>
+	 * Unless {@code setSwept} is enabled, and for movements shorter than the thickness of the projectile, only the current position is tested, see {@code checkCollisions()}.
+	 * @param fromX The X position before the movement.
+	 * @param fromY The Y position before the movement.
+	 */
+	protected void checkCollisions(float fromX, float fromY)
+	{
+		float endX = loc.x, endY = loc.y, dx = endX - fromX, dy = endY - fromY;
+		float length = Math.max(Math.abs(dx), Math.abs(dy)), thickness = Math.max(1, Math.min(width(), height()));
+		int steps = (int)Math.ceil(length / thickness);
+		
+		if(!swept || steps <= 1)
+		{
+			checkCollisions();
+			return;
+		}
+		
+		float first = 2;
+		GameObject subject = null;
+		
+		for(int i = 1; i <= steps; i++)
+		{
+			if(!canGoTo(fromX + dx * i / steps, fromY + dy * i / steps))
+			{
+				first = refine(null, fromX, fromY, dx, dy, (i - 1) / (float)steps, i / (float)steps, length);
+				break;
+			}
+		}
+		
+		Fundementals.getBoundingBox(this, ownBox);
+		float offsetX = ownBox.x - endX, offsetY = ownBox.y - endY;
+		
+		for (GameObject go : targets)
+		{
+			float t = sweep(go, fromX, fromY, dx, dy, offsetX, offsetY, first, thickness / length, length);
+			if(t < first)
+			{
+				first = t;
+				subject = go;
+			}
+		}
+		for (GameObject go : otherTargets)
+		{
+			float t = sweep(go, fromX, fromY, dx, dy, offsetX, offsetY, first, thickness / length, length);
+			if(t < first)
+			{
+				first = t;
+				subject = go;
+			}
+		}
+		
+		if(first <= 1)
+		{
+			loc.x = fromX + dx * first;
+			loc.y = fromY + dy * first;
+			hit(subject);
+		}
+		else
+		{
+			loc.x = endX;
+			loc.y = endY;
+		}
+	}
+	
+	/**
+	 * Returns the earliest point of the movement, as a fraction of it, where this projectile collides with the given object, or 2 if it does not before {@code before}.<br>
+	 * The segment is first tested against the bounding box of the object grown by the one of the projectile, and the hitboxes are only compared where they overlap.
+	 */
+	private float sweep(GameObject go, float fromX, float fromY, float dx, float dy, float offsetX, float offsetY, float before, float step, float length)
+	{
+		Fundementals.getBoundingBox(go, box);
+		if(!intersect(fromX + offsetX, fromY + offsetY, dx, dy, box.x - ownBox.width, box.y - ownBox.height, box.width + ownBox.width, box.height + ownBox.height) || enter >= before)
+			return 2;
+		
+		float last = Math.min(exit, before), previous = enter;
+		for(float t = enter; ; t = Math.min(t + step, last))
+		{
+			if(collides(go, fromX, fromY, dx, dy, t))
+				return t == enter ? t : refine(go, fromX, fromY, dx, dy, previous, t, length);
+			if(t == last)
+				return 2;
+			
+			previous = t;
+		}
+	}
+	
+	/**
+	 * Narrows down the point between {@code free} and {@code blocked} where the projectile starts to collide with tile, if {@code go} is null, or with {@code go}.
+	 */
+	private float refine(GameObject go, float fromX, float fromY, float dx, float dy, float free, float blocked, float length)
+	{
+		while((blocked - free) * length > 0.5f)
+		{
+			float t = (free + blocked) / 2;
+			boolean collides = go == null ? !canGoTo(fromX + dx * t, fromY + dy * t) : collides(go, fromX, fromY, dx, dy, t);
+			
+			if(collides)
+				blocked = t;
+			else
+				free = t;
+		}
+		return blocked;
+	}
+	
+	private boolean collides(GameObject go, float fromX, float fromY, float dx, float dy, float t)
+	{
+		loc.x = fromX + dx * t;
+		loc.y = fromY + dy * t;
+		
+		return collidesWith(go);
+	}
+	
+	/**
+	 * Intersects the segment with the rectangle, storing the fractions of the segment where it enters and exits it in {@code enter} and {@code exit}.
+	 * @return False if the segment misses the rectangle.
+	 */
+	private boolean intersect(float x, float y, float dx, float dy, float rx, float ry, float rw, float rh)
+	{
+		enter = 0;
+		exit = 1;
+		
+		return clip(x, dx, rx, rx + rw) && clip(y, dy, ry, ry + rh);
+	}
+	
+	private boolean clip(float start, float delta, float min, float max)
+	{
+		if(delta == 0)
+			return start >= min && start <= max;
+		
+		float t0 = (min - start) / delta, t1 = (max - start) / delta;
+		if(t0 > t1)
+		{
+			float temp = t0;
+			t0 = t1;
+			t1 = temp;
+		}
+		
+		enter = Math.max(enter, t0);
+		exit = Math.min(exit, t1);
+		
+		return enter <= exit;
+	}
+	
 	/**
 	 * Return the closest visible target, or null if no target is seeable.
 	 * @return The target.
@@ -269,6 +421,16 @@ public class Projectile extends Enemy
 		this.useOnce = useOnce;
 	}
 	
+	/**
+	 * Whether or not to test the whole movement of every frame for collisions rather than the end position only, which stops fast projectiles from passing through thin walls and targets.<br>
+	 * Disabled by default since it changes the outcome of existing replays.
+	 * @param swept True to enable the swept test.
+	 */
+	public void setSwept(boolean swept)
+	{
+		this.swept = swept;
+	}
+	
 	/**
 	 * In case the "use-once" property is disabled, the projectile will respawn on its initial position upon impact. The reload time is the amount of frames before a respawned {@code Projectile} can fire again.
 	 * @param reload The reload time, in frames.
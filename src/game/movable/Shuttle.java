@@ -28,7 +28,8 @@ public class Shuttle extends Enemy
 	
 	public float thrust, drag, delta, vx, vy;
 	private int counter;
-	private Vector2 waypointDirection;
+	private final Vector2 waypointDirection = new Vector2(), currentDirection = new Vector2();
+	private boolean newWaypoint = true;
 	private LinkedList<Waypoint> waypoints;
 	
 	/**
@@ -157,15 +158,18 @@ public class Shuttle extends Enemy
 			if(loc.x == wp.target.x && loc.y == wp.target.y)	//Make sure we don't get NaN when normalizing.
 				loc.x--;
 			
-			if(waypointDirection == null)
-				waypointDirection = Fundementals.normalize(loc.x, loc.y, wp.target.x, wp.target.y);
+			if(newWaypoint)
+			{
+				Fundementals.normalize(loc.x, loc.y, wp.target.x, wp.target.y, waypointDirection);
+				newWaypoint = false;
+			}
 			
-			Vector2 currentDirection = Fundementals.normalize(loc.x, loc.y, wp.target.x, wp.target.y);
+			Fundementals.normalize(loc.x, loc.y, wp.target.x, wp.target.y, currentDirection);
 			
 			if(waypointDirection.dot(currentDirection) < 0)
 			{
 				counter = ++counter % waypoints.size();
-				waypointDirection = null;
+				newWaypoint = true;
 				
 				if(wp.event != null)
 					wp.event.eventHandling();
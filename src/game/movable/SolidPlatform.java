@@ -3,6 +3,8 @@ package game.movable;
 import game.core.Engine;
 import game.core.Fundementals;
 import game.core.GameObject;
+import game.core.KinematicSolver;
+import game.core.KinematicSolver.Carrier;
 import game.core.MovableObject;
 import game.core.Stage;
 import game.essentials.Animation;
@@ -16,11 +18,12 @@ import kuusisto.tinysound.Sound;
 /**
  * A {@code SolidPlatform} represent a movable platform that subjects can stand and slide(if subject is a {@code GravityMan}) on.<br>
  * The platform can also be a tile deformer, meaning it will convert the tile the platform is standing on to the given tile.<br>
- * Furthermore, the {@code MovablePlatform} can behave like a "weak platform", meaning it will collapse after collision.
+ * Furthermore, the {@code MovablePlatform} can behave like a "weak platform", meaning it will collapse after collision.<br>
+ * When {@code Stage.batchPlatforms} is enabled, the subjects are carried by the {@code KinematicSolver} of the stage once all the enemies have moved.
  * @author Pojahn Moradi
  *
  */
-public class SolidPlatform extends PathDrone
+public class SolidPlatform extends PathDrone implements Carrier
 {
 	private MovableObject[] subjects;
 	private boolean weak, tileDeformer, transformBack, strict, harsh;
@@ -31,7 +34,7 @@ public class SolidPlatform extends PathDrone
 	private GameObject target;
 	private float targetOffsetX, targetOffsetY;
 	private int counter = 0;
-	private boolean collapsing;
+	private boolean collapsing, intact;
 	
 	/**
 	 * Constructs a {@code MovableObject}.
@@ -93,8 +96,9 @@ public class SolidPlatform extends PathDrone
 	{
 		onMe.clear();
 		
-		if(tileDeformer && transformBack)
-			deformBack();
+		int backX = (int) getPrevX(),
+			backY = (int) getPrevY();
+		boolean restored = tileDeformer && transformBack && restoreTiles();
 		
 		if(target == null)
 			super.moveEnemy();
@@ -106,32 +110,76 @@ public class SolidPlatform extends PathDrone
 		
 		if(collapsing && counter++ > destroyFrames)
 		{
+			if(restored)
+				stage.tilesChanged(backX + 1, backY + 1, (int)width - 3, (int)height - 3);
+			
 			Stage.getCurrentStage().discard(this);
 			return;
 		}
 		
 		if(tileDeformer)
-			deform();
+		{
+			boolean transformed = transformTiles(),
+					moved = (int)loc.x != backX || (int)loc.y != backY;
+			
+			/*
+			 * A platform that stays on the same tiles writes back the tiles it restored, so the stage is only notified when the data actually differs from last frame.
+			 */
+			if(restored && (moved || !intact))
+				stage.tilesChanged(backX + 1, backY + 1, (int)width - 3, (int)height - 3);
+			if(transformed && (moved || !restored))
+				stage.tilesChanged((int)loc.x + 1, (int)loc.y + 1, (int)width - 3, (int)height - 3);
+		}
+		
+		if(stage.batchPlatforms)
+		{
+			stage.getKinematicSolver().moved(this, loc.x - getPrevX(), loc.y - getPrevY());
+			return;
+		}
 		
 		for(MovableObject mo : subjects)
 		{
 			if(collides(mo))
 			{
-				if(weak)
-				{
-					collapsing = true;
-					
-					sounds.trySound(0, false);
-					if(destroyImage != null)
-						image = destroyImage;
-				}
-				
-				onMe.add(mo);
+				touched(mo);
 				adjust(mo, harsh);
 			}
 		}
 	}
 	
+	@Override
+	public void findRiders(KinematicSolver solver)
+	{
+		for(MovableObject mo : subjects)
+		{
+			if(collides(mo))
+			{
+				touched(mo);
+				solver.carry(this, mo, harsh);
+			}
+		}
+	}
+	
+	@Override
+	public Carrier getLeader()
+	{
+		return target instanceof Carrier ? (Carrier) target : null;
+	}
+	
+	private void touched(MovableObject mo)
+	{
+		if(weak)
+		{
+			collapsing = true;
+			
+			sounds.trySound(0, false);
+			if(destroyImage != null)
+				image = destroyImage;
+		}
+		
+		onMe.add(mo);
+	}
+	
 	/**
 	 * Checks whether or not the given {@code GameObject} is currently standing or sliding on this platform.
 	 * @return True if its standing or sliding on it.
@@ -252,24 +300,58 @@ public class SolidPlatform extends PathDrone
 	 * Transform the tile on the platforms previous position to the original type.
 	 */
 	protected void deformBack()
+	{
+		if(restoreTiles())
+			stage.tilesChanged((int)getPrevX() + 1, (int)getPrevY() + 1, (int)width - 3, (int)height - 3);
+	}
+	
+	/**
+	 * Transform the tile on the platforms current position to the set tile type.
+	 */
+	protected void deform()
+	{
+		if(transformTiles())
+			stage.tilesChanged((int)loc.x + 1, (int)loc.y + 1, (int)width - 3, (int)height - 3);
+	}
+	
+	/**
+	 * Writes the original tiles on the previous position without notifying the stage.<br>
+	 * {@code intact} is set to whether all the tiles were of the transform type before they were restored.
+	 * @return True if any tile was changed.
+	 */
+	private boolean restoreTiles()
 	{
 		byte[][] d = stage.stageData;
+		boolean changed = false;
+		intact = true;
+		
 		for(int x = 1; x < width - 2; x++)
 			for(int y = 1; y < height - 2; y++)
 			{
 				int posX = (int) (x + getPrevX());
 				int posY = (int) (y + getPrevY());
-
-				d[posY][posX] = stage.getCloneData(posX, posY); 
+				byte tile = stage.getCloneData(posX, posY);
+				
+				if(d[posY][posX] != transformTo)
+					intact = false;
+				if(d[posY][posX] != tile)
+				{
+					d[posY][posX] = tile;
+					changed = true;
+				}
 			}
+		
+		return changed;
 	}
 	
 	/**
-	 * Transform the tile on the platforms current position to the set tile type.
+	 * Writes the transform type on the current position without notifying the stage.
+	 * @return True if any tile was changed.
 	 */
-	protected void deform()
+	private boolean transformTiles()
 	{
-		byte[][] d = Stage.getCurrentStage().stageData;
+		byte[][] d = stage.stageData;
+		boolean changed = false;
 		
 		for(int x = 1; x < width - 2; x++)
 			for(int y = 1; y < height - 2; y++)
@@ -277,8 +359,14 @@ public class SolidPlatform extends PathDrone
 				int posX = (int) (x + loc.x);
 				int posY = (int) (y + loc.y);
 				
-				d[posY][posX] = transformTo; 
+				if(d[posY][posX] != transformTo)
+				{
+					d[posY][posX] = transformTo;
+					changed = true;
+				}
 			}
+		
+		return changed;
 	}
 	
 	/**
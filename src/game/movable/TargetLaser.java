@@ -28,6 +28,7 @@ public class TargetLaser extends PathDrone
 	private Particle impact;
 	private LaserBeam beam;
 	private Color laserTint;
+	private final Vector2 targetPoint = new Vector2(), frontPoint = new Vector2();
 	
 	/**
 	 * Constructs a {@code TargetLaser} instance.
@@ -77,12 +78,12 @@ public class TargetLaser extends PathDrone
 		
 		if(infBeam)
 		{
-			finalTarget = Fundementals.searchTile(cx, cy, tcx, tcy, stopTile);
+			finalTarget = Fundementals.searchTile(cx, cy, tcx, tcy, stopTile, targetPoint);
 			if(finalTarget == null)
-				finalTarget = Fundementals.findEdgePoint(cy, cy, tcx, tcy);
+				finalTarget = Fundementals.findEdgePoint(cy, cy, tcx, tcy, targetPoint);
 		}
 		else
-			finalTarget = new Vector2(tcx, tcy);
+			finalTarget = targetPoint.set(tcx, tcy);
 		
 		if(impact != null && ++delayCounter % delay == 0)
 			stage.add(impact.getClone(finalTarget.x - impact.width / 2, finalTarget.y - impact.height / 2));
@@ -96,7 +97,7 @@ public class TargetLaser extends PathDrone
 		
 		if(frontFire)
 		{
-			Vector2 front = getFrontPosition();
+			Vector2 front = getFrontPosition(frontPoint);
 			cx = front.x;
 			cy = front.y;
 		}
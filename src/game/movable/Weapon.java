@@ -23,6 +23,8 @@ public class Weapon extends PathDrone
 	private Particle firingParticle;
 	private Animation<Image2D> firingImage, orgImage;
 	private boolean usingTemp;
+	private final Vector2 point = new Vector2();
+	private GameObject aim;
 	
 	/**
 	 * Constructs a {@code Weapon}. The projectile to fire is set with {@code setProjectile} and is required to avoid a null pointer exception.
@@ -91,7 +93,7 @@ public class Weapon extends PathDrone
 				Particle partClone = null;
 				if(frontFire)
 				{
-					Vector2 front = getFrontPosition();
+					Vector2 front = getFrontPosition(point);
 					projClone = proj.getClone(front.x - proj.width / 2 + firingOffsetX, front.y - proj.height / 2 + firingOffsetY);
 					if(firingParticle != null)
 						partClone = firingParticle.getClone(front.x - firingParticle.width / 2 + firingOffsetX, front.y - firingParticle.height / 2 + firingOffsetY);
@@ -249,7 +251,7 @@ public class Weapon extends PathDrone
 	{
 		if(rotationSpeed == 0.0f)
 		{
-			Vector2 position = Fundementals.findEdgePoint(this, currTarget);
+			Vector2 position = Fundementals.findEdgePoint(this, currTarget, point);
 			targetX = position.x;
 			targetY = position.y;
 			return canSee(currTarget, Accuracy.MID);
@@ -258,17 +260,18 @@ public class Weapon extends PathDrone
 		float centerX = loc.x + width / 2;
 		float centerY = loc.y + height / 2;
 		
-		Vector2 front = getFrontPosition();
-		Vector2 edge = Fundementals.findEdgePoint(centerX, centerY, front.x, front.y);
-		Vector2 wall = Fundementals.findWallPoint(centerX, centerY, edge.x, edge.y);
+		Vector2 front = getFrontPosition(point);
+		Vector2 edge = Fundementals.findEdgePoint(centerX, centerY, front.x, front.y, point);
+		Vector2 wall = Fundementals.findWallPoint(centerX, centerY, edge.x, edge.y, point);
 		
-		GameObject dummy = new GameObject();
-		dummy.loc.x = currTarget.loc.x + currTarget.width / 2;
-		dummy.loc.y = currTarget.loc.y + currTarget.height / 2;
-		boolean targeting = Fundementals.checkLine((int)centerX, (int)centerY, (int)wall.x, (int)wall.y, dummy);
+		if(aim == null)
+			aim = new GameObject();
+		aim.loc.x = currTarget.loc.x + currTarget.width / 2;
+		aim.loc.y = currTarget.loc.y + currTarget.height / 2;
+		boolean targeting = Fundementals.checkLine((int)centerX, (int)centerY, (int)wall.x, (int)wall.y, aim);
 		if(targeting)
 		{
-			Vector2 edge2 = Fundementals.findEdgePoint(this, dummy);
+			Vector2 edge2 = Fundementals.findEdgePoint(this, aim, point);
 			targetX = edge2.x;
 			targetY = edge2.y;
 		}
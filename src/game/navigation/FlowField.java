@@ -0,0 +1,225 @@
+package game.navigation;
+
+import game.core.GameObject;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * The distance from every cell of a {@code NavGrid} to a target, along with the next cell to move to in order to get closer.<br>
+ * Any amount of entities chasing the same target can share one field, and each of them finds its direction in constant time. Use {@code Stage.getFlowField} to get the shared field of a target.<br><br>
+ *
+ * The field is computed with Dijkstra from the cell of the target, with a cost of 10 for straight moves and 14 for diagonal ones, up to {@code maxDistance} cells away.
+ * It is computed again when sampled after the target has moved to another cell or after the grid has changed, so a target that stays within a cell costs nothing.
+ * @author Pojahn Moradi
+ *
+ */
+public class FlowField implements NavGrid.Listener
+{
+	private static final int STRAIGHT = 10, DIAGONAL = 14, BUCKETS = DIAGONAL + 1;
+
+	/**
+	 * How far from the target to compute the field, in cells. Cells beyond are unreachable.
+	 */
+	public int maxDistance = 128;
+
+	private final NavGrid grid;
+	private final GameObject target;
+	private final int[] cost, next, stamp;
+	private final int[][] buckets;
+	private final int[] bucketSizes;
+	private int generation, goal = -1;
+	private boolean dirty;
+
+	/**
+	 * Creates a field toward the given target and registers it as a listener of the grid.
+	 */
+	public FlowField(NavGrid grid, GameObject target)
+	{
+		this.grid = grid;
+		this.target = target;
+
+		int cells = grid.cols * grid.rows;
+		cost = new int[cells];
+		next = new int[cells];
+		stamp = new int[cells];
+		buckets = new int[BUCKETS][64];
+		bucketSizes = new int[BUCKETS];
+
+		grid.addListener(this);
+	}
+
+	public GameObject getTarget()
+	{
+		return target;
+	}
+
+	/**
+	 * Stores the direction to move in from the given point to get closer to the target, as a unit vector.<br>
+	 * The direction points at the center of the next cell, or at the target itself when in the same cell as it.
+	 * @param x The X coordinate of the chaser, typically its center.
+	 * @param y The Y coordinate of the chaser.
+	 * @param out The vector to store the direction in.
+	 * @return False if the target can not be reached from the point, in which case {@code out} is left untouched.
+	 */
+	public boolean direction(float x, float y, Vector2 out)
+	{
+		refresh();
+
+		int cell = reachable(grid.cellAt(x, y));
+		if(cell == -1)
+			return false;
+
+		float tx, ty;
+		if(cell == goal)
+		{
+			tx = target.centerX();
+			ty = target.centerY();
+		}
+		else
+		{
+			tx = grid.centerX(next[cell]);
+			ty = grid.centerY(next[cell]);
+		}
+
+		float dx = tx - x, dy = ty - y;
+		float length = (float)Math.sqrt(dx * dx + dy * dy);
+		if(length == 0)
+			out.set(0, 0);
+		else
+			out.set(dx / length, dy / length);
+
+		return true;
+	}
+
+	/**
+	 * Returns the walking distance from the given point to the target, in cells.
+	 * @return The distance, or -1 if the target can not be reached from the point.
+	 */
+	public float distance(float x, float y)
+	{
+		refresh();
+
+		int cell = reachable(grid.cellAt(x, y));
+		return cell == -1 ? -1 : cost[cell] / (float)STRAIGHT;
+	}
+
+	/**
+	 * Unregisters the field from the grid.
+	 */
+	public void dispose()
+	{
+		grid.removeListener(this);
+	}
+
+	@Override
+	public void cellsChanged(int minCol, int minRow, int maxCol, int maxRow)
+	{
+		dirty = true;
+	}
+
+	/**
+	 * The given cell if it is in the field, or a neighboring cell that is, which happens when the chaser is next to a wall.
+	 */
+	private int reachable(int cell)
+	{
+		if(cell == -1)
+			return -1;
+		if(stamp[cell] == generation)
+			return cell;
+
+		int col = grid.col(cell), row = grid.row(cell), best = -1;
+		for(int dy = -1; dy <= 1; dy++)
+		{
+			for(int dx = -1; dx <= 1; dx++)
+			{
+				int c = col + dx, r = row + dy;
+				if(c >= 0 && r >= 0 && c < grid.cols && r < grid.rows)
+				{
+					int neighbor = grid.index(c, r);
+					if(stamp[neighbor] == generation && (best == -1 || cost[neighbor] < cost[best]))
+						best = neighbor;
+				}
+			}
+		}
+
+		return best;
+	}
+
+	private void refresh()
+	{
+		int cell = grid.nearestWalkable(grid.cellAt(target.centerX(), target.centerY()), 2);
+		if(cell == goal && !dirty)
+			return;
+
+		goal = cell;
+		dirty = false;
+		if(++generation == 0)
+		{
+			Arrays.fill(stamp, 0);
+			generation = 1;
+		}
+
+		if(goal == -1)
+			return;
+
+		int limit = maxDistance * STRAIGHT, cols = grid.cols;
+		Arrays.fill(bucketSizes, 0);
+		stamp[goal] = generation;
+		cost[goal] = 0;
+		next[goal] = goal;
+		add(0, goal);
+		int queued = 1;
+
+		for(int current = 0; queued > 0 && current <= limit; current++)
+		{
+			int b = current % BUCKETS;
+			int[] bucket = buckets[b];
+			int size = bucketSizes[b];
+			queued -= size;
+			bucketSizes[b] = 0;
+
+			for(int i = 0; i < size; i++)
+			{
+				int node = bucket[i];
+				if(cost[node] != current)
+					continue;
+
+				int col = node % cols, row = node / cols;
+				for(int dy = -1; dy <= 1; dy++)
+				{
+					for(int dx = -1; dx <= 1; dx++)
+					{
+						if(dx == 0 && dy == 0)
+							continue;
+
+						int c = col + dx, r = row + dy;
+						if(!grid.walkable(c, r) || (dx != 0 && dy != 0 && (!grid.walkable(col + dx, row) || !grid.walkable(col, row + dy))))
+							continue;
+
+						int neighbor = r * cols + c;
+						int value = current + (dx != 0 && dy != 0 ? DIAGONAL : STRAIGHT);
+						if(value <= limit && (stamp[neighbor] != generation || value < cost[neighbor]))
+						{
+							stamp[neighbor] = generation;
+							cost[neighbor] = value;
+							next[neighbor] = node;
+							add(value, neighbor);
+							queued++;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void add(int value, int cell)
+	{
+		int b = value % BUCKETS;
+		if(bucketSizes[b] == buckets[b].length)
+			buckets[b] = Arrays.copyOf(buckets[b], bucketSizes[b] * 2);
+
+		buckets[b][bucketSizes[b]++] = cell;
+	}
+}
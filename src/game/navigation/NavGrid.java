@@ -0,0 +1,225 @@
+package game.navigation;
+
+import game.core.Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A coarse grid over the stage data, telling which cells that can be traversed. Used for path finding.<br>
+ * A cell is blocked if any of its tiles is solid, so the cell size should be at least the size of the entities that navigate with it.<br><br>
+ *
+ * The grid is built once per stage, see {@code Stage.getNavGrid}, and is kept up to date through {@code Stage.tilesChanged}, which must be called by code that modifies the stage data.
+ * @author Pojahn Moradi
+ *
+ */
+public class NavGrid
+{
+	/**
+	 * Notified when cells of the grid become blocked or free.
+	 */
+	public interface Listener
+	{
+		/**
+		 * Called when at least one cell within the given range (inclusive) have changed.
+		 */
+		void cellsChanged(int minCol, int minRow, int maxCol, int maxRow);
+	}
+
+	/**
+	 * The width and height of a cell, in pixels.
+	 */
+	public final int cellSize;
+
+	/**
+	 * The dimension of the grid, in cells.
+	 */
+	public final int cols, rows;
+
+	private final byte[][] data;
+	private final boolean[] blocked;
+	private final List<Listener> listeners;
+	private int version;
+
+	/**
+	 * Builds a grid from the given stage data.
+	 * @param data The stage data.
+	 * @param cellSize The size of a cell, in pixels.
+	 */
+	public NavGrid(byte[][] data, int cellSize)
+	{
+		if(cellSize < 1)
+			throw new IllegalArgumentException("The cell size must be positive: " + cellSize);
+
+		this.data = data;
+		this.cellSize = cellSize;
+		cols = (data[0].length + cellSize - 1) / cellSize;
+		rows = (data.length + cellSize - 1) / cellSize;
+		blocked = new boolean[cols * rows];
+		listeners = new ArrayList<>(2);
+
+		for(int row = 0; row < rows; row++)
+			for(int col = 0; col < cols; col++)
+				blocked[row * cols + col] = scan(col, row);
+	}
+
+	/**
+	 * Checks if the given cell can be traversed. Cells outside the grid are blocked.
+	 */
+	public boolean walkable(int col, int row)
+	{
+		return col >= 0 && row >= 0 && col < cols && row < rows && !blocked[row * cols + col];
+	}
+
+	/**
+	 * Checks if the given cell can be traversed.
+	 * @param cell The index of the cell.
+	 */
+	public boolean walkable(int cell)
+	{
+		return !blocked[cell];
+	}
+
+	/**
+	 * Returns the index of the cell that contains the given point, or -1 if the point is outside the grid.
+	 */
+	public int cellAt(float x, float y)
+	{
+		int col = (int)Math.floor(x / cellSize), row = (int)Math.floor(y / cellSize);
+		return col >= 0 && row >= 0 && col < cols && row < rows ? row * cols + col : -1;
+	}
+
+	/**
+	 * Returns the index of the given cell.
+	 */
+	public int index(int col, int row)
+	{
+		return row * cols + col;
+	}
+
+	public int col(int cell)
+	{
+		return cell % cols;
+	}
+
+	public int row(int cell)
+	{
+		return cell / cols;
+	}
+
+	/**
+	 * The X coordinate of the center of the given cell.
+	 */
+	public float centerX(int cell)
+	{
+		return col(cell) * cellSize + cellSize / 2f;
+	}
+
+	/**
+	 * The Y coordinate of the center of the given cell.
+	 */
+	public float centerY(int cell)
+	{
+		return row(cell) * cellSize + cellSize / 2f;
+	}
+
+	/**
+	 * Returns the walkable cell closest to the given one, searching rings of cells around it.<br>
+	 * Useful for entities standing next to a wall, where the cell they are in contains solid tiles.
+	 * @param cell The cell to start from.
+	 * @param radius The maximum distance to search, in cells.
+	 * @return The cell, or -1 if there is no walkable cell within the radius.
+	 */
+	public int nearestWalkable(int cell, int radius)
+	{
+		if(cell < 0)
+			return -1;
+		if(!blocked[cell])
+			return cell;
+
+		int col = col(cell), row = row(cell);
+		for(int r = 1; r <= radius; r++)
+			for(int dy = -r; dy <= r; dy++)
+				for(int dx = -r; dx <= r; dx += (dy == -r || dy == r) ? 1 : 2 * r)
+					if(walkable(col + dx, row + dy))
+						return index(col + dx, row + dy);
+
+		return -1;
+	}
+
+	/**
+	 * Updates the cells covering the given area of the stage data and notifies the listeners if any of them changed.
+	 * @param x The X coordinate of the area, in tiles.
+	 * @param y The Y coordinate of the area, in tiles.
+	 * @param width The width of the area.
+	 * @param height The height of the area.
+	 */
+	public void tilesChanged(int x, int y, int width, int height)
+	{
+		int minCol = Math.max(0, x / cellSize), minRow = Math.max(0, y / cellSize),
+			maxCol = Math.min(cols - 1, (x + width - 1) / cellSize), maxRow = Math.min(rows - 1, (y + height - 1) / cellSize);
+		boolean changed = false;
+
+		for(int row = minRow; row <= maxRow; row++)
+		{
+			for(int col = minCol; col <= maxCol; col++)
+			{
+				boolean value = scan(col, row);
+				if(blocked[row * cols + col] != value)
+				{
+					blocked[row * cols + col] = value;
+					changed = true;
+				}
+			}
+		}
+
+		if(changed)
+		{
+			version++;
+			for(Listener listener : listeners)
+				listener.cellsChanged(minCol, minRow, maxCol, maxRow);
+		}
+	}
+
+	/**
+	 * Returns a number that is increased every time a cell changes.
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Checks if the grid was built from the given stage data.
+	 */
+	public boolean isBuiltFrom(byte[][] data)
+	{
+		return this.data == data;
+	}
+
+	public void addListener(Listener listener)
+	{
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener)
+	{
+		listeners.remove(listener);
+	}
+
+	private boolean scan(int col, int row)
+	{
+		int x0 = col * cellSize, y0 = row * cellSize,
+			x1 = Math.min(x0 + cellSize, data[0].length), y1 = Math.min(y0 + cellSize, data.length);
+
+		for(int y = y0; y < y1; y++)
+		{
+			byte[] line = data[y];
+			for(int x = x0; x < x1; x++)
+				if(line[x] == Engine.SOLID)
+					return true;
+		}
+
+		return false;
+	}
+}
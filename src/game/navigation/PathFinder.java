@@ -0,0 +1,536 @@
+package game.navigation;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Finds paths on a {@code NavGrid} with jump point search, an A* variant that skips the cells of straight runs and only expands the jump points, i e where the path may have to turn.<br>
+ * Diagonal moves are allowed, but never past the corner of a blocked cell.<br><br>
+ *
+ * Paths are requested rather than computed on the spot. {@code update} is called once a frame by the stage and computes the queued requests until {@code budget} cells have been visited, so the cost of path finding per frame is capped no matter how many entities that ask for paths.
+ * A search that is not done when the budget runs out is resumed the next frame. The budget is counted in cells rather than time, so that replays play out the same way.<br><br>
+ *
+ * Finished paths are cached by start and goal cell. When cells change, only the cached paths whose bounds cover the change are dropped, along with the failed searches, since a new opening may connect them.
+ * The cache is cleared every time the stage is built, so every attempt starts from the same state.
+ * @author Pojahn Moradi
+ *
+ */
+public class PathFinder implements NavGrid.Listener
+{
+	/**
+	 * A pending or finished path request.
+	 */
+	public static class Request
+	{
+		final int start, goal;
+		int[] path;
+		boolean done;
+
+		Request(int start, int goal)
+		{
+			this.start = start;
+			this.goal = goal;
+		}
+
+		/**
+		 * Whether or not the search is done.
+		 */
+		public boolean isDone()
+		{
+			return done;
+		}
+
+		/**
+		 * Returns the cells of the path, from the start to the goal. Only the start, the goal and the cells where the path turns are included.<br>
+		 * Consecutive cells are always connected by a straight or diagonal line of walkable cells.
+		 * @return The path, or null if there is no path or if the search is not done.
+		 */
+		public int[] getPath()
+		{
+			return path;
+		}
+	}
+
+	private static class Entry
+	{
+		final int[] path;
+		final int minCol, minRow, maxCol, maxRow;
+
+		Entry(int[] path, int minCol, int minRow, int maxCol, int maxRow)
+		{
+			this.path = path;
+			this.minCol = minCol;
+			this.minRow = minRow;
+			this.maxCol = maxCol;
+			this.maxRow = maxRow;
+		}
+	}
+
+	private static final float SQRT2 = (float)Math.sqrt(2);
+
+	/**
+	 * The maximum amount of cells to visit each frame.
+	 */
+	public int budget = 20000;
+
+	/**
+	 * How far away from a blocked start or goal cell to look for a walkable one, in cells.
+	 */
+	public int snapRadius = 2;
+
+	private final NavGrid grid;
+	private final int cols, rows;
+	private final Map<Long, Entry> cache;
+	private final Map<Long, Request> pending;
+	private final ArrayDeque<Request> queue;
+
+	private final float[] g, f;
+	private final int[] parent, seen, closed;
+	private int[] heap;
+	private float[] heapCost;
+	private int heapSize, generation, visits;
+	private Request current;
+
+	/**
+	 * Creates a path finder for the given grid and registers it as a listener of the grid.
+	 * @param grid The grid.
+	 * @param cacheSize The maximum amount of paths to cache. The least recently used path is dropped when full.
+	 */
+	public PathFinder(NavGrid grid, final int cacheSize)
+	{
+		this.grid = grid;
+		cols = grid.cols;
+		rows = grid.rows;
+
+		int cells = cols * rows;
+		g = new float[cells];
+		f = new float[cells];
+		parent = new int[cells];
+		seen = new int[cells];
+		closed = new int[cells];
+		heap = new int[64];
+		heapCost = new float[64];
+
+		cache = new LinkedHashMap<Long, Entry>(cacheSize, .75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest)
+			{
+				return size() > cacheSize;
+			}
+		};
+		pending = new HashMap<>();
+		queue = new ArrayDeque<>();
+
+		grid.addListener(this);
+	}
+
+	/**
+	 * Creates a path finder that caches up to 512 paths.
+	 */
+	public PathFinder(NavGrid grid)
+	{
+		this(grid, 512);
+	}
+
+	public NavGrid getGrid()
+	{
+		return grid;
+	}
+
+	/**
+	 * Requests a path between two points. Points in blocked cells are moved to the closest walkable cell within {@code snapRadius}.
+	 * @return The request, which is done right away if the path was cached or if either point is unreachable.
+	 */
+	public Request request(float x0, float y0, float x1, float y1)
+	{
+		return request(grid.nearestWalkable(grid.cellAt(x0, y0), snapRadius), grid.nearestWalkable(grid.cellAt(x1, y1), snapRadius));
+	}
+
+	/**
+	 * Requests a path between two cells. Identical requests that are pending at the same time share the same search.
+	 * @param start The start cell.
+	 * @param goal The goal cell.
+	 * @return The request, which is done right away if the path was cached or if either cell is unwalkable.
+	 */
+	public Request request(int start, int goal)
+	{
+		if(start < 0 || goal < 0 || !grid.walkable(start) || !grid.walkable(goal))
+		{
+			Request request = new Request(start, goal);
+			request.done = true;
+			return request;
+		}
+
+		Long key = key(start, goal);
+		Entry entry = cache.get(key);
+		if(entry != null)
+		{
+			Request request = new Request(start, goal);
+			request.path = entry.path;
+			request.done = true;
+			return request;
+		}
+
+		Request request = pending.get(key);
+		if(request == null)
+		{
+			request = new Request(start, goal);
+			pending.put(key, request);
+			queue.add(request);
+		}
+
+		return request;
+	}
+
+	/**
+	 * Computes queued requests until the budget is spent. Called once every frame by the stage.
+	 */
+	public void update()
+	{
+		visits = 0;
+		while(visits < budget)
+		{
+			if(current == null)
+			{
+				current = queue.poll();
+				if(current == null)
+					return;
+
+				begin(current);
+			}
+
+			if(search())
+			{
+				Entry entry = finish(current);
+				current.path = entry.path;
+				current.done = true;
+				cache.put(key(current.start, current.goal), entry);
+				pending.remove(key(current.start, current.goal));
+				current = null;
+			}
+		}
+	}
+
+	/**
+	 * Drops every cached path and pending request. Requests that were pending are completed without a path.
+	 */
+	public void clear()
+	{
+		for(Request request : pending.values())
+			request.done = true;
+
+		cache.clear();
+		pending.clear();
+		queue.clear();
+		current = null;
+		heapSize = 0;
+	}
+
+	/**
+	 * Returns the amount of requests that are waiting to be computed, including the one being computed.
+	 */
+	public int getQueueLength()
+	{
+		return queue.size() + (current == null ? 0 : 1);
+	}
+
+	@Override
+	public void cellsChanged(int minCol, int minRow, int maxCol, int maxRow)
+	{
+		Iterator<Entry> iter = cache.values().iterator();
+		while(iter.hasNext())
+		{
+			Entry entry = iter.next();
+			if(entry.path == null || (entry.minCol <= maxCol + 1 && entry.maxCol >= minCol - 1 && entry.minRow <= maxRow + 1 && entry.maxRow >= minRow - 1))
+				iter.remove();
+		}
+
+		if(current != null)
+		{
+			if(grid.walkable(current.start) && grid.walkable(current.goal))
+				begin(current);
+			else
+			{
+				pending.remove(key(current.start, current.goal));
+				current.done = true;
+				current = null;
+			}
+		}
+	}
+
+	private void begin(Request request)
+	{
+		if(++generation == 0)
+		{
+			Arrays.fill(seen, 0);
+			Arrays.fill(closed, 0);
+			generation = 1;
+		}
+
+		heapSize = 0;
+		open(request.start, -1, 0);
+	}
+
+	/**
+	 * Expands cells until the goal is reached, the open list is empty or the budget is spent.
+	 * @return True if the search is done.
+	 */
+	private boolean search()
+	{
+		int goal = current.goal;
+		while(heapSize > 0)
+		{
+			if(visits >= budget)
+				return false;
+
+			int node = pop();
+			if(closed[node] == generation)
+				continue;
+
+			closed[node] = generation;
+			visits++;
+
+			if(node == goal)
+				return true;
+
+			successors(node);
+		}
+
+		return true;
+	}
+
+	private Entry finish(Request request)
+	{
+		if(closed[request.goal] != generation)
+			return new Entry(null, 0, 0, cols - 1, rows - 1);
+
+		int length = 0;
+		for(int node = request.goal; node != -1; node = parent[node])
+			length++;
+
+		int[] path = new int[length];
+		int minCol = cols, minRow = rows, maxCol = 0, maxRow = 0;
+		for(int node = request.goal, i = length - 1; node != -1; node = parent[node], i--)
+		{
+			path[i] = node;
+			int col = node % cols, row = node / cols;
+			minCol = Math.min(minCol, col);
+			minRow = Math.min(minRow, row);
+			maxCol = Math.max(maxCol, col);
+			maxRow = Math.max(maxRow, row);
+		}
+
+		return new Entry(path, minCol, minRow, maxCol, maxRow);
+	}
+
+	private void successors(int node)
+	{
+		int x = node % cols, y = node / cols;
+		int p = parent[node];
+
+		if(p == -1)
+		{
+			for(int dy = -1; dy <= 1; dy++)
+				for(int dx = -1; dx <= 1; dx++)
+					if((dx != 0 || dy != 0) && canMove(x, y, dx, dy))
+						jumpFrom(node, x, y, dx, dy);
+			return;
+		}
+
+		int dx = Integer.signum(x - p % cols), dy = Integer.signum(y - p / cols);
+
+		if(dx != 0 && dy != 0)
+		{
+			boolean vertical = walkable(x, y + dy), horizontal = walkable(x + dx, y);
+			if(vertical)
+				jumpFrom(node, x, y, 0, dy);
+			if(horizontal)
+				jumpFrom(node, x, y, dx, 0);
+			if(vertical && horizontal)
+				jumpFrom(node, x, y, dx, dy);
+		}
+		else if(dx != 0)
+		{
+			boolean next = walkable(x + dx, y), up = walkable(x, y - 1), down = walkable(x, y + 1);
+			if(next)
+			{
+				jumpFrom(node, x, y, dx, 0);
+				if(up)
+					jumpFrom(node, x, y, dx, -1);
+				if(down)
+					jumpFrom(node, x, y, dx, 1);
+			}
+			if(up)
+				jumpFrom(node, x, y, 0, -1);
+			if(down)
+				jumpFrom(node, x, y, 0, 1);
+		}
+		else
+		{
+			boolean next = walkable(x, y + dy), left = walkable(x - 1, y), right = walkable(x + 1, y);
+			if(next)
+			{
+				jumpFrom(node, x, y, 0, dy);
+				if(left)
+					jumpFrom(node, x, y, -1, dy);
+				if(right)
+					jumpFrom(node, x, y, 1, dy);
+			}
+			if(left)
+				jumpFrom(node, x, y, -1, 0);
+			if(right)
+				jumpFrom(node, x, y, 1, 0);
+		}
+	}
+
+	private void jumpFrom(int node, int x, int y, int dx, int dy)
+	{
+		int jumpPoint = jump(x + dx, y + dy, dx, dy);
+		if(jumpPoint == -1 || closed[jumpPoint] == generation)
+			return;
+
+		int jx = jumpPoint % cols, jy = jumpPoint / cols;
+		open(jumpPoint, node, g[node] + octile(Math.abs(jx - x), Math.abs(jy - y)));
+	}
+
+	/**
+	 * Walks from the given cell in the given direction until a jump point, the goal or a blocked cell is found.
+	 * @return The jump point, or -1 if there is none in that direction.
+	 */
+	private int jump(int x, int y, int dx, int dy)
+	{
+		int goalX = current.goal % cols, goalY = current.goal / cols;
+
+		while(true)
+		{
+			if(!walkable(x, y))
+				return -1;
+
+			visits++;
+			if(x == goalX && y == goalY)
+				return y * cols + x;
+
+			if(dx != 0 && dy != 0)
+			{
+				if(jump(x + dx, y, dx, 0) != -1 || jump(x, y + dy, 0, dy) != -1)
+					return y * cols + x;
+				if(!walkable(x + dx, y) || !walkable(x, y + dy))
+					return -1;
+			}
+			else if(dx != 0)
+			{
+				if((walkable(x, y - 1) && !walkable(x - dx, y - 1)) || (walkable(x, y + 1) && !walkable(x - dx, y + 1)))
+					return y * cols + x;
+			}
+			else if((walkable(x - 1, y) && !walkable(x - 1, y - dy)) || (walkable(x + 1, y) && !walkable(x + 1, y - dy)))
+				return y * cols + x;
+
+			x += dx;
+			y += dy;
+		}
+	}
+
+	private boolean canMove(int x, int y, int dx, int dy)
+	{
+		return walkable(x + dx, y + dy) && (dx == 0 || dy == 0 || (walkable(x + dx, y) && walkable(x, y + dy)));
+	}
+
+	private boolean walkable(int x, int y)
+	{
+		return grid.walkable(x, y);
+	}
+
+	private void open(int cell, int from, float cost)
+	{
+		if(seen[cell] == generation && g[cell] <= cost)
+			return;
+
+		seen[cell] = generation;
+		g[cell] = cost;
+		parent[cell] = from;
+
+		int goal = current.goal;
+		f[cell] = cost + octile(Math.abs(cell % cols - goal % cols), Math.abs(cell / cols - goal / cols));
+		push(cell);
+	}
+
+	private static float octile(int dx, int dy)
+	{
+		return dx + dy + (SQRT2 - 2) * Math.min(dx, dy);
+	}
+
+	/**
+	 * Adds the cell to the open list. A cell that is opened again with a lower cost is added again, and the old entry is skipped since the cell is closed when it is popped.
+	 */
+	private void push(int cell)
+	{
+		if(heapSize == heap.length)
+		{
+			heap = Arrays.copyOf(heap, heapSize * 2);
+			heapCost = Arrays.copyOf(heapCost, heapSize * 2);
+		}
+
+		float cost = f[cell];
+		int i = heapSize++;
+		while(i > 0)
+		{
+			int up = (i - 1) / 2;
+			if(!before(cost, cell, heapCost[up], heap[up]))
+				break;
+			heap[i] = heap[up];
+			heapCost[i] = heapCost[up];
+			i = up;
+		}
+		heap[i] = cell;
+		heapCost[i] = cost;
+	}
+
+	private int pop()
+	{
+		int top = heap[0];
+		int last = heap[--heapSize];
+		float lastCost = heapCost[heapSize];
+		int i = 0;
+
+		while(true)
+		{
+			int child = 2 * i + 1;
+			if(child >= heapSize)
+				break;
+			if(child + 1 < heapSize && before(heapCost[child + 1], heap[child + 1], heapCost[child], heap[child]))
+				child++;
+			if(!before(heapCost[child], heap[child], lastCost, last))
+				break;
+			heap[i] = heap[child];
+			heapCost[i] = heapCost[child];
+			i = child;
+		}
+		if(heapSize > 0)
+		{
+			heap[i] = last;
+			heapCost[i] = lastCost;
+		}
+
+		return top;
+	}
+
+	/**
+	 * Orders the open list by cost, and by cell index when the costs are equal so that ties are broken the same way every time.
+	 */
+	private static boolean before(float cost1, int cell1, float cost2, int cell2)
+	{
+		return cost1 < cost2 || (cost1 == cost2 && cell1 < cell2);
+	}
+
+	private static Long key(int start, int goal)
+	{
+		return ((long)start << 32) | (goal & 0xFFFFFFFFL);
+	}
+}
@@ -0,0 +1,211 @@
+package game.network;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Uploads saved replays to a {@code ScoreServer} in the background.<br>
+ * {@code submit} only queues the path of the replay and returns immediately. A daemon thread uploads the queued replays in batches over a single connection and retries with an increasing delay while the server can not be reached.<br>
+ * The queue is saved to {@code replays/upload.queue}, so replays saved while offline are uploaded the next time the game is started.
+ * @author Pojahn Moradi
+ *
+ */
+public class ScoreClient
+{
+	/**
+	 * The maximum amount of replays sent over one connection.
+	 */
+	public static final int BATCH_SIZE = 20;
+
+	private static final int LINGER = 500, MIN_BACKOFF = 1000, MAX_BACKOFF = 5 * 60 * 1000, TIMEOUT = 10000;
+	private static ScoreClient CLIENT;
+
+	private final InetSocketAddress address;
+	private final File queueFile;
+	private final LinkedList<String> pending;
+	private boolean dirty;
+
+	/**
+	 * Starts the client that uploads to the given server. Does nothing if a client already is running.
+	 * @param server The host name of the server, optionally followed by a colon and the port.
+	 */
+	public static synchronized void start(String server)
+	{
+		if(CLIENT != null)
+			return;
+
+		int index = server.lastIndexOf(':');
+		String host = index == -1 ? server : server.substring(0, index);
+		int port = index == -1 ? ScoreProtocol.DEFAULT_PORT : Integer.parseInt(server.substring(index + 1));
+
+		CLIENT = new ScoreClient(new InetSocketAddress(host, port), new File("replays/upload.queue"));
+
+		Thread t = new Thread(CLIENT::run, "Score Client");
+		t.setDaemon(true);
+		t.setPriority(Thread.MIN_PRIORITY);
+		t.start();
+	}
+
+	/**
+	 * Returns the running client.
+	 * @return The client or null if no server is configured.
+	 */
+	public static synchronized ScoreClient getClient()
+	{
+		return CLIENT;
+	}
+
+	private ScoreClient(InetSocketAddress address, File queueFile)
+	{
+		this.address = address;
+		this.queueFile = queueFile;
+		pending = new LinkedList<>();
+	}
+
+	/**
+	 * Queues the replay at the given path for upload. Never blocks.
+	 * @param path The path to the {@code .hs} file.
+	 */
+	public synchronized void submit(String path)
+	{
+		pending.add(path);
+		dirty = true;
+		notifyAll();
+	}
+
+	private void run()
+	{
+		loadQueue();
+		int backoff = MIN_BACKOFF;
+
+		while(true)
+		{
+			try
+			{
+				List<String> batch;
+				synchronized(this)
+				{
+					while(pending.isEmpty())
+						wait();
+
+					wait(LINGER);
+					batch = new ArrayList<>(pending.subList(0, Math.min(BATCH_SIZE, pending.size())));
+				}
+				saveQueue();
+
+				try
+				{
+					upload(batch);
+					synchronized(this)
+					{
+						pending.removeAll(batch);
+						dirty = true;
+					}
+					saveQueue();
+					backoff = MIN_BACKOFF;
+				}
+				catch(IOException e)
+				{
+					Thread.sleep(backoff);
+					backoff = Math.min(backoff * 2, MAX_BACKOFF);
+				}
+			}
+			catch(InterruptedException e)
+			{
+				return;
+			}
+		}
+	}
+
+	private void upload(List<String> batch) throws IOException
+	{
+		List<String> sent = new ArrayList<>(batch.size());
+		Socket socket = new Socket();
+		try
+		{
+			socket.connect(address, TIMEOUT);
+			socket.setSoTimeout(TIMEOUT);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+			for(String path : batch)
+			{
+				File file = new File(path);
+				if(!file.isFile())
+					continue;
+
+				ScoreProtocol.writeFrame(out, ScoreProtocol.SUBMIT, ScoreProtocol.compress(Files.readAllBytes(file.toPath())));
+				sent.add(path);
+			}
+			out.flush();
+
+			for(String path : sent)
+			{
+				byte[] response = ScoreProtocol.readFrame(in);
+				if(response.length > 0 && response[0] == ScoreProtocol.REJECTED)
+					System.err.println("The high score server rejected " + path);
+			}
+		}
+		finally
+		{
+			socket.close();
+		}
+	}
+
+	private synchronized void loadQueue()
+	{
+		if(!queueFile.exists())
+			return;
+
+		try(BufferedReader in = new BufferedReader(new FileReader(queueFile)))
+		{
+			String line;
+			while((line = in.readLine()) != null)
+				if(!line.isEmpty() && !pending.contains(line))
+					pending.add(line);
+		}
+		catch(IOException e)
+		{
+			System.err.println("Could not read the upload queue.");
+			e.printStackTrace();
+		}
+	}
+
+	private void saveQueue()
+	{
+		List<String> copy;
+		synchronized(this)
+		{
+			if(!dirty)
+				return;
+
+			dirty = false;
+			copy = new ArrayList<>(pending);
+		}
+
+		try(PrintWriter out = new PrintWriter(new FileWriter(queueFile)))
+		{
+			for(String path : copy)
+				out.println(path);
+		}
+		catch(IOException e)
+		{
+			System.err.println("Could not save the upload queue.");
+			e.printStackTrace();
+		}
+	}
+}
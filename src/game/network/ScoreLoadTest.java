@@ -0,0 +1,217 @@
+package game.network;
+
+import game.core.Stage.Difficulty;
+import game.essentials.Controller.PressedButtons;
+import game.essentials.HighScore;
+import stages.stress.StressMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test for {@code ScoreServer}.<br>
+ * Simulates a large amount of players that connect at the same time and submit replays, of which some are duplicates, and finally asks for a top list.<br>
+ * The replays are submitted for {@code StressMap}, since the server only accepts stage classes. The process exits with status 1 if none of them was stored.<br>
+ * Unless {@code -port} is given, a server is started in this process with a temporary directory.<br>
+ * Usage: {@code ScoreLoadTest [-port n] [-clients n] [-submissions n] [-duplicates fraction] [-frames n]}
+ * @author Pojahn Moradi
+ *
+ */
+public class ScoreLoadTest
+{
+	public static void main(String[] args) throws Exception
+	{
+		int port = -1, clients = 2000, submissions = 5, frames = 3600;
+		double duplicates = .2;
+
+		for(int i = 0; i < args.length; i++)
+		{
+			switch(args[i])
+			{
+				case "-port":
+					port = Integer.parseInt(args[++i]);
+					break;
+				case "-clients":
+					clients = Integer.parseInt(args[++i]);
+					break;
+				case "-submissions":
+					submissions = Integer.parseInt(args[++i]);
+					break;
+				case "-duplicates":
+					duplicates = Double.parseDouble(args[++i]);
+					break;
+				case "-frames":
+					frames = Integer.parseInt(args[++i]);
+					break;
+				default:
+					System.err.println("Usage: ScoreLoadTest [-port n] [-clients n] [-submissions n] [-duplicates fraction] [-frames n]");
+					System.exit(2);
+			}
+		}
+
+		ScoreServer server = null;
+		if(port == -1)
+		{
+			File dir = Files.createTempDirectory("scoreserver").toFile();
+			server = new ScoreServer(0, dir);
+			server.start();
+			port = server.getPort();
+			System.out.println("Started a local server on port " + port + " in " + dir);
+		}
+
+		final byte[][] shared = new byte[16][];
+		for(int i = 0; i < shared.length; i++)
+			shared[i] = ScoreProtocol.compress(ScoreProtocol.serialize(createReplay(new Random(i), frames)));
+
+		final int thePort = port, theSubmissions = submissions, theFrames = frames;
+		final double theDuplicates = duplicates;
+		final long[] latencies = new long[clients * submissions];
+		final AtomicInteger next = new AtomicInteger(), stored = new AtomicInteger(), duplicated = new AtomicInteger(), rejected = new AtomicInteger(), failed = new AtomicInteger();
+		final CountDownLatch ready = new CountDownLatch(clients), go = new CountDownLatch(1), done = new CountDownLatch(clients);
+
+		for(int i = 0; i < clients; i++)
+		{
+			final int id = i;
+			Thread t = new Thread(() ->
+			{
+				Random r = new Random(id + 1000);
+				try(Socket socket = new Socket("localhost", thePort))
+				{
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+					DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+					ready.countDown();
+					go.await();
+
+					for(int j = 0; j < theSubmissions; j++)
+					{
+						byte[] payload = r.nextDouble() < theDuplicates ? shared[r.nextInt(shared.length)] : ScoreProtocol.compress(ScoreProtocol.serialize(createReplay(r, theFrames)));
+
+						long start = System.nanoTime();
+						ScoreProtocol.writeFrame(out, ScoreProtocol.SUBMIT, payload);
+						out.flush();
+						byte[] response = ScoreProtocol.readFrame(in);
+						latencies[next.getAndIncrement()] = System.nanoTime() - start;
+
+						if(response[0] == ScoreProtocol.STORED)
+							stored.incrementAndGet();
+						else if(response[0] == ScoreProtocol.DUPLICATE)
+							duplicated.incrementAndGet();
+						else
+							rejected.incrementAndGet();
+					}
+				}
+				catch(IOException | InterruptedException e)
+				{
+					failed.incrementAndGet();
+					ready.countDown();
+				}
+				finally
+				{
+					done.countDown();
+				}
+			}, "Submitter " + i);
+			t.setDaemon(true);
+			t.start();
+		}
+
+		ready.await();
+		long start = System.nanoTime();
+		go.countDown();
+		done.await();
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		long[] measured = Arrays.copyOf(latencies, next.get());
+		Arrays.sort(measured);
+
+		System.out.println(String.format("%d clients, %d submissions in %.2f sec (%.0f/sec)", clients, measured.length, seconds, measured.length / seconds));
+		System.out.println(String.format("Stored: %d, duplicates: %d, rejected: %d, failed clients: %d", stored.get(), duplicated.get(), rejected.get(), failed.get()));
+		if(measured.length > 0)
+			System.out.println(String.format("Latency p50: %.1f ms, p99: %.1f ms, max: %.1f ms", percentile(measured, .5), percentile(measured, .99), measured[measured.length - 1] / 1e6));
+
+		printTop(port);
+
+		if(server != null)
+			server.close();
+
+		if(stored.get() == 0)
+		{
+			System.err.println("No submission was stored, the server rejected all of them.");
+			System.exit(1);
+		}
+	}
+
+	private static HighScore createReplay(Random r, int frames)
+	{
+		List<PressedButtons> inputs = new LinkedList<>();
+		for(int i = 0; i < frames; i++)
+		{
+			PressedButtons pb = new PressedButtons();
+			pb.left = r.nextInt(4) == 0;
+			pb.right = !pb.left && r.nextBoolean();
+			pb.up = r.nextInt(8) == 0;
+			inputs.add(pb);
+		}
+
+		List<List<PressedButtons>> replays = new LinkedList<>();
+		replays.add(inputs);
+
+		HighScore hs = new HighScore();
+		hs.name = "Player" + r.nextInt(1000);
+		hs.stageName = "Stress Map";
+		hs.className = StressMap.class;
+		hs.difficulty = Difficulty.NORMAL;
+		hs.result = "Victorious";
+		hs.date = "2015-01-01";
+		hs.time = 30 + r.nextInt(3000) / 10.0;
+		hs.meta = "";
+		hs.seed = r.nextLong();
+		hs.replays = replays;
+
+		return hs;
+	}
+
+	private static void printTop(int port) throws IOException
+	{
+		try(Socket socket = new Socket("localhost", port))
+		{
+			DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream query = new DataOutputStream(bytes);
+			query.writeUTF(StressMap.class.getName());
+			query.writeByte(Difficulty.NORMAL.ordinal());
+			query.writeInt(5);
+			query.flush();
+
+			long start = System.nanoTime();
+			ScoreProtocol.writeFrame(out, ScoreProtocol.TOP, bytes.toByteArray());
+			out.flush();
+			DataInputStream response = new DataInputStream(new ByteArrayInputStream(ScoreProtocol.readFrame(in)));
+
+			int count = response.readInt();
+			System.out.println(String.format("Top %d answered in %.1f ms:", count, (System.nanoTime() - start) / 1e6));
+			for(int i = 0; i < count; i++)
+				System.out.println("\t" + response.readUTF() + "\t" + response.readDouble() + " sec\t" + response.readUTF());
+		}
+	}
+
+	private static double percentile(long[] sorted, double p)
+	{
+		return sorted[Math.min(sorted.length - 1, (int)(sorted.length * p))] / 1e6;
+	}
+}
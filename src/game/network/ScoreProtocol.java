@@ -0,0 +1,240 @@
+package game.network;
+
+import game.core.Stage;
+import game.core.Stage.Difficulty;
+import game.essentials.Controller.PressedButtons;
+import game.essentials.HighScore;
+import game.essentials.StateChecksum;
+import game.movable.PathDrone.PathData;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The wire format shared by {@code ScoreServer} and {@code ScoreClient}.<br>
+ * Every message is a frame: an {@code int} with the length of the rest of the frame, followed by the content. Requests start with a type byte.<br>
+ * {@code SUBMIT} carries a gzip compressed, serialized {@code HighScore} and is answered with a single status byte.<br>
+ * {@code TOP} carries the stage class name(UTF), the difficulty ordinal(byte, -1 for none) and the amount of entries(int). It is answered with the amount of entries followed by name(UTF), time(double) and date(UTF) of each.<br>
+ * Requests can be pipelined. The responses arrive in the same order as the requests.
+ * @author Pojahn Moradi
+ *
+ */
+public final class ScoreProtocol
+{
+	public static final int DEFAULT_PORT = 5342;
+
+	/**
+	 * The largest frame accepted, in bytes.
+	 */
+	public static final int MAX_FRAME = 4 * 1024 * 1024;
+
+	/**
+	 * The largest replay accepted after decompression, in bytes.
+	 */
+	public static final int MAX_REPLAY = 32 * 1024 * 1024;
+
+	/**
+	 * The deepest object graph and the longest array accepted in a high score.
+	 */
+	public static final int MAX_DEPTH = 16, MAX_ARRAY = 65_536;
+
+	public static final byte SUBMIT = 1, TOP = 2;
+	public static final byte STORED = 0, DUPLICATE = 1, REJECTED = 2;
+
+	/**
+	 * The classes a high score is made of: the replay, the checksums, the difficulty, the meta data the stages save and the types they are built from.
+	 */
+	private static final Set<String> ALLOWED = new HashSet<>(Arrays.asList(
+		HighScore.class.getName(),
+		StateChecksum.class.getName(),
+		PressedButtons.class.getName(),
+		Difficulty.class.getName(),
+		PathData.class.getName(),
+		Vector2.class.getName(),
+		ArrayList.class.getName(),
+		LinkedList.class.getName(),
+		String.class.getName(),
+		Enum.class.getName(),
+		Number.class.getName(),
+		Boolean.class.getName(),
+		Character.class.getName(),
+		Byte.class.getName(),
+		Short.class.getName(),
+		Integer.class.getName(),
+		Long.class.getName(),
+		Float.class.getName(),
+		Double.class.getName()));
+
+	private static final String LIMITS = "maxdepth=" + MAX_DEPTH + ";maxarray=" + MAX_ARRAY + ";maxbytes=" + MAX_REPLAY;
+
+	private ScoreProtocol() {}
+
+	public static byte[] compress(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+		GZIPOutputStream out = new GZIPOutputStream(bytes);
+		out.write(data);
+		out.close();
+
+		return bytes.toByteArray();
+	}
+
+	public static byte[] decompress(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 4);
+		InputStream in = new GZIPInputStream(new ByteArrayInputStream(data));
+		byte[] buffer = new byte[8192];
+		int read;
+
+		while((read = in.read(buffer)) != -1)
+		{
+			bytes.write(buffer, 0, read);
+			if(bytes.size() > MAX_REPLAY)
+				throw new IOException("The replay is too large.");
+		}
+		return bytes.toByteArray();
+	}
+
+	public static byte[] serialize(Object obj) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(obj);
+		out.close();
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Deserializes a high score received from the network.<br>
+	 * Only the classes a high score is made of, arrays of them and arrays of primitives are accepted. Stage classes are accepted as class references, which is how {@code HighScore.className} is stored.<br>
+	 * The depth of the object graph and the length of the arrays are limited by {@code MAX_DEPTH} and {@code MAX_ARRAY}.
+	 * @param data The serialized object.
+	 * @return The high score.
+	 * @throws IOException If the data is not a valid high score.
+	 */
+	public static HighScore deserialize(byte[] data) throws IOException
+	{
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))
+		{
+			@Override
+			protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException
+			{
+				String name = desc.getName();
+				String plain = name;
+				if(name.startsWith("["))
+				{
+					plain = name.replaceFirst("^\\[+", "");
+					if(plain.length() == 1)
+						return super.resolveClass(desc);
+					plain = plain.substring(1, plain.length() - 1);
+				}
+
+				if(!ALLOWED.contains(plain) && !isStage(plain))
+					throw new InvalidClassException(name, "Not allowed in a high score.");
+
+				return super.resolveClass(desc);
+			}
+		};
+		limit(in);
+
+		try
+		{
+			Object obj = in.readObject();
+			if(!(obj instanceof HighScore))
+				throw new IOException("Not a high score.");
+
+			return (HighScore) obj;
+		}
+		catch(ClassNotFoundException e)
+		{
+			throw new IOException(e);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	private static boolean isStage(String name)
+	{
+		try
+		{
+			return Stage.class.isAssignableFrom(Class.forName(name, false, ScoreProtocol.class.getClassLoader()));
+		}
+		catch(ClassNotFoundException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Installs a serialization filter with the depth and array limits on the given stream.<br>
+	 * The filter API is {@code java.io.ObjectInputFilter} from Java 9 and {@code sun.misc.ObjectInputFilter} on Java 8 update 121 and later, so it is looked up reflectively.
+	 */
+	private static void limit(ObjectInputStream in) throws IOException
+	{
+		try
+		{
+			Class<?> filter = Class.forName("java.io.ObjectInputFilter");
+			Object limits = Class.forName("java.io.ObjectInputFilter$Config").getMethod("createFilter", String.class).invoke(null, LIMITS);
+			ObjectInputStream.class.getMethod("setObjectInputFilter", filter).invoke(in, limits);
+			return;
+		}
+		catch(ClassNotFoundException e)
+		{
+		}
+		catch(ReflectiveOperationException e)
+		{
+			throw new IOException("Could not limit the high score.", e);
+		}
+
+		try
+		{
+			Class<?> filter = Class.forName("sun.misc.ObjectInputFilter");
+			Class<?> config = Class.forName("sun.misc.ObjectInputFilter$Config");
+			Object limits = config.getMethod("createFilter", String.class).invoke(null, LIMITS);
+			config.getMethod("setObjectInputFilter", ObjectInputStream.class, filter).invoke(null, in, limits);
+		}
+		catch(ReflectiveOperationException e)
+		{
+			throw new IOException("Serialization filters are not supported by this JVM. Java 8 update 121 or later is required.", e);
+		}
+	}
+
+	static void writeFrame(DataOutputStream out, byte type, byte[] payload) throws IOException
+	{
+		out.writeInt(payload.length + 1);
+		out.writeByte(type);
+		out.write(payload);
+	}
+
+	static byte[] readFrame(DataInputStream in) throws IOException
+	{
+		int length = in.readInt();
+		if(length < 0 || length > MAX_FRAME)
+			throw new IOException("Illegal frame length: " + length);
+
+		byte[] frame = new byte[length];
+		in.readFully(frame);
+
+		return frame;
+	}
+}
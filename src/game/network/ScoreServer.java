@@ -0,0 +1,409 @@
+package game.network;
+
+import game.core.Stage.Difficulty;
+import game.essentials.HighScore;
+import game.essentials.ScoreStore;
+import game.essentials.ScoreStore.Record;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A non-blocking high score server.<br>
+ * One thread multiplexes every connection with a {@code Selector}, while the uploads and queries are handled in order on a second thread. Replays are stored under the hash of their content, so the same replay uploaded twice is only stored once.<br>
+ * The stored replays are indexed by a {@code ScoreStore}, which also answers the leaderboard queries.<br>
+ * Usage: {@code ScoreServer [-port n] [-dir path]}
+ * @author Pojahn Moradi
+ *
+ */
+public class ScoreServer implements Runnable
+{
+	/**
+	 * The largest top list a client can ask for.
+	 */
+	public static final int MAX_TOP = 100;
+
+	private final File dir;
+	private final ScoreStore store;
+	private final Set<String> hashes;
+	private final Selector selector;
+	private final ServerSocketChannel server;
+	private final ExecutorService processor;
+	private final Queue<Runnable> selectorTasks;
+	private volatile boolean running;
+
+	public static void main(String[] args) throws IOException
+	{
+		int port = ScoreProtocol.DEFAULT_PORT;
+		File dir = new File("server-replays");
+
+		for(int i = 0; i < args.length; i++)
+		{
+			if(args[i].equals("-port"))
+				port = Integer.parseInt(args[++i]);
+			else if(args[i].equals("-dir"))
+				dir = new File(args[++i]);
+			else
+			{
+				System.err.println("Usage: ScoreServer [-port n] [-dir path]");
+				System.exit(2);
+			}
+		}
+
+		ScoreServer server = new ScoreServer(port, dir);
+		System.out.println("Listening on port " + server.getPort() + ", storing replays in " + dir.getAbsolutePath());
+		server.run();
+	}
+
+	/**
+	 * Opens the server socket on localhost. Call {@code run} to start serving.
+	 * @param port The port to listen on, or 0 to pick a free one.
+	 * @param dir The directory to store the replays in.
+	 * @throws IOException If the socket or the store could not be opened.
+	 */
+	public ScoreServer(int port, File dir) throws IOException
+	{
+		this.dir = dir;
+		store = new ScoreStore(dir);
+		store.compact();
+
+		hashes = Collections.synchronizedSet(new HashSet<>());
+		File[] files = dir.listFiles();
+		if(files != null)
+			for(File file : files)
+				if(file.getName().endsWith(".hs"))
+					hashes.add(file.getName().substring(0, file.getName().length() - 3));
+
+		selector = Selector.open();
+		server = ServerSocketChannel.open();
+		server.bind(new InetSocketAddress("localhost", port), 1024);
+		server.configureBlocking(false);
+		server.register(selector, SelectionKey.OP_ACCEPT);
+
+		processor = Executors.newSingleThreadExecutor();
+		selectorTasks = new ConcurrentLinkedQueue<>();
+	}
+
+	/**
+	 * The port the server is listening on.
+	 * @return The port.
+	 */
+	public int getPort()
+	{
+		return server.socket().getLocalPort();
+	}
+
+	/**
+	 * Starts the server on a daemon thread.
+	 * @return The thread.
+	 */
+	public Thread start()
+	{
+		Thread t = new Thread(this, "Score Server");
+		t.setDaemon(true);
+		t.start();
+
+		return t;
+	}
+
+	/**
+	 * Stops the server and closes all connections.
+	 */
+	public void close()
+	{
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run()
+	{
+		running = true;
+		try
+		{
+			while(running)
+			{
+				selector.select();
+
+				Runnable task;
+				while((task = selectorTasks.poll()) != null)
+					task.run();
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext())
+				{
+					SelectionKey key = keys.next();
+					keys.remove();
+
+					try
+					{
+						if(!key.isValid())
+							continue;
+						if(key.isAcceptable())
+							accept();
+						else
+						{
+							Connection con = (Connection) key.attachment();
+							if(key.isReadable())
+								con.read();
+							if(key.isValid() && key.isWritable())
+								con.write();
+						}
+					}
+					catch(IOException e)
+					{
+						if(key.attachment() != null)
+							((Connection)key.attachment()).close();
+					}
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			System.err.println("The score server crashed.");
+			e.printStackTrace();
+		}
+		finally
+		{
+			processor.shutdown();
+			for(SelectionKey key : selector.keys())
+			{
+				try
+				{
+					key.channel().close();
+				}
+				catch(IOException e) {}
+			}
+			try
+			{
+				selector.close();
+			}
+			catch(IOException e) {}
+		}
+	}
+
+	private void accept() throws IOException
+	{
+		SocketChannel channel;
+		while((channel = server.accept()) != null)
+		{
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+			Connection con = new Connection(channel);
+			con.key = channel.register(selector, SelectionKey.OP_READ, con);
+		}
+	}
+
+	private byte[] handle(byte[] frame)
+	{
+		try
+		{
+			byte[] payload = new byte[frame.length - 1];
+			System.arraycopy(frame, 1, payload, 0, payload.length);
+
+			switch(frame[0])
+			{
+				case ScoreProtocol.SUBMIT:
+					return new byte[]{submit(payload)};
+				case ScoreProtocol.TOP:
+					return top(payload);
+				default:
+					return new byte[]{ScoreProtocol.REJECTED};
+			}
+		}
+		catch(Exception e)
+		{
+			return new byte[]{ScoreProtocol.REJECTED};
+		}
+	}
+
+	private byte submit(byte[] payload) throws IOException
+	{
+		byte[] replay = ScoreProtocol.decompress(payload);
+		String hash = hash(replay);
+
+		if(hashes.contains(hash))
+			return ScoreProtocol.DUPLICATE;
+
+		HighScore hs = ScoreProtocol.deserialize(replay);
+		if(hs.className == null || hs.replays == null || hs.result == null)
+			return ScoreProtocol.REJECTED;
+
+		String path = dir.getPath() + "/" + hash + ".hs";
+		FileOutputStream out = new FileOutputStream(path);
+		try
+		{
+			out.write(replay);
+		}
+		finally
+		{
+			out.close();
+		}
+
+		hashes.add(hash);
+		store.add(hs, path);
+
+		return ScoreProtocol.STORED;
+	}
+
+	private byte[] top(byte[] payload) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		String className = in.readUTF();
+		int difficulty = in.readByte();
+		int n = Math.min(MAX_TOP, in.readInt());
+
+		List<Record> top = store.top(className, difficulty < 0 ? null : Difficulty.values()[difficulty], n);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(top.size());
+		for(Record record : top)
+		{
+			out.writeUTF(record.name);
+			out.writeDouble(record.time);
+			out.writeUTF(record.date);
+		}
+		out.flush();
+
+		return bytes.toByteArray();
+	}
+
+	private static String hash(byte[] data)
+	{
+		try
+		{
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+			StringBuilder bu = new StringBuilder(digest.length * 2);
+			for(byte b : digest)
+				bu.append(String.format("%02x", b));
+
+			return bu.toString();
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	private class Connection
+	{
+		SocketChannel channel;
+		SelectionKey key;
+		ByteBuffer in;
+		LinkedList<ByteBuffer> out;
+
+		Connection(SocketChannel channel)
+		{
+			this.channel = channel;
+			in = ByteBuffer.allocate(8192);
+			out = new LinkedList<>();
+		}
+
+		void read() throws IOException
+		{
+			if(channel.read(in) == -1)
+			{
+				close();
+				return;
+			}
+
+			in.flip();
+			while(in.remaining() >= 4)
+			{
+				int length = in.getInt(in.position());
+				if(length <= 0 || length > ScoreProtocol.MAX_FRAME)
+				{
+					close();
+					return;
+				}
+
+				if(in.remaining() < length + 4)
+				{
+					if(in.capacity() < length + 4)
+					{
+						ByteBuffer bigger = ByteBuffer.allocate(length + 4);
+						bigger.put(in);
+						in = bigger;
+						return;
+					}
+					break;
+				}
+
+				in.getInt();
+				final byte[] frame = new byte[length];
+				in.get(frame);
+
+				processor.execute(() ->
+				{
+					byte[] response = handle(frame);
+					selectorTasks.add(() -> send(response));
+					selector.wakeup();
+				});
+			}
+			in.compact();
+		}
+
+		void send(byte[] response)
+		{
+			if(!key.isValid())
+				return;
+
+			ByteBuffer buffer = ByteBuffer.allocate(response.length + 4);
+			buffer.putInt(response.length);
+			buffer.put(response);
+			buffer.flip();
+
+			out.add(buffer);
+			key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+
+		void write() throws IOException
+		{
+			while(!out.isEmpty())
+			{
+				ByteBuffer buffer = out.getFirst();
+				channel.write(buffer);
+
+				if(buffer.hasRemaining())
+					return;
+
+				out.removeFirst();
+			}
+			key.interestOps(SelectionKey.OP_READ);
+		}
+
+		void close()
+		{
+			key.cancel();
+			try
+			{
+				channel.close();
+			}
+			catch(IOException e) {}
+		}
+	}
+}
@@ -3,21 +3,26 @@ package game.objects;
 import game.core.Engine;
 import game.core.GameObject;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Allows easy creation of a flash GFX, which is displayed over the entire screen.<br>
- * The flash starts at full strength and fade down.
+ * The flash starts at full strength and fade down.<br>
+ * A flash created from a color shares its texture with its clones. The texture is disposed once the original and all the clones have been dismissed or disposed, so a template flash kept in a field should be disposed with the stage.
  * @author Pojahn Moradi
  */
-public class Flash extends GameObject
+public class Flash extends GameObject implements Disposable
 {
 	private float duration, framesAlive;
 	private Texture flashImage;
+	private int[] users;
+	private boolean holdsImage;
 	
 	{
 		zIndex(10_000);
@@ -36,8 +41,10 @@ public class Flash extends GameObject
 		px.setColor(color);
 		px.fill();
 		
-		this.flashImage = new Texture(px); 
+		this.flashImage = ResourceTracker.track(new Texture(px)); 
 		px.dispose();
+		users = new int[]{1};
+		holdsImage = true;
 	}
 	
 	/**
@@ -73,15 +80,53 @@ public class Flash extends GameObject
 			Stage.getCurrentStage().discard(this);
 	}
 	
+	/**
+	 * Releases this flash's share of the texture. The texture is disposed when it was created by the flash and no other clone is using it.
+	 */
+	@Override
+	public void dismiss()
+	{
+		release();
+	}
+	
+	/**
+	 * Same as {@code dismiss}. Allows a template flash stored in a stage field to be disposed with the stage.
+	 */
+	@Override
+	public void dispose()
+	{
+		release();
+	}
+	
 	@Override
 	public Flash getClone(float x, float y) 
 	{
 		Flash flash = new Flash(flashImage,duration);
 		copyData(flash);
 		
+		if(users != null)
+		{
+			users[0]++;
+			flash.users = users;
+			flash.holdsImage = true;
+		}
+		
 		if(cloneEvent != null)
 			cloneEvent.cloned(flash);
 		
 		return flash;
 	}
+	
+	private void release()
+	{
+		if(holdsImage)
+		{
+			holdsImage = false;
+			if(--users[0] == 0)
+			{
+				flashImage.dispose();
+				ResourceTracker.released(flashImage);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -21,7 +21,6 @@ public class Shrapnel extends Particle
 	private ExplosionType expType;
 	private boolean once;
 	private int min, max;
-	private Random r = new Random();
 	
 	/**
 	 * Constructs a {@code Shrapnel}.
@@ -64,6 +63,7 @@ public class Shrapnel extends Particle
 			}
 			else
 			{
+				Random r = s.getRandom();
 				int splits = r.nextInt(max - min) + min,
 					width  = Stage.getCurrentStage().size.width,
 					height = Stage.getCurrentStage().size.height;
@@ -9,6 +9,7 @@ import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Animation;
 import game.essentials.Factory;
@@ -22,7 +23,6 @@ import java.io.File;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -56,10 +56,10 @@ public class SquareTown extends StageBuilder
 			
 			flagImg = Image2D.loadImages(new File("res/climb/flag"), false);
 			
-			collect1  = TinySound.loadSound(new File("res/general/collect1.wav"));
-			collect2  = TinySound.loadSound(new File("res/general/collect2.wav"));
-			crabMove1 = TinySound.loadMusic(new File("res/blocks/crabMoveLoop.wav"));
-			crabMove2 = TinySound.loadMusic(new File("res/blocks/crabMoveLoop.wav"));
+			collect1  = ResourceTracker.loadSound(new File("res/general/collect1.wav"));
+			collect2  = ResourceTracker.loadSound(new File("res/general/collect2.wav"));
+			crabMove1 = ResourceTracker.loadMusic(new File("res/blocks/crabMoveLoop.wav"));
+			crabMove2 = ResourceTracker.loadMusic(new File("res/blocks/crabMoveLoop.wav"));
 			
 			game.timeColor = Color.WHITE;
 			lethalDamage = -5;
@@ -7,6 +7,7 @@ import game.core.GameObject.Hitbox;
 import game.core.MainCharacter.CharacterState;
 import game.core.MovableObject;
 import game.development.AutoInstall;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Factory;
 import game.essentials.Animation;
@@ -14,7 +15,6 @@ import game.essentials.Image2D;
 import game.movable.Boo;
 import java.io.File;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 @AutoInstall(mainPath="res/general", path="res/ghostbridge")
@@ -45,10 +45,10 @@ public class GhostBridge extends StageBuilder
 			gateImg 	= new Image2D("res/ghostbridge/gate.png",false);
 			weakImg 	= new Image2D("res/ghostbridge/block.png",false);
 			
-			removeBlock = TinySound.loadSound(new File(("res/ghostbridge/blockremove.wav")));
-			boo			= TinySound.loadSound(new File(("res/ghostbridge/boo.wav")));
-			collect		= TinySound.loadSound(new File(("res/general/collect1.wav")));
-			collect2	= TinySound.loadSound(new File(("res/ghostbridge/collect.wav")));
+			removeBlock = ResourceTracker.loadSound(new File(("res/ghostbridge/blockremove.wav")));
+			boo			= ResourceTracker.loadSound(new File(("res/ghostbridge/boo.wav")));
+			collect		= ResourceTracker.loadSound(new File(("res/general/collect1.wav")));
+			collect2	= ResourceTracker.loadSound(new File(("res/ghostbridge/collect.wav")));
 			
 			removeBlock.setVolume(0.4f);
 			collect.setVolume(0.4f);
@@ -7,6 +7,7 @@ import game.core.GameObject.Hitbox;
 import game.core.MainCharacter.CharacterState;
 import game.core.MovableObject;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.CameraEffect;
 import game.essentials.Controller;
 import game.essentials.Factory;
@@ -24,7 +25,6 @@ import java.util.Random;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.Gdx;
@@ -76,17 +76,17 @@ public class CollapsingCave extends Stage
 			foregroundImg = new Image2D("res/collapsingcave/foreground.png", false);
 			deathImg      = Image2D.loadImages(new File("res/general/main/death"), false);
 			
-			stageImage       = new Pixmap(new FileHandle("res/collapsingcave/stage.png"));
+			stageImage       = ResourceTracker.track(new Pixmap(new FileHandle("res/collapsingcave/stage.png")));
 			
-			collapsing = TinySound.loadMusic(new File("res/collapsingcave/collapsing.wav"));
-			drilling   = TinySound.loadMusic(new File("res/collapsingcave/drilling.wav"));
-			collect    = TinySound.loadSound(new File("res/general/collect3.wav"));
-			jump       = TinySound.loadSound(new File("res/general/jump.wav"));
-			exp1       = TinySound.loadSound(new File("res/collapsingcave/exp1.wav"));
-			exp2       = TinySound.loadSound(new File("res/collapsingcave/exp2.wav"));
-			exp3       = TinySound.loadSound(new File("res/collapsingcave/exp3.wav"));
-			exp4       = TinySound.loadSound(new File("res/collapsingcave/exp4.wav"));
-			slam       = TinySound.loadSound(new File("res/collapsingcave/slam.wav"));
+			collapsing = ResourceTracker.loadMusic(new File("res/collapsingcave/collapsing.wav"));
+			drilling   = ResourceTracker.loadMusic(new File("res/collapsingcave/drilling.wav"));
+			collect    = ResourceTracker.loadSound(new File("res/general/collect3.wav"));
+			jump       = ResourceTracker.loadSound(new File("res/general/jump.wav"));
+			exp1       = ResourceTracker.loadSound(new File("res/collapsingcave/exp1.wav"));
+			exp2       = ResourceTracker.loadSound(new File("res/collapsingcave/exp2.wav"));
+			exp3       = ResourceTracker.loadSound(new File("res/collapsingcave/exp3.wav"));
+			exp4       = ResourceTracker.loadSound(new File("res/collapsingcave/exp4.wav"));
+			slam       = ResourceTracker.loadSound(new File("res/collapsingcave/slam.wav"));
 			
 			ps = new ParticleEffect();
 			ps.load(new FileHandle("res/collapsingcave/muzzle.p"), new FileHandle("res/collapsingcave"));
@@ -94,7 +94,7 @@ public class CollapsingCave extends Stage
 			ps.getEmitters().get(0).setContinuous(true);
 			ps.start();
 			
-			setStageMusic(TinySound.loadMusic(new File("res/collapsingcave/song.ogg"), true), 0f, 1.0f);
+			setStageMusic(ResourceTracker.loadMusic(new File("res/collapsingcave/song.ogg"), true), 0f, 1.0f);
 		}
 		catch(Exception e)
 		{
@@ -6,6 +6,7 @@ import game.core.Fundementals;
 import game.core.GameObject;
 import game.core.GameObject.Hitbox;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.Animation;
 import game.essentials.BigImage;
 import game.essentials.BigImage.RenderOption;
@@ -24,7 +25,6 @@ import game.objects.Wind;
 import java.io.File;
 
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -71,13 +71,13 @@ public class ClimbMe extends Stage
 
 			backgroundImg = new BigImage("res/climb/background.png", RenderOption.PORTION);
 			foregroundImg = new BigImage("res/climb/foreground.png", RenderOption.PORTION);
-			stageImage 	  = new Pixmap(new FileHandle("res/climb/map.png"));
+			stageImage 	  = ResourceTracker.track(new Pixmap(new FileHandle("res/climb/map.png")));
 
-			jump       = TinySound.loadSound(new File(("res/general/jump.wav")));
-			cannonfire = TinySound.loadSound(new File(("res/climb/cannonfire.wav")));
-			bumper	   = TinySound.loadSound(new File(("res/climb/bumper.wav")));
-			arrowfire  = TinySound.loadSound(new File(("res/climb/arrowfire.wav")));
-			collapse   = TinySound.loadSound(new File(("res/climb/collapsing.wav")));
+			jump       = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
+			cannonfire = ResourceTracker.loadSound(new File(("res/climb/cannonfire.wav")));
+			bumper	   = ResourceTracker.loadSound(new File(("res/climb/bumper.wav")));
+			arrowfire  = ResourceTracker.loadSound(new File(("res/climb/arrowfire.wav")));
+			collapse   = ResourceTracker.loadSound(new File(("res/climb/collapsing.wav")));
 
 			setStageMusic("res/climb/song.ogg", 0, 1.0f);
 		}
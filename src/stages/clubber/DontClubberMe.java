@@ -5,6 +5,7 @@ import game.core.GameObject;
 import game.core.GameObject.Event;
 import game.core.MainCharacter.CharacterState;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.Controller;
 import game.essentials.Factory;
 import game.essentials.Animation;
@@ -18,7 +19,6 @@ import game.movable.Weapon;
 import game.objects.Particle;
 import java.io.File;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
@@ -40,14 +40,14 @@ public class DontClubberMe extends Stage
 	{
 		try
 		{
-			explodesound	= TinySound.loadSound(new File(("res/clubber/explode.wav")));
-			firesound		= TinySound.loadSound(new File(("res/clubber/fire.wav")));
-			collectSound	= TinySound.loadSound(new File(("res/clubber/collect.wav")));
-			jump			= TinySound.loadSound(new File(("res/general/jump.wav")));
+			explodesound	= ResourceTracker.loadSound(new File(("res/clubber/explode.wav")));
+			firesound		= ResourceTracker.loadSound(new File(("res/clubber/fire.wav")));
+			collectSound	= ResourceTracker.loadSound(new File(("res/clubber/collect.wav")));
+			jump			= ResourceTracker.loadSound(new File(("res/general/jump.wav")));
 			
 			backgroundImg = new Image2D("res/clubber/background.png",false);
 			foregroundImg = new Image2D("res/clubber/foreground.png",false);
-			stageImage	= new Pixmap(new FileHandle("res/clubber/stage.png"));
+			stageImage	= ResourceTracker.track(new Pixmap(new FileHandle("res/clubber/stage.png")));
 			keyimg		= new Image2D("res/clubber/key.png",false);
 			pressure1	= new Image2D("res/clubber/pressure1.png",true);
 			pressure2	= new Image2D("res/clubber/pressurerot.png",true);
@@ -63,7 +63,7 @@ public class DontClubberMe extends Stage
 			mainImage	= Image2D.loadImages(new File("res/general/main"),false);
 			deathImg	= Image2D.loadImages(new File("res/general/main/death"),false);
 
-			setStageMusic(TinySound.loadMusic(new File("res/clubber/song.ogg"),true), 0, 1.0f);
+			setStageMusic(ResourceTracker.loadMusic(new File("res/clubber/song.ogg"),true), 0, 1.0f);
 			
 		}
 		catch(Exception e)
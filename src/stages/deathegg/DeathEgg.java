@@ -10,6 +10,7 @@ import game.core.MainCharacter;
 import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Animation;
 import game.essentials.BigImage;
@@ -38,7 +39,6 @@ import java.io.File;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -95,17 +95,17 @@ public class DeathEgg extends StageBuilder
 		exp			= Image2D.loadImages(new File(PATH + "/exp"));
 		telepipe	= new Image2D(PATH + "/telepipe.png");
 		button		= new Image2D("res/flyingb/buttonimage.png");
-		map 		= new Pixmap(new FileHandle(PATH + "/map.png"));
+		map 		= ResourceTracker.track(new Pixmap(new FileHandle(PATH + "/map.png")));
 		stageData = Utilities.createStageData(map);
 		
 		foregroundImg = new BigImage(PATH + "/foreground.png", RenderOption.PORTION);
 		backgroundImg = new BigImage(PATH + "/background.png", RenderOption.PARALLAX_REPEAT);
 		backgroundImg.setScrollRatio(.5f);
 		
-		jump	= TinySound.loadSound(new File("res/general/jump.wav"));
-		collect	= TinySound.loadSound(new File("res/steelfactory/collectsound.wav"));
-		elevator= TinySound.loadSound(new File("res/steelfactory/elevator.wav"));
-		slam	= TinySound.loadSound(new File("res/orbitalstation/slam.wav"));
+		jump	= ResourceTracker.loadSound(new File("res/general/jump.wav"));
+		collect	= ResourceTracker.loadSound(new File("res/steelfactory/collectsound.wav"));
+		elevator= ResourceTracker.loadSound(new File("res/steelfactory/elevator.wav"));
+		slam	= ResourceTracker.loadSound(new File("res/orbitalstation/slam.wav"));
 		
 		setStageMusic(PATH + "/song.ogg", 0.45, .7f);
 		
@@ -13,6 +13,7 @@ import game.core.MovableObject.TileEvent;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.CameraEffect;
 import game.essentials.Factory;
@@ -35,7 +36,6 @@ import java.util.ArrayList;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -78,16 +78,16 @@ public class SteelFactory extends StageBuilder
 			firingAnim = Image2D.loadImages(new File("res/clubber/gunfire"));
 			metExplode = Image2D.loadImages(new File("res/shroom/explosion"));
 			
-			tick1 = TinySound.loadSound(new File(("res/steelfactory/tick.wav")));
-			tick2 = TinySound.loadSound(new File(("res/steelfactory/tick.wav")));
-			buzz1 = TinySound.loadSound(new File(("res/steelfactory/buzz.wav")));
-			buzz2 = TinySound.loadSound(new File(("res/steelfactory/buzz.wav")));
-			buzz3 = TinySound.loadSound(new File(("res/steelfactory/buzz.wav")));
-			buzz4 = TinySound.loadSound(new File(("res/steelfactory/buzz.wav")));
-			boom  = TinySound.loadSound(new File(("res/shroom/boom.wav")));
-			mfire = TinySound.loadSound(new File(("res/clubber/fire.wav")));
-			exp   = TinySound.loadSound(new File(("res/collapsingcave/exp2.wav")));
-			sexp  = TinySound.loadSound(new File(("res/collapsingcave/exp1.wav")));
+			tick1 = ResourceTracker.loadSound(new File(("res/steelfactory/tick.wav")));
+			tick2 = ResourceTracker.loadSound(new File(("res/steelfactory/tick.wav")));
+			buzz1 = ResourceTracker.loadSound(new File(("res/steelfactory/buzz.wav")));
+			buzz2 = ResourceTracker.loadSound(new File(("res/steelfactory/buzz.wav")));
+			buzz3 = ResourceTracker.loadSound(new File(("res/steelfactory/buzz.wav")));
+			buzz4 = ResourceTracker.loadSound(new File(("res/steelfactory/buzz.wav")));
+			boom  = ResourceTracker.loadSound(new File(("res/shroom/boom.wav")));
+			mfire = ResourceTracker.loadSound(new File(("res/clubber/fire.wav")));
+			exp   = ResourceTracker.loadSound(new File(("res/collapsingcave/exp2.wav")));
+			sexp  = ResourceTracker.loadSound(new File(("res/collapsingcave/exp1.wav")));
 			
 			setStageMusic(song, 4.48f, .7f);
 			magicfire.setVolume(0.65f);
@@ -7,6 +7,7 @@ import game.core.GameObject.Hitbox;
 import game.core.MovableObject;
 import game.core.MainCharacter.CharacterState;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.Controller;
 import game.essentials.Factory;
 import game.essentials.Animation;
@@ -22,7 +23,6 @@ import game.movable.Weapon;
 import game.objects.Particle;
 import java.io.File;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
@@ -62,13 +62,13 @@ public class FlyingBattery extends Stage
 			firingImg    = Image2D.loadImages(new File("res/flyingb/fireanim"),false);
 			coinImg      = Image2D.loadImages(new File("res/general/starcoin"),false);
 			deathImg          = Image2D.loadImages(new File("res/general/main/death"),false);
-			stageImage        = new Pixmap(new FileHandle("res/flyingb/stage.png"));
+			stageImage        = ResourceTracker.track(new Pixmap(new FileHandle("res/flyingb/stage.png")));
 			
-			doorOpen = TinySound.loadSound(new File(("res/flyingb/open.wav")));
-			pushed   = TinySound.loadSound(new File(("res/flyingb/pushed.wav")));
-			pipefire = TinySound.loadSound(new File(("res/flyingb/pipefire.wav")));
-			jump     = TinySound.loadSound(new File(("res/general/jump.wav")));
-			tankfire = TinySound.loadSound(new File(("res/flyingb/tankfire.wav")));
+			doorOpen = ResourceTracker.loadSound(new File(("res/flyingb/open.wav")));
+			pushed   = ResourceTracker.loadSound(new File(("res/flyingb/pushed.wav")));
+			pipefire = ResourceTracker.loadSound(new File(("res/flyingb/pipefire.wav")));
+			jump     = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
+			tankfire = ResourceTracker.loadSound(new File(("res/flyingb/tankfire.wav")));
 			
 			setStageMusic("res/flyingb/song.ogg", 1.318f, .6f);
 		}
@@ -5,6 +5,7 @@ import game.core.GameObject.Event;
 import game.core.GameObject.Hitbox;
 import game.core.MainCharacter.CharacterState;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.BigImage;
 import game.essentials.Controller;
 import game.essentials.Factory;
@@ -22,7 +23,6 @@ import game.objects.Particle;
 import java.io.File;
 
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -53,13 +53,13 @@ public class GreenHill extends Stage
 			deathImg	 = Image2D.loadImages(new File("res/general/main/death"),false);
 			platformImg  = new Image2D("res/hill/platform.png");
 			pooImg  	 = new Image2D("res/hill/poo.png");
-			stageImage	= new Pixmap(new FileHandle("res/hill/map.png"));
+			stageImage	= ResourceTracker.track(new Pixmap(new FileHandle("res/hill/map.png")));
 			foregroundImg = new BigImage("res/hill/foreground.png", RenderOption.PORTION);
 			backgroundImg = new BigImage("res/hill/background.png", RenderOption.PORTION);
 			
-			jump        = TinySound.loadSound(new File(("res/general/jump.wav")));
-			collectRing = TinySound.loadSound(new File(("res/hill/collectring.wav")));
-			pooSplash   = TinySound.loadSound(new File(("res/hill/splash.wav")));
+			jump        = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
+			collectRing = ResourceTracker.loadSound(new File(("res/hill/collectring.wav")));
+			pooSplash   = ResourceTracker.loadSound(new File(("res/hill/splash.wav")));
 			setStageMusic("res/hill/song.ogg", 4.05, 1.0f);
 		}
 		catch(Exception e)
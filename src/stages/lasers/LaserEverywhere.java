@@ -6,6 +6,7 @@ import game.core.GameObject.Event;
 import game.core.GameObject.HitEvent;
 import game.core.MainCharacter.CharacterState;
 import game.development.AutoInstall;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.GFX;
 import game.essentials.Image2D;
@@ -18,7 +19,6 @@ import java.io.File;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -50,15 +50,15 @@ public class LaserEverywhere extends StageBuilder
 			flagImg		= Image2D.loadImages(new File("res/lasereverywhere/flag"),false);
 			dummyImg	= new Image2D("res/lasereverywhere/dummy.png");
 			
-			laserLoop = TinySound.loadMusic(new File(("res/lasereverywhere/laser.wav")));
-			boom1     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom2     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom3     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom4     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom5     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom6     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom7     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
-			boom8     = TinySound.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			laserLoop = ResourceTracker.loadMusic(new File(("res/lasereverywhere/laser.wav")));
+			boom1     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom2     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom3     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom4     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom5     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom6     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom7     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
+			boom8     = ResourceTracker.loadSound(new File(("res/lasereverywhere/boom.wav")));
 			
 			setStageMusic("res/lasereverywhere/song.ogg", 15.93, 1.0f);
 			
@@ -7,6 +7,7 @@ import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Factory;
 import game.essentials.GFX;
@@ -20,7 +21,6 @@ import game.objects.CheckpointsHandler;
 import game.objects.Particle;
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -49,7 +49,7 @@ public class LightsOut extends StageBuilder
 	{
 		super.init();
 		
-		electric = TinySound.loadMusic(new java.io.File("res/diamondcave/frying.wav"));
+		electric = ResourceTracker.loadMusic(new java.io.File("res/diamondcave/frying.wav"));
 		setStageMusic(PATH + "/song.ogg", 0f, 1.0f);
 	}
 	
@@ -9,6 +9,7 @@ import game.core.MovableObject;
 import game.core.MovableObject.TileEvent;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Controller.PressedButtons;
 import game.essentials.Factory;
@@ -20,7 +21,6 @@ import game.objects.Wind;
 import java.io.File;
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 import com.badlogic.gdx.graphics.Color;
 
@@ -49,16 +49,16 @@ public class MountainRace extends StageBuilder
 		try
 		{
 			super.init();
-			bouncesound = TinySound.loadSound(new File(("res/mtrace/bouncesound.wav")));
-			contjump1 = TinySound.loadSound(new File(("res/general/jump.wav")));
-			contjump2 = TinySound.loadSound(new File(("res/general/jump.wav")));
-			contjump3 = TinySound.loadSound(new File(("res/general/jump.wav")));
+			bouncesound = ResourceTracker.loadSound(new File(("res/mtrace/bouncesound.wav")));
+			contjump1 = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
+			contjump2 = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
+			contjump3 = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
 			
 			replay1 = (PressedButtons[]) PressedButtons.decode("res/mtrace/cont1.rlp")[1];
 			replay2 = (PressedButtons[]) PressedButtons.decode("res/mtrace/cont2.rlp")[1];
 			replay3 = (PressedButtons[]) PressedButtons.decode("res/mtrace/cont3.rlp")[1];
 			
-			blow = TinySound.loadMusic(new File(("res/mtrace/blow.wav")));
+			blow = ResourceTracker.loadMusic(new File(("res/mtrace/blow.wav")));
 			blow.play(true, 0);
 			
 			setStageMusic("res/mtrace/song.wav", 3.90f, 1.0f);
@@ -10,6 +10,7 @@ import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Animation;
 import game.essentials.BigImage.RenderOption;
@@ -37,7 +38,6 @@ import java.util.ArrayList;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -81,8 +81,8 @@ public class MutantLabb extends StageBuilder
 		ow = new Image2D("res/diamondcave/ow.png");
 		ow.setColor(Color.valueOf("b8b7b7FF"));
 		
-		boom = TinySound.loadSound(new File("res/collapsingcave/exp3.wav"));
-		hpgain = TinySound.loadSound(new File("res/steelfactory/health.wav"));
+		boom = ResourceTracker.loadSound(new File("res/collapsingcave/exp3.wav"));
+		hpgain = ResourceTracker.loadSound(new File("res/steelfactory/health.wav"));
 		setStageMusic(PATH + "/song.ogg", 2.28f, .7f);
 		labbsong.setVolume(0);
 		labbsong.play(true);
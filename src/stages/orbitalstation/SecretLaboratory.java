@@ -12,6 +12,7 @@ import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Animation;
 import game.essentials.CameraEffect;
@@ -38,7 +39,6 @@ import java.util.LinkedList;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -93,26 +93,26 @@ public class SecretLaboratory extends StageBuilder
 		gunfire = Image2D.loadImages(new File("res/flyingb/fireanim"));
 		wind = Image2D.loadImages(new File("res/sandopolis/wind"));
 		
-		elevatorMove = TinySound.loadSound(new File("res/steelfactory/elevator.wav"));
-		elevatorDone = TinySound.loadSound(new File("res/steelfactory/bam_.wav"));
-		shut = TinySound.loadSound(new File("res/steelfactory/shut.wav"));
-		collapsing = TinySound.loadMusic(new File("res/steelfactory/collapsing.wav"));
-		collect = TinySound.loadSound(new File("res/steelfactory/collectsound.wav"));
-		mineExplode = TinySound.loadSound(new File("res/awfulplace/bossdie.wav"));
+		elevatorMove = ResourceTracker.loadSound(new File("res/steelfactory/elevator.wav"));
+		elevatorDone = ResourceTracker.loadSound(new File("res/steelfactory/bam_.wav"));
+		shut = ResourceTracker.loadSound(new File("res/steelfactory/shut.wav"));
+		collapsing = ResourceTracker.loadMusic(new File("res/steelfactory/collapsing.wav"));
+		collect = ResourceTracker.loadSound(new File("res/steelfactory/collectsound.wav"));
+		mineExplode = ResourceTracker.loadSound(new File("res/awfulplace/bossdie.wav"));
 		
-		stageMusic = TinySound.loadMusic(new File(PATH + "/song.ogg"), true);
+		stageMusic = ResourceTracker.loadMusic(new File(PATH + "/song.ogg"), true);
 		stageMusic.setLoopPositionBySeconds(1.63f);
 		stageMusic.setLoop(true);
 		
-		lavaMusic = TinySound.loadMusic(new File(PATH + "/mines.ogg"), true);
+		lavaMusic = ResourceTracker.loadMusic(new File(PATH + "/mines.ogg"), true);
 		lavaMusic.setLoopPositionBySeconds(14.95f);
 		lavaMusic.setLoop(true);
 		
-		spaceMusic = TinySound.loadMusic(new File(PATH + "/space.ogg"), true);
+		spaceMusic = ResourceTracker.loadMusic(new File(PATH + "/space.ogg"), true);
 		spaceMusic.setLoopPositionBySeconds(4.48f);
 		spaceMusic.setLoop(true);
 		
-		sawLoop = TinySound.loadMusic(new File("res/stress/sawLoop.wav"), true);
+		sawLoop = ResourceTracker.loadMusic(new File("res/stress/sawLoop.wav"), true);
 	}
 	
 	@Override
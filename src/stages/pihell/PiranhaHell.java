@@ -5,6 +5,7 @@ import game.core.GameObject.Hitbox;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Factory;
 import game.essentials.Image2D;
@@ -13,7 +14,6 @@ import game.movable.Projectile;
 import game.movable.Weapon;
 import java.io.File;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 @AutoDispose
@@ -35,7 +35,7 @@ public class PiranhaHell extends StageBuilder
 	{
 		super.init();
 		
-		fireSound = TinySound.loadSound(new File("res/pihell/fireball.wav"));
+		fireSound = ResourceTracker.loadSound(new File("res/pihell/fireball.wav"));
 		fireSound.setVolume(.5f);
 		setStageMusic("res/pihell/song.ogg", 4.18f, 1.0f);
 	}
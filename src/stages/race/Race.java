@@ -7,6 +7,7 @@ import game.core.GameObject.Hitbox;
 import game.core.MovableObject;
 import game.core.MovableObject.TileEvent;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.Controller;
 import game.essentials.BigImage.RenderOption;
 import game.essentials.Controller.PressedButtons;
@@ -24,7 +25,6 @@ import game.objects.Particle;
 import java.io.File;
 
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.files.FileHandle;
@@ -66,17 +66,17 @@ public class Race extends Stage
 			replay3 = (PressedButtons[]) PressedButtons.decode("res/race/cont3.rlp")[1];
 			
 			deathImg   		  = Image2D.loadImages(new File("res/general/main/death"), false);
-			stageImage        = new Pixmap(new FileHandle("res/race/map.png"));
+			stageImage        = ResourceTracker.track(new Pixmap(new FileHandle("res/race/map.png")));
 			game.timeColor = Color.WHITE;
 			
-			jump	    = TinySound.loadSound(new File("res/general/jump.wav"));
-			jump1	    = TinySound.loadSound(new File("res/general/jump.wav"));
-			jump2	    = TinySound.loadSound(new File("res/general/jump.wav"));
-			jump3	    = TinySound.loadSound(new File("res/general/jump.wav"));
-			bounceball  = TinySound.loadSound(new File("res/race/bounceball.wav"));
-			bounceblock = TinySound.loadSound(new File("res/race/bounceblock.wav"));
+			jump	    = ResourceTracker.loadSound(new File("res/general/jump.wav"));
+			jump1	    = ResourceTracker.loadSound(new File("res/general/jump.wav"));
+			jump2	    = ResourceTracker.loadSound(new File("res/general/jump.wav"));
+			jump3	    = ResourceTracker.loadSound(new File("res/general/jump.wav"));
+			bounceball  = ResourceTracker.loadSound(new File("res/race/bounceball.wav"));
+			bounceblock = ResourceTracker.loadSound(new File("res/race/bounceblock.wav"));
 			
-			setStageMusic(TinySound.loadMusic(new File("res/race/song.ogg"),true), 3.325, 1.0f);
+			setStageMusic(ResourceTracker.loadMusic(new File("res/race/song.ogg"),true), 3.325, 1.0f);
 		}
 		catch(Exception e)
 		{
@@ -14,6 +14,7 @@ import game.core.MainCharacter.CharacterState;
 import game.core.MovableObject;
 import game.core.MovableObject.TileEvent;
 import game.development.AutoInstall;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Factory;
 import game.essentials.Animation;
@@ -32,7 +33,6 @@ import game.objects.Wind;
 import java.io.File;
 
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 @AutoInstall(mainPath="res/general", path="res/sandopolis")
@@ -81,15 +81,15 @@ public class Sandopolis extends StageBuilder
 			powerupImg    = new Image2D("res/sandopolis/strength.png");
 			projImg    	  = new Image2D("res/sandopolis/projectile.png");
 			
-			explodesound  = TinySound.loadSound(new File(("res/clubber/explode.wav")));
-			firesound 	  = TinySound.loadSound(new File(("res/clubber/fire.wav")));
-			collect	      = TinySound.loadSound(new File(("res/general/collect1.wav")));
-			pushed   	  = TinySound.loadSound(new File(("res/flyingb/pushed.wav")));
-			bossdie       = TinySound.loadSound(new File(("res/awfulplace/bossdie.wav")));
-			weap2fire     = TinySound.loadSound(new File(("res/sandopolis/weapon2fire.wav")));
-			weap2exp      = TinySound.loadSound(new File(("res/sandopolis/weapo2explosion.wav")));
-			lasercharge   = TinySound.loadSound(new File(("res/sandopolis/lasercharge.wav")));
-			laserattack   = TinySound.loadSound(new File(("res/sandopolis/laserattack.wav")));
+			explodesound  = ResourceTracker.loadSound(new File(("res/clubber/explode.wav")));
+			firesound 	  = ResourceTracker.loadSound(new File(("res/clubber/fire.wav")));
+			collect	      = ResourceTracker.loadSound(new File(("res/general/collect1.wav")));
+			pushed   	  = ResourceTracker.loadSound(new File(("res/flyingb/pushed.wav")));
+			bossdie       = ResourceTracker.loadSound(new File(("res/awfulplace/bossdie.wav")));
+			weap2fire     = ResourceTracker.loadSound(new File(("res/sandopolis/weapon2fire.wav")));
+			weap2exp      = ResourceTracker.loadSound(new File(("res/sandopolis/weapo2explosion.wav")));
+			lasercharge   = ResourceTracker.loadSound(new File(("res/sandopolis/lasercharge.wav")));
+			laserattack   = ResourceTracker.loadSound(new File(("res/sandopolis/laserattack.wav")));
 			
 			setStageMusic("res/sandopolis/song.ogg", 6f, .5f);
 		}
@@ -5,6 +5,7 @@ import game.core.GameObject.Event;
 import game.core.GameObject.Hitbox;
 import game.core.MainCharacter.CharacterState;
 import game.development.AutoInstall;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.CameraEffect;
 import game.essentials.Factory;
@@ -21,7 +22,6 @@ import java.io.File;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 
 import com.badlogic.gdx.graphics.Color;
@@ -58,14 +58,14 @@ public class DontEatShroom extends StageBuilder
 			cannonImg	  = new Image2D("res/shroom/cannon.png");
 			missileImg	  = new Image2D("res/shroom/missile.png");
 			
-			collect    = TinySound.loadSound(new File(("res/general/collect3.wav")));
-			eat    	   = TinySound.loadSound(new File(("res/shroom/eat.wav")));
-			jumpdruged = TinySound.loadSound(new File(("res/shroom/jumpdruged.wav")));
-			boom       = TinySound.loadSound(new File(("res/shroom/boom.wav")));
-			cannonfire = TinySound.loadSound(new File(("res/shroom/cannonfire.wav")));
+			collect    = ResourceTracker.loadSound(new File(("res/general/collect3.wav")));
+			eat    	   = ResourceTracker.loadSound(new File(("res/shroom/eat.wav")));
+			jumpdruged = ResourceTracker.loadSound(new File(("res/shroom/jumpdruged.wav")));
+			boom       = ResourceTracker.loadSound(new File(("res/shroom/boom.wav")));
+			cannonfire = ResourceTracker.loadSound(new File(("res/shroom/cannonfire.wav")));
 			
 			setStageMusic("res/shroom/song.ogg", 7.631, .8f);
-			drugedSong = TinySound.loadMusic(new File(("res/shroom/songdruged.ogg")),true);
+			drugedSong = ResourceTracker.loadMusic(new File(("res/shroom/songdruged.ogg")),true);
 		}
 		catch(Exception e)
 		{
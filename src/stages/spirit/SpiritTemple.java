@@ -10,6 +10,7 @@ import game.core.MainCharacter.CharacterState;
 import game.core.MovableObject;
 import game.core.MovableObject.TileEvent;
 import game.core.Stage;
+import game.development.ResourceTracker;
 import game.essentials.Controller;
 import game.essentials.Factory;
 import game.essentials.Animation;
@@ -25,7 +26,6 @@ import game.movable.Thwump;
 import game.objects.Particle;
 import java.io.File;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
@@ -74,25 +74,25 @@ public class SpiritTemple extends Stage
 			backgroundImg = new Image2D("res/sand/background.png");
 			foregroundImg = new Image2D("res/sand/foreground.png");
 			
-			stageImage        = new Pixmap(new FileHandle("res/sand/map.png"));
+			stageImage        = ResourceTracker.track(new Pixmap(new FileHandle("res/sand/map.png")));
 			
-			collect	 = TinySound.loadSound(new File(("res/general/collect1.wav")));
-			jump     = TinySound.loadSound(new File(("res/general/jump.wav")));
-			pushed   = TinySound.loadSound(new File(("res/flyingb/pushed.wav")));
-			gMove	 = TinySound.loadSound(new File(("res/sand/alienmove.wav")));
-			sImp	 = TinySound.loadSound(new File(("res/sand/silverimpact.wav")));
-			gImp	 = TinySound.loadSound(new File(("res/sand/goldimpact.wav")));
-			fslam	 = TinySound.loadSound(new File(("res/sand/fistslam.wav")));
-			steel    = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel2   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel3   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel4   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel5   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel6   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel7   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel8   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel9   = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
-			steel10  = TinySound.loadSound(new File(("res/sand/steelCollide.wav")));
+			collect	 = ResourceTracker.loadSound(new File(("res/general/collect1.wav")));
+			jump     = ResourceTracker.loadSound(new File(("res/general/jump.wav")));
+			pushed   = ResourceTracker.loadSound(new File(("res/flyingb/pushed.wav")));
+			gMove	 = ResourceTracker.loadSound(new File(("res/sand/alienmove.wav")));
+			sImp	 = ResourceTracker.loadSound(new File(("res/sand/silverimpact.wav")));
+			gImp	 = ResourceTracker.loadSound(new File(("res/sand/goldimpact.wav")));
+			fslam	 = ResourceTracker.loadSound(new File(("res/sand/fistslam.wav")));
+			steel    = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel2   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel3   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel4   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel5   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel6   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel7   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel8   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel9   = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
+			steel10  = ResourceTracker.loadSound(new File(("res/sand/steelCollide.wav")));
 
 			setStageMusic("res/sand/song.ogg", 62.09, .8f);
 		}
@@ -0,0 +1,288 @@
+package stages.stress;
+
+import game.core.Engine;
+import game.core.GameObject;
+import game.core.Stage;
+import game.essentials.Animation;
+import game.essentials.Controller;
+import game.essentials.Controller.PressedButtons;
+import game.essentials.Image2D;
+import game.essentials.PackedInput;
+import game.essentials.Utilities;
+import game.mains.GravityMan;
+import game.movable.Missile;
+import game.movable.PathDrone;
+import game.movable.Projectile;
+import game.movable.SolidPlatform;
+import game.movable.Weapon;
+import game.objects.Particle;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ui.accessories.Playable;
+
+/**
+ * A generated stage used to find the scaling limits of the engine.<br>
+ * The map and every entity is generated from a fixed seed, so the same settings always produce the same stage. The settings are read from system properties, such as {@code -Dstress.drones=500}, or can be set on the instance before the stage is built:<br>
+ * {@code stress.seed, stress.width, stress.height, stress.density, stress.drones, stress.weapons, stress.emitters, stress.platforms, stress.missiles, stress.characters}<br><br>
+ *
+ * The player can not be harmed and the stage has no goal. The weapons and missiles target the scripted characters, which are ghosts playing random input.
+ * @author Pojahn Moradi
+ *
+ */
+@Playable(name="Procedural Stress", description="Author: Pojahn Moradi\nA generated stage for performance testing.\nObjective: None.")
+public class ProceduralStress extends Stage
+{
+	public long seed = Long.getLong("stress.seed", 1234);
+	public int width = Integer.getInteger("stress.width", 4000), height = Integer.getInteger("stress.height", 2000);
+	public int drones = Integer.getInteger("stress.drones", 100), weapons = Integer.getInteger("stress.weapons", 10), emitters = Integer.getInteger("stress.emitters", 20),
+			   platforms = Integer.getInteger("stress.platforms", 20), missiles = Integer.getInteger("stress.missiles", 10), characters = Integer.getInteger("stress.characters", 10);
+
+	/**
+	 * The fraction of the map that is solid.
+	 */
+	public double density = Double.parseDouble(System.getProperty("stress.density", "0.1"));
+
+	private static final int BORDER = 10, SCRIPT_FRAMES = 60 * 60 * 5;
+
+	private Image2D mainImage[], particleImg[], droneImg, bulletImg, platformImg;
+	private GravityMan gm;
+
+	@Override
+	public void init()
+	{
+		try
+		{
+			mainImage   = Image2D.loadImages(new File("res/general/main"), true);
+			particleImg = Image2D.loadImages(new File("res/data/charge"), false);
+			droneImg    = new Image2D("res/data/blob.png");
+			bulletImg   = new Image2D("res/data/cir.png");
+			platformImg = new Image2D("res/data/rec.png");
+		}
+		catch(Exception e)
+		{
+			System.err.println("Warning: Could not load the resources.");
+			e.printStackTrace();
+			System.exit(-1);
+		}
+	}
+
+	@Override
+	public void build()
+	{
+		super.build();
+
+		Random r = new Random(seed);
+		generateMap(r);
+
+		/*
+		 * Main Character
+		 */
+		int[] start = findFree(r, mainImage[0].getWidth(), mainImage[0].getHeight());
+		startX = start[0];
+		startY = start[1];
+
+		gm = new GravityMan();
+		gm.setImage(new Animation<>(3, mainImage));
+		gm.setMultiFaced(true);
+		gm.setController((Controller)Utilities.importObject("res/data/controller1.con"));
+		gm.hit(1);
+		gm.moveTo(startX, startY);
+		game.addFocusObject(gm);
+		add(gm);
+
+		/*
+		 * Scripted characters
+		 */
+		List<GravityMan> scripted = new ArrayList<>(characters + 1);
+		for(int i = 0; i < characters; i++)
+		{
+			int[] pos = findFree(r, mainImage[0].getWidth(), mainImage[0].getHeight());
+
+			GravityMan character = new GravityMan();
+			character.setImage(new Animation<>(3, mainImage));
+			character.setMultiFaced(true);
+			character.hit(1);
+			character.moveTo(pos[0], pos[1]);
+			character.ghostify(randomInput(r));
+			add(character);
+			scripted.add(character);
+		}
+		GameObject[] targets = scripted.toArray(new GameObject[scripted.size()]);
+		scripted.add(gm);
+		GravityMan[] riders = scripted.toArray(new GravityMan[scripted.size()]);
+
+		/*
+		 * Drones
+		 */
+		for(int i = 0; i < drones; i++)
+		{
+			PathDrone drone = new PathDrone(r.nextInt(width), r.nextInt(height));
+			drone.setImage(droneImg);
+			drone.setMoveSpeed(1 + r.nextFloat() * 3);
+			for(int j = 0; j < 4; j++)
+				drone.appendPath(r.nextInt(width), r.nextInt(height));
+
+			add(drone);
+		}
+
+		/*
+		 * Weapons
+		 */
+		Particle impact = new Particle();
+		impact.setImage(1, particleImg);
+
+		for(int i = 0; i < weapons; i++)
+		{
+			Projectile bullet = new Projectile(0, 0, targets);
+			bullet.setImage(bulletImg);
+			bullet.setImpact(impact);
+			bullet.setMoveSpeed(8);
+
+			int[] pos = findFree(r, droneImg.getWidth(), droneImg.getHeight());
+			Weapon weapon = new Weapon(pos[0], pos[1], 3, 10, 60, targets);
+			weapon.setImage(droneImg);
+			weapon.setProjectile(bullet);
+			weapon.setFiringOffsets(weapon.halfWidth(), weapon.halfHeight());
+
+			add(weapon);
+		}
+
+		/*
+		 * Missiles
+		 */
+		for(int i = 0; i < missiles; i++)
+		{
+			int[] pos = findFree(r, bulletImg.getWidth(), bulletImg.getHeight());
+			Missile missile = new Missile(pos[0], pos[1], targets);
+			missile.setImage(bulletImg);
+			missile.setImpact(impact);
+
+			add(missile);
+		}
+
+		/*
+		 * Particle emitters
+		 */
+		for(int i = 0; i < emitters; i++)
+		{
+			final float x = r.nextInt(width), y = r.nextInt(height);
+			final int interval = 5 + r.nextInt(20);
+			GameObject emitter = new GameObject();
+			emitter.addEvent(new GameObject.Event()
+			{
+				int counter;
+
+				@Override
+				public void eventHandling()
+				{
+					if(++counter % interval == 0)
+						add(impact.getClone(x, y));
+				}
+			});
+
+			add(emitter);
+		}
+
+		/*
+		 * Platforms
+		 */
+		for(int i = 0; i < platforms; i++)
+		{
+			int[] pos = findFree(r, platformImg.getWidth(), platformImg.getHeight());
+			SolidPlatform platform = new SolidPlatform(pos[0], pos[1], riders);
+			platform.setImage(platformImg);
+			platform.setMoveSpeed(1 + r.nextFloat());
+			platform.appendPath(pos[0], pos[1], 20, false, null);
+			platform.appendPath(Math.min(width - BORDER - platformImg.getWidth(), pos[0] + 100 + r.nextInt(300)), pos[1], 20, false, null);
+
+			add(platform);
+		}
+	}
+
+	@Override
+	public void dispose()
+	{
+		disposeBatch(mainImage, particleImg, droneImg, bulletImg, platformImg);
+	}
+
+	/**
+	 * The total amount of generated entities, not counting particles and projectiles spawned while playing.
+	 * @return The amount.
+	 */
+	public int generatedEntities()
+	{
+		return 1 + characters + drones + weapons + missiles + emitters + platforms;
+	}
+
+	private void generateMap(Random r)
+	{
+		stageData = new byte[height][width];
+
+		for(int y = 0; y < height; y++)
+			for(int x = 0; x < width; x++)
+				stageData[y][x] = x < BORDER || y < BORDER || x >= width - BORDER || y >= height - BORDER ? Engine.SOLID : Engine.HOLLOW;
+
+		long solid = 0, wanted = (long)((width - BORDER * 2) * (long)(height - BORDER * 2) * density);
+		while(solid < wanted)
+		{
+			int w = 20 + r.nextInt(180), h = 20 + r.nextInt(100);
+			int x = BORDER + r.nextInt(Math.max(1, width - BORDER * 2 - w)), y = BORDER + r.nextInt(Math.max(1, height - BORDER * 2 - h));
+
+			for(int ly = y; ly < y + h && ly < height - BORDER; ly++)
+				for(int lx = x; lx < x + w && lx < width - BORDER; lx++)
+					if(stageData[ly][lx] != Engine.SOLID)
+					{
+						stageData[ly][lx] = Engine.SOLID;
+						solid++;
+					}
+		}
+
+		basicInits();
+	}
+
+	private int[] findFree(Random r, int w, int h)
+	{
+		for(int attempt = 0; attempt < 10000; attempt++)
+		{
+			int x = BORDER + r.nextInt(width - BORDER * 2 - w), y = BORDER + r.nextInt(height - BORDER * 2 - h);
+			if(isFree(x, y, w, h))
+				return new int[]{x, y};
+		}
+
+		throw new IllegalStateException("The map is too dense to place a " + w + "x" + h + " object.");
+	}
+
+	private boolean isFree(int x, int y, int w, int h)
+	{
+		for(int ly = y; ly < y + h; ly++)
+			for(int lx = x; lx < x + w; lx++)
+				if(stageData[ly][lx] == Engine.SOLID)
+					return false;
+
+		return true;
+	}
+
+	private static PackedInput randomInput(Random r)
+	{
+		List<PressedButtons> input = new ArrayList<>(SCRIPT_FRAMES);
+		PressedButtons pb = new PressedButtons();
+
+		for(int i = 0; i < SCRIPT_FRAMES; i++)
+		{
+			if(i % 30 == 0)
+			{
+				pb = new PressedButtons();
+				pb.left = r.nextInt(3) == 0;
+				pb.right = !pb.left && r.nextBoolean();
+				pb.up = r.nextInt(4) == 0;
+			}
+			input.add(pb);
+		}
+
+		return PackedInput.pack(input);
+	}
+}
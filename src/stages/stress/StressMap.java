@@ -6,6 +6,7 @@ import game.core.Engine.GameState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.development.StageBuilder;
 import game.essentials.Factory;
 import game.essentials.Image2D;
@@ -13,7 +14,6 @@ import game.movable.PathDrone;
 import java.io.File;
 import java.util.ArrayList;
 import kuusisto.tinysound.Music;
-import kuusisto.tinysound.TinySound;
 import ui.accessories.Playable;
 import com.badlogic.gdx.graphics.Color;
 
@@ -39,7 +39,7 @@ public class StressMap extends StageBuilder
 		
 		try
 		{
-			sawLoop = TinySound.loadMusic(new File("res/stress/sawLoop.wav"));
+			sawLoop = ResourceTracker.loadMusic(new File("res/stress/sawLoop.wav"));
 			sawLoop.setVolume(0);
 			sawLoop.play(true);
 			
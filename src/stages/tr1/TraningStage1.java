@@ -3,13 +3,13 @@ package stages.tr1;
 import game.core.GameObject;
 import game.core.MainCharacter.CharacterState;
 import game.development.AutoInstall;
+import game.development.ResourceTracker;
 import game.essentials.Factory;
 import game.essentials.Image2D;
 import game.movable.SolidPlatform;
 import java.io.File;
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import stages.traning.AbstractTraningStage;
 import ui.accessories.Playable;
 import com.badlogic.gdx.Gdx;
@@ -36,8 +36,8 @@ public class TraningStage1 extends AbstractTraningStage
 			friendImg = new Image2D("res/traning1/friendImg.png");
 			platformImg = new Image2D("res/traning1/platformImg.png");
 			crystalImg = Image2D.loadImages(new File("res/clubber/diamond"));
-			talking = TinySound.loadSound(new File("res/traning1/talking.wav"));
-			collect = TinySound.loadSound(new File("res/general/collect1.wav"));
+			talking = ResourceTracker.loadSound(new File("res/traning1/talking.wav"));
+			collect = ResourceTracker.loadSound(new File("res/general/collect1.wav"));
 			talkingFont = new BitmapFont(Gdx.files.internal("res/traning1/talking.fnt"), true);
 			setStageMusic("res/traning1/song.wav",7.80f, .6f);
 			
@@ -4,6 +4,7 @@ import game.core.GameObject;
 import game.core.GameObject.Event;
 import game.core.MainCharacter.CharacterState;
 import game.development.AutoInstall;
+import game.development.ResourceTracker;
 import game.essentials.Factory;
 import game.essentials.Animation;
 import game.essentials.Image2D;
@@ -12,7 +13,6 @@ import game.movable.Gold;
 import java.io.File;
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import stages.traning.AbstractTraningStage;
 import ui.accessories.Playable;
 import com.badlogic.gdx.Gdx;
@@ -44,13 +44,13 @@ public class TraningStage2  extends AbstractTraningStage
 			flagImg = Image2D.loadImages(new File("res/climb/flag"));
 			goldImg = Image2D.loadImages(new File("res/traning2/collect"));
 			
-			talk1 = TinySound.loadMusic(new File("res/traning2/talk1.wav"));
-			talk2 = TinySound.loadMusic(new File("res/traning2/talk2.wav"));
-			talk3 = TinySound.loadMusic(new File("res/traning2/talk3.wav"));
-			press = TinySound.loadSound(new File("res/traning2/press.wav"));
-			open = TinySound.loadSound(new File("res/traning2/dooropen.wav"));
-			shut = TinySound.loadSound(new File("res/traning2/doorshut.wav"));
-			collect = TinySound.loadSound(new File("res/general/collect1.wav"));
+			talk1 = ResourceTracker.loadMusic(new File("res/traning2/talk1.wav"));
+			talk2 = ResourceTracker.loadMusic(new File("res/traning2/talk2.wav"));
+			talk3 = ResourceTracker.loadMusic(new File("res/traning2/talk3.wav"));
+			press = ResourceTracker.loadSound(new File("res/traning2/press.wav"));
+			open = ResourceTracker.loadSound(new File("res/traning2/dooropen.wav"));
+			shut = ResourceTracker.loadSound(new File("res/traning2/doorshut.wav"));
+			collect = ResourceTracker.loadSound(new File("res/general/collect1.wav"));
 			talkingFont = new BitmapFont(Gdx.files.internal("res/traning1/talking.fnt"), true);
 			setStageMusic("res/traning2/song.ogg",0f, 1.0f);
 			
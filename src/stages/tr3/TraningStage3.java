@@ -6,12 +6,12 @@ import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.essentials.Animation;
 import game.essentials.BigImage.RenderOption;
 import game.essentials.Factory;
 import game.essentials.Image2D;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import stages.traning.AbstractTraningStage;
 import ui.accessories.Playable;
 
@@ -43,8 +43,8 @@ public class TraningStage3 extends AbstractTraningStage
 		backgroundImg.setRenderOption(RenderOption.PARALLAX);
 		backgroundImg.setScrollRatio(.4f);
 		
-		collect = TinySound.loadSound(new java.io.File("res/general/collect1.wav"));
-		collapsing = TinySound.loadSound(new java.io.File("res/climb/collapsing.wav"));
+		collect = ResourceTracker.loadSound(new java.io.File("res/general/collect1.wav"));
+		collapsing = ResourceTracker.loadSound(new java.io.File("res/climb/collapsing.wav"));
 		
 		setFriendFont(game.fpsFont);
 		setFriendTextColor(DARK_BLUE);
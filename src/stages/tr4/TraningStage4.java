@@ -7,6 +7,7 @@ import game.core.MainCharacter.CharacterState;
 import game.development.AutoDispose;
 import game.development.AutoInstall;
 import game.development.AutoLoad;
+import game.development.ResourceTracker;
 import game.essentials.Animation;
 import game.essentials.Factory;
 import game.essentials.GFX;
@@ -22,7 +23,6 @@ import java.io.File;
 
 import kuusisto.tinysound.Music;
 import kuusisto.tinysound.Sound;
-import kuusisto.tinysound.TinySound;
 import stages.traning.AbstractTraningStage;
 import ui.accessories.Playable;
 
@@ -56,16 +56,16 @@ public class TraningStage4 extends AbstractTraningStage
 			super.init();
 			
 			talkingFont = new BitmapFont(Gdx.files.internal("res/traning1/talking.fnt"), true);
-//			talking = TinySound.loadSound(new File(RES + "/talking.wav"));
-			propeller = TinySound.loadMusic(new File(RES + "/propeller.wav"));
-			weakDie = TinySound.loadSound(new File(RES + "/weakDie.wav"));
-			collect = TinySound.loadSound(new File(RES + "/collect.wav"));
-			headMove = TinySound.loadSound(new File(RES + "/headmove.wav"));
-			reporting = TinySound.loadSound(new File(RES + "/reporting.wav"));
-			teleport = TinySound.loadSound(new File(RES + "/teleport.wav"));
-			elevatorStop = TinySound.loadSound(new File("res/steelfactory/shut.wav"));
-			elevatorWorking = TinySound.loadSound(new File("res/steelfactory/elevator.wav"));
-			doorOpen = TinySound.loadSound(new File("res/flyingb/open.wav"));
+//			talking = ResourceTracker.loadSound(new File(RES + "/talking.wav"));
+			propeller = ResourceTracker.loadMusic(new File(RES + "/propeller.wav"));
+			weakDie = ResourceTracker.loadSound(new File(RES + "/weakDie.wav"));
+			collect = ResourceTracker.loadSound(new File(RES + "/collect.wav"));
+			headMove = ResourceTracker.loadSound(new File(RES + "/headmove.wav"));
+			reporting = ResourceTracker.loadSound(new File(RES + "/reporting.wav"));
+			teleport = ResourceTracker.loadSound(new File(RES + "/teleport.wav"));
+			elevatorStop = ResourceTracker.loadSound(new File("res/steelfactory/shut.wav"));
+			elevatorWorking = ResourceTracker.loadSound(new File("res/steelfactory/elevator.wav"));
+			doorOpen = ResourceTracker.loadSound(new File("res/flyingb/open.wav"));
 			setStageMusic(RES + "/song.ogg", 16.13f, .7f);
 			weakDie.setVolume(.65f);
 			
@@ -3,16 +3,75 @@ package ui;
 //import java.io.File;
 //import java.io.FileOutputStream;
 //import java.io.PrintStream;
+import game.core.Stage;
+import game.core.Stage.Difficulty;
+import game.development.Headless;
+import game.development.WarmUp;
+import game.network.ScoreClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import ui.accessories.GameSettings;
+import ui.accessories.StageReader;
 import ui.screens.ScreenManager;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 
+/**
+ * Launches the game.<br>
+ * Options:<br>
+ * {@code -cds} - Starts the game with a class data archive (AppCDS), which makes the JVM map the classes of the game from {@code cache/game.jsa} instead of loading and verifying them, which shortens the startup. 
+ * The archive is created by a training run the first time, where every stage is loaded and played headless for a moment. Requires Java 13 or later.<br>
+ * {@code -cds-rebuild} - Same as {@code -cds}, but creates the archive again. Should be used when the game or the JVM have been updated, since the JVM ignores archives that do not match its class path.<br>
+ * The stage can also be warmed up before it is shown, see the {@code WarmUp} setting in {@code game.ini}.
+ * @author Pojahn Moradi
+ *
+ */
 public class TheMainClass 
 {
+	/**
+	 * The class data archive used with the {@code -cds} option.
+	 */
+	public static final String CDS_ARCHIVE = "cache/game.jsa";
+	
+	private static final int TRAINING_FRAMES = 60;
+	
 	public static void main(String... args) throws Exception 
 	{
+		List<String> options = Arrays.asList(args);
+		if(options.contains("-cds-train"))
+		{
+			train();
+			return;
+		}
+		else if((options.contains("-cds") || options.contains("-cds-rebuild")) && !usingArchive())
+		{
+			if(javaVersion() < 13)
+				System.err.println("Class data archives require Java 13 or later, starting without.");
+			else
+			{
+				File archive = new File(CDS_ARCHIVE);
+				if(!archive.exists() || options.contains("-cds-rebuild"))
+				{
+					System.out.println("Creating the class data archive " + archive.getPath());
+					archive.getAbsoluteFile().getParentFile().mkdirs();
+					archive.delete();
+					launch("-XX:ArchiveClassesAtExit=" + archive.getPath(), "-cds-train");
+				}
+				
+				if(archive.exists())
+					System.exit(launch("-XX:SharedArchiveFile=" + archive.getPath(), args));
+				else
+					System.err.println("Could not create the class data archive, starting without.");
+			}
+		}
+		
 //		try
 //		{
 //			File file = new File("logs/error log.txt");
@@ -28,6 +87,9 @@ public class TheMainClass
 		GameSettings settings = new GameSettings();
 		settings.loadSettings("game.ini");
 		
+		if(settings.highScoreServer != null)
+			ScoreClient.start(settings.highScoreServer);
+		
 		LwjglApplicationConfiguration cfg = new LwjglApplicationConfiguration();
 		cfg.title = "Pojahns Game Engine";
 		cfg.width = 800;
@@ -42,5 +104,72 @@ public class TheMainClass
 		cfg.addIcon("res/data/icon16x16.png", FileType.Internal);
 		
 		new LwjglApplication(new ScreenManager(), cfg);
-	}	
+	}
+	
+	/**
+	 * The training run of the class data archive. The classes loaded here are the ones that are archived when the JVM exits.
+	 */
+	private static void train()
+	{
+		for(String name : new String[]{"ui.screens.Splash", "ui.screens.MainMenu", "ui.screens.SelectStage", "ui.screens.Stats", "ui.screens.ControllerCreator",
+									   "com.badlogic.gdx.backends.lwjgl.LwjglApplication", "com.badlogic.gdx.backends.lwjgl.LwjglGraphics", "com.badlogic.gdx.backends.lwjgl.LwjglInput"})
+		{
+			try
+			{
+				Class.forName(name, false, TheMainClass.class.getClassLoader());
+			}
+			catch(ClassNotFoundException e)
+			{
+				System.err.println("Could not load " + name);
+			}
+		}
+		
+		Headless.run(() ->
+		{
+			for(Class<? extends Stage> stage : StageReader.loadAll())
+			{
+				try
+				{
+					WarmUp.run(stage, Difficulty.NORMAL, null, TRAINING_FRAMES);
+				}
+				catch(RuntimeException e)
+				{
+					System.err.println("Could not train with " + stage.getSimpleName() + ": " + e);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Starts the game in a new JVM with the same options and class path as this one, in addition to the given JVM option.
+	 * @return The exit code.
+	 */
+	private static int launch(String jvmOption, String... args) throws IOException, InterruptedException
+	{
+		List<String> command = new ArrayList<>();
+		command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+		command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		command.add(jvmOption);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(TheMainClass.class.getName());
+		command.addAll(Arrays.asList(args));
+		
+		return new ProcessBuilder(command).inheritIO().start().waitFor();
+	}
+	
+	private static boolean usingArchive()
+	{
+		for(String arg : ManagementFactory.getRuntimeMXBean().getInputArguments())
+			if(arg.startsWith("-XX:SharedArchiveFile") || arg.startsWith("-XX:ArchiveClassesAtExit"))
+				return true;
+		
+		return false;
+	}
+	
+	private static int javaVersion()
+	{
+		String version = System.getProperty("java.specification.version");
+		return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+	}
 }
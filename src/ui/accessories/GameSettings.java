@@ -8,8 +8,9 @@ import java.io.IOException;
 public class GameSettings 
 {
 	public boolean vsync, showFps, clearEachFrame, saveReplays;
-	public int fps;
+	public int fps, raceGhosts, warmUp;
 	public double masterVolume, masterZoom;
+	public String highScoreServer;
 
 	public GameSettings()
 	{
@@ -61,6 +62,15 @@ public class GameSettings
 							case "savereplays":
 								saveReplays = Boolean.parseBoolean(value);
 								break;
+							case "raceghosts":
+								raceGhosts = Integer.parseInt(value.trim());
+								break;
+							case "warmup":
+								warmUp = Integer.parseInt(value.trim());
+								break;
+							case "highscoreserver":
+								highScoreServer = value.trim().isEmpty() ? null : value.trim();
+								break;
 							default:
 								System.err.println("Unknown tag: " + tag);
 								break;
@@ -34,6 +34,7 @@ public class StageReader
 		stages.add(stages.shroom.DontEatShroom.class);
 		stages.add(stages.spirit.SpiritTemple.class);
 		stages.add(stages.stress.StressMap.class);
+		stages.add(stages.stress.ProceduralStress.class);
 		stages.add(stages.tr1.TraningStage1.class);
 		stages.add(stages.tr2.TraningStage2.class);
 		stages.add(stages.tr3.TraningStage3.class);
@@ -1,5 +1,6 @@
 package ui.screens;
 
+import game.development.ResourceTracker;
 import game.essentials.Utilities;
 import ui.screens.ScreenManager.Task;
 import com.badlogic.gdx.Gdx;
@@ -52,7 +53,7 @@ public class MainMenu implements Screen
 		skin = new Skin(Gdx.files.internal("res/data/uiskin.json"));
 		
 		batch = new SpriteBatch();
-		background = new Texture(Gdx.files.internal("res/data/background.png"));
+		background = ResourceTracker.track(new Texture(Gdx.files.internal("res/data/background.png")));
 
 		TextButton selectStage = new TextButton("Select Stage", skin);
 		selectStage.setPosition(330, 400);
@@ -65,12 +65,15 @@ public class ScreenManager extends Game
 		if(replay != null)
 			stage.setMeta(replay.meta);
 		
-		Engine engine = Engine.constructEngine(stage, replay == null ? null : replay.replays);
+		Engine engine = Engine.constructEngine(stage, replay);
 		engine.clearEachFrame = settings.clearEachFrame;
 		engine.showFps(settings.showFps);
 		engine.saveReplays = settings.saveReplays;
 		engine.masterVolume = settings.masterVolume;
+		engine.raceGhosts = settings.raceGhosts;
+		engine.warmUpFrames = settings.warmUp;
 		engine.setGlobalScale(settings.masterZoom);
+		engine.smoothFrameTime = 1.5f / settings.fps;
 		engine.setExitEvent(new Event()
 		{
 			@Override
@@ -1,11 +1,12 @@
 package ui.screens;
 
 import game.core.Stage.Difficulty;
+import game.development.ResourceTracker;
 import game.essentials.HighScore;
-import game.essentials.Utilities;
+import game.essentials.ScoreStore;
+import game.essentials.ScoreStore.Record;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
 import ui.accessories.Playable;
 import ui.accessories.StageReader;
@@ -35,11 +36,12 @@ import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
 public class SelectStage implements Screen
 {
+	private static final int REPLAYS_PER_DIFFICULTY = 50;
+	
 	private ScreenManager manager;
 	private Stage stage;
 	private Skin skin;
 	private ArrayList<StageHolder> stages;
-	private java.util.List<HighScore> highscores;
 	private List<ReplayHolder> replayList;
 	private TextButton play;
 	private SpriteBatch batch;
@@ -54,11 +56,7 @@ public class SelectStage implements Screen
 	public void show() 
 	{
 		batch = new SpriteBatch(5);
-		background = new Texture(Gdx.files.internal("res/data/selectback.png"));
-		
-		highscores = Utilities.readAllHighScores();
-		Collections.sort(highscores, HighScore.TIME_SORT);
-		Collections.reverse(highscores);
+		background = ResourceTracker.track(new Texture(Gdx.files.internal("res/data/selectback.png")));
 		
 		java.util.List<Class<? extends game.core.Stage>> stgs = StageReader.loadAll();
 		stages = new ArrayList<>(stgs.size());
@@ -117,8 +115,8 @@ public class SelectStage implements Screen
 			{
 				if(e.toString().equals("exit"))
 				{
-					HighScore hs = replayList.getSelected().hs;
-					if(hs == null)
+					Record record = replayList.getSelected().record;
+					if(record == null)
 						play.setText("Play");
 					else
 						play.setText("Watch");
@@ -149,9 +147,10 @@ public class SelectStage implements Screen
 			{
 				super.clicked(event, x, y);
 				final game.core.Stage theStage = initStage(stageList);
-				final HighScore hs = replayList.getSelected().hs;
+				final Record record = replayList.getSelected().record;
+				final HighScore hs = record == null ? null : record.load();
 				
-				if(hs == null)
+				if(record == null)
 				{
 					if(theStage.getDifficulty() != null)
 					{
@@ -194,6 +193,15 @@ public class SelectStage implements Screen
 					else
 						manager.startGame(theStage, hs);
 				}
+				else if(hs == null)
+					new Dialog("Pojahn's Game Engine", skin)
+					{
+						{
+							text("Corrupted or incomplete highscore file.");
+							setModal(true);
+							button("Ok");
+						}
+					}.show(stage);
 				else
 				{
 					theStage.setDifficulty(hs.difficulty);
@@ -294,11 +302,14 @@ public class SelectStage implements Screen
 			}
 		});
 		
-		for(HighScore hs : highscores)
-			if(hs.className == stage && hs.result.equals("Victorious"))
+		ScoreStore store = ScoreStore.get();
+		Difficulty[] difficulties = {null, Difficulty.EASY, Difficulty.NORMAL, Difficulty.HARD};
+		
+		for(Difficulty difficulty : difficulties)
+			for(Record record : store.top(stage, difficulty, REPLAYS_PER_DIFFICULTY))
 			{
 				ReplayHolder rh = new ReplayHolder();
-				rh.hs = hs;
+				rh.record = record;
 				stageScores.add(rh);
 			}
 		
@@ -323,12 +334,12 @@ public class SelectStage implements Screen
 	
 	private static class ReplayHolder
 	{
-		HighScore hs;
+		Record record;
 		
 		@Override
 		public String toString()
 		{
-			return hs.name + " " + hs.time + " sec " + ((hs.difficulty != null) ? hs.difficulty.toString() : "");
+			return record.name + " " + record.time + " sec " + ((record.difficulty != null) ? record.difficulty.toString() : "");
 		}
 	}
 }
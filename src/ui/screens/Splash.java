@@ -1,5 +1,6 @@
 package ui.screens;
 
+import game.development.ResourceTracker;
 import ui.screens.ScreenManager.Task;
 
 import com.badlogic.gdx.Gdx;
@@ -37,7 +38,7 @@ public class Splash implements Screen
 	@Override
 	public void show() 
 	{
-		splashImage = new Texture(new FileHandle("res/data/splash.png"));
+		splashImage = ResourceTracker.track(new Texture(new FileHandle("res/data/splash.png")));
 		batch = new SpriteBatch();
 	}
 
@@ -1,9 +1,13 @@
 package ui.screens;
 
+import game.development.ResourceTracker;
 import game.essentials.HighScore;
+import game.essentials.ScoreStore;
+import game.essentials.ScoreStore.Index;
+import game.essentials.ScoreStore.Record;
 import game.essentials.Utilities;
 
-import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
 
 import ui.screens.ScreenManager.Task;
@@ -36,15 +40,18 @@ import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
 public class Stats implements Screen
 {
+	private static final int PAGE_SIZE = 50;
+	
 	private ScreenManager manager;
-	private List<HighScore> highScores;
+	private List<Record> page;
+	private LinkedList<Record> previousPages;
 	private Skin skin;
 	private Stage stage;
 	private Table container, table;
 	private BitmapFont font;
 	private Label view;
 	private SpriteBatch batch;
-	private Texture background;
+	private Texture background, dotTexture;
 	private SelectBox<String> sortBy;
 	private CheckBox viewFailBox, ascendingBox;
 	
@@ -56,13 +63,13 @@ public class Stats implements Screen
 	@Override
 	public void show() 
 	{
-		highScores = Utilities.readAllHighScores();
+		previousPages = new LinkedList<>();
 		
 		stage = new Stage(new ScreenViewport());
 		Gdx.input.setInputProcessor(stage);
 		
 		batch = new SpriteBatch();
-		background = new Texture("res/data/scores.png");
+		background = ResourceTracker.track(new Texture("res/data/scores.png"));
 
 		container = new Table();
 		stage.addActor(container);
@@ -109,13 +116,48 @@ public class Stats implements Screen
 			public void clicked(InputEvent event, float x, float y) 
 			{
 				super.clicked(event, x, y);
-//				highScores = Utilities.readAllHighScores();		//Disable for now.
+				previousPages.clear();
+				page = null;
 				table.clear();
 				setColumns();
 				setTableElements();
 			}
 		});
 		
+		TextButton previous = new TextButton("<", skin);
+		previous.addListener(new ClickListener()
+		{
+			@Override
+			public void clicked(InputEvent event, float x, float y) 
+			{
+				super.clicked(event, x, y);
+				if(!previousPages.isEmpty())
+				{
+					previousPages.removeLast();
+					table.clear();
+					setColumns();
+					setTableElements();
+				}
+			}
+		});
+		
+		TextButton next = new TextButton(">", skin);
+		next.addListener(new ClickListener()
+		{
+			@Override
+			public void clicked(InputEvent event, float x, float y) 
+			{
+				super.clicked(event, x, y);
+				if(page != null && page.size() == PAGE_SIZE)
+				{
+					previousPages.add(page.get(page.size() - 1));
+					table.clear();
+					setColumns();
+					setTableElements();
+				}
+			}
+		});
+		
 		font = new BitmapFont(Gdx.files.internal("res/data/cambria20.fnt"));
 		LabelStyle style = new LabelStyle();
 		style.font = font;
@@ -129,7 +171,8 @@ public class Stats implements Screen
 		dot.setColor(0x00000088);
 		dot.fill();
 		
-		Sprite dotImg = new Sprite(new Texture(dot));
+		dotTexture = ResourceTracker.track(new Texture(dot));
+		Sprite dotImg = new Sprite(dotTexture);
 		dot.dispose();
 		
 		SelectBoxStyle dropdownStyle = sortBy.getStyle();
@@ -145,6 +188,8 @@ public class Stats implements Screen
 
 		filterTable.add(refresh).width(80).padRight(-42);
 		filterTable.add(goBack).width(80).padLeft(-16);
+		filterTable.add(previous).width(30).padLeft(10);
+		filterTable.add(next).width(30).padLeft(5);
 		
 		container.add(filterTable).padTop(12);
 		
@@ -167,12 +212,16 @@ public class Stats implements Screen
 	@Override
 	public void dispose() 
 	{
-		highScores = null;
+		page = null;
+		previousPages = null;
 		Utilities.dispose(stage);
 		Utilities.dispose(skin);
 		Utilities.dispose(font);
 		Utilities.dispose(batch);
 		Utilities.dispose(background);
+		Utilities.dispose(dotTexture);
+		ResourceTracker.released(background);
+		ResourceTracker.released(dotTexture);
 	}
 
 	@Override
@@ -199,68 +248,63 @@ public class Stats implements Screen
 	
 	private void setTableElements()
 	{
+		Index index;
 		String value = sortBy.getSelected();
 		switch (value)
 		{
 			case "Player":
-				Collections.sort(highScores, HighScore.NAME_SORT);
+				index = Index.PLAYER;
 				break;
 			case "Stage":
-				Collections.sort(highScores, HighScore.STAGE_SORT);
-				break;
-			case "Time":
-				Collections.sort(highScores, HighScore.TIME_SORT);
+				index = Index.STAGE_NAME;
 				break;
 			case "Date":
-				Collections.sort(highScores, HighScore.DATE_SORT);
+				index = Index.DATE;
 				break;
 			default:
+				index = Index.TIME;
 				break;
 		}
 		
-		if(ascendingBox.isChecked())
-			Collections.reverse(highScores);
+		page = ScoreStore.get().page(index, ascendingBox.isChecked(), viewFailBox.isChecked(), previousPages.peekLast(), PAGE_SIZE);
 		
-		boolean viewFail = viewFailBox.isChecked();
-		for(final HighScore hs : highScores)
+		for(final Record record : page)
 		{
-			if(viewFail || (!viewFail && hs.result.equals("Victorious")))
+			table.add(" " + record.name).width(nameW);
+			table.add(" " + record.stageName).width(stageW);
+			table.add(" " + record.time + " sec").width(timeW);
+			table.add(" " + record.date).width(dateW);
+			table.add(" " + (record.difficulty != null ? record.difficulty : "-")).width(diffW);
+			table.add(" " + record.result).width(resultW);
+			TextButton viewButton = new TextButton("Watch",skin);
+			viewButton.addListener(new ClickListener()
 			{
-				table.add(" " + hs.name).width(nameW);
-				table.add(" " + hs.stageName).width(stageW);
-				table.add(" " + hs.time + " sec").width(timeW);
-				table.add(" " + hs.date).width(dateW);
-				table.add(" " + (hs.difficulty != null ? hs.difficulty : "-")).width(diffW);
-				table.add(" " + hs.result).width(resultW);
-				TextButton viewButton = new TextButton("Watch",skin);
-				viewButton.addListener(new ClickListener()
+				@Override
+				public void clicked(InputEvent event, float x, float y) 
 				{
-					@Override
-					public void clicked(InputEvent event, float x, float y) 
+					super.clicked(event, x, y);
+					HighScore hs = record.load();
+					if(hs == null || hs.className == null || hs.replays == null)
+						showSimpleDialog("Corrupted or incomplete highscore file.");
+					else
 					{
-						super.clicked(event, x, y);
-						if(hs.className == null || hs.replays == null)
-							showSimpleDialog("Corrupted or incomplete highscore file.");
-						else
+						try 
 						{
-							try 
-							{
-								game.core.Stage inst = (game.core.Stage)hs.className.newInstance();
-								if(hs != null && hs.difficulty != null)
-									inst.setDifficulty(hs.difficulty);
-								manager.startGame(inst, hs);
-							} 
-							catch (InstantiationException | IllegalAccessException e) 
-							{
-								e.printStackTrace();
-								showSimpleDialog("Error loading the stage.\nMake sure it exists.");
-							}
+							game.core.Stage inst = (game.core.Stage)hs.className.newInstance();
+							if(hs.difficulty != null)
+								inst.setDifficulty(hs.difficulty);
+							manager.startGame(inst, hs);
+						} 
+						catch (InstantiationException | IllegalAccessException e) 
+						{
+							e.printStackTrace();
+							showSimpleDialog("Error loading the stage.\nMake sure it exists.");
 						}
 					}
-				});
-				table.add(viewButton).width(replayW).height(20);
-				table.row();
-			}
+				}
+			});
+			table.add(viewButton).width(replayW).height(20);
+			table.row();
 		}
 	}
 	